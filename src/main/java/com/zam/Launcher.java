@@ -1,15 +1,15 @@
 package com.zam;
 
-import java.io.File;
-import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.Optional;
 
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
 import com.zam.ui.App;
+import com.zam.utils.JdkDiscovery;
+import com.zam.utils.StartupProfiler;
+import com.zam.utils.StartupTasks;
 
 /**
  *  Launcher Class to Run The App
@@ -19,33 +19,54 @@ import com.zam.ui.App;
  * @since 2023-12-09
  */
 public class Launcher {
+
+    public static final String CDS_TRAINING_FLAG = "--cds-training";
+
      /**
      * The main method to launch the BitCode IDE application.
      *
      * @param args Command-line arguments.
      */
-    public static void main(String[] args) {
-        String jdkBinPath = findJdkBinPath();
-        if (jdkBinPath == null) {
-            JOptionPane.showMessageDialog(null, "JDK bin directory not found.", "ERROR", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-        else{
+    public static void main(String[] commandLine) {
+        // --startup-report prints how long each phase of startup took
+        String[] flags = StartupProfiler.parseArguments(commandLine);
+        // --cds-training starts the IDE and exits, so the build can archive the classes startup loads
+        boolean training = Arrays.asList(flags).contains(CDS_TRAINING_FLAG);
+        String[] args = Arrays.stream(flags).filter(arg -> !arg.equals(CDS_TRAINING_FLAG)).toArray(String[]::new);
+        // Settings, theme, icons, completions, and the JDK search load in the background while the EDT starts
+        StartupTasks.start(Launcher::findJdkBinPath);
+        SwingUtilities.invokeLater(() -> {
+            String jdkBinPath = StartupTasks.jdkBinPath(Launcher::findJdkBinPath);
+            if (jdkBinPath == null && !training) {
+                JOptionPane.showMessageDialog(null,
+                        "No JDK found. Install one, set JAVA_HOME, or place one in the JDK folder.",
+                        "ERROR", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            String arguments = (args.length > 0) ? args[0] : "";
+            final App app = StartupProfiler.time("Create window", () -> new App(jdkBinPath ,arguments));
+            app.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            app.setTitle("BitCode - Java Editor");
+            StartupProfiler.run("Show window", () -> app.setVisible(true));
+            // Runs after the events queued by showing the window, normally including its first paint
             SwingUtilities.invokeLater(() -> {
-                String arguments = (args.length > 0) ? args[0] : "";
-                final App app = new App(jdkBinPath ,arguments);
-                app.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-                app.setTitle("BitCode - Java Editor");
-                app.setVisible(true);
+                StartupProfiler.finish();
+                if (training) {
+                    System.exit(0);
+                }
             });
-        }
+        });
     }
-    public static String findJdkBinPath() {
-        // Look for the JDK bin directory relative to the current working directory
-        File currentDir = new File(".\\JDK");
-        File[] jdkDirs = currentDir.listFiles(file -> file.isDirectory() && file.getName().startsWith("jdk"));
 
-        Optional<File> firstJdkDir = Arrays.stream(jdkDirs).findFirst();
-        return firstJdkDir.map(jdkDir -> Paths.get(jdkDir.getPath(), "bin").toString()).orElse(null);
+    /**
+     * Finds the JDK to compile and run programs with when none was picked:
+     * the bundled one if there is one, otherwise one from JAVA_HOME, PATH,
+     * or the usual install folders (see JdkDiscovery).
+     *
+     * @return The JDK's bin directory, or null if there is no JDK.
+     */
+    public static String findJdkBinPath() {
+        JdkDiscovery.Jdk jdk = JdkDiscovery.getSharedInstance().getDefault();
+        return jdk == null ? null : jdk.binPath();
     }
 }
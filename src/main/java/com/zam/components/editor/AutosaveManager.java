@@ -0,0 +1,293 @@
+package com.zam.components.editor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+
+import com.zam.ui.App;
+import com.zam.utils.EditJournal;
+import com.zam.utils.TextCodec;
+
+/**
+ * Keeps a crash-safe journal of unsaved edits for every editor tab and
+ * restores the tabs on the next start.
+ *
+ * Responsibilities:
+ * - Recording edits on the EDT into a small in-memory batch; recording is an
+ *   O(1) append, merged with the previous edit when typing or backspacing.
+ * - Writing batches every FLUSH_INTERVAL_MILLIS on a single background
+ *   thread, so journal I/O never runs on the EDT.
+ * - Compacting a journal into a fresh base record when its edits outgrow
+ *   the text they describe.
+ * - Deleting a tab's journal when the tab is saved or closed.
+ * - Replaying leftover journals at startup into tabs with unsaved content.
+ *
+ * Usage:
+ * ```java
+ * AutosaveManager autosave = new AutosaveManager(mainApp);
+ * int restored = autosave.restore();   // once, at startup
+ * autosave.track(codePanel);           // for every new tab
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class AutosaveManager {
+
+    public static final String JOURNAL_DIRECTORY = "./Journal";
+    private static final int FLUSH_INTERVAL_MILLIS = 2000;
+    /** A journal is compacted once it is this much larger than twice its text. */
+    private static final long COMPACTION_SLACK = 64 * 1024;
+
+    private final App mainApp;
+    private final Path directory = Paths.get(JOURNAL_DIRECTORY);
+    private final Map<CodeTextArea, Tracked> tracked = new HashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "autosave-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int journalCount = 0;
+
+    /**
+     * Journal state of one tab. Only touched on the EDT, except the journal
+     * itself, which only the writer thread uses.
+     */
+    private static final class Tracked {
+        EditJournal journal;
+        final List<EditJournal.Edit> pending = new ArrayList<>();
+        boolean hasBase = false;
+        String title;
+        String path;
+        DocumentListener listener;
+    }
+
+    /**
+     * Constructor for AutosaveManager.
+     *
+     * @param parent The main App instance.
+     */
+    public AutosaveManager(App parent) {
+        this.mainApp = parent;
+        Timer timer = new Timer(FLUSH_INTERVAL_MILLIS, e -> flush());
+        timer.start();
+    }
+
+    /**
+     * Starts journaling a tab. Edits made from now on are recorded.
+     *
+     * @param codePanel The tab's editor.
+     */
+    public void track(CodeTextArea codePanel) {
+        Tracked state = new Tracked();
+        state.journal = new EditJournal(directory.resolve(System.currentTimeMillis() + "-" + journalCount++ + ".journal"));
+        state.listener = new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                if (codePanel.isLargeFileMode()) {
+                    // Large files are loaded progressively and not journaled; if the
+                    // mode ends, the next flush starts the journal from the full text
+                    state.hasBase = false;
+                    return;
+                }
+                try {
+                    record(state, EditJournal.Edit.insert(e.getOffset(),
+                            e.getDocument().getText(e.getOffset(), e.getLength())));
+                } catch (BadLocationException ex) {
+                    state.hasBase = false; // rewrite everything on the next flush
+                }
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                if (codePanel.isLargeFileMode()) {
+                    state.hasBase = false;
+                } else {
+                    record(state, EditJournal.Edit.delete(e.getOffset(), e.getLength()));
+                }
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes are not journaled
+            }
+        };
+        codePanel.codeTextArea.getDocument().addDocumentListener(state.listener);
+        tracked.put(codePanel, state);
+    }
+
+    /**
+     * Stops journaling a closed tab and deletes its journal.
+     *
+     * @param codePanel The tab's editor.
+     */
+    public void untrack(CodeTextArea codePanel) {
+        Tracked state = tracked.remove(codePanel);
+        if (state != null) {
+            codePanel.codeTextArea.getDocument().removeDocumentListener(state.listener);
+            EditJournal journal = state.journal;
+            writer.execute(journal::delete);
+        }
+    }
+
+    /**
+     * Discards the journal of a tab whose content is now on disk. A later
+     * edit starts a new journal.
+     *
+     * @param codePanel The tab's editor.
+     */
+    public void markSaved(CodeTextArea codePanel) {
+        Tracked state = tracked.get(codePanel);
+        if (state != null) {
+            state.pending.clear();
+            state.hasBase = false;
+            EditJournal journal = state.journal;
+            writer.execute(journal::delete);
+        }
+    }
+
+    /**
+     * Opens a tab for every journal left by a previous run that did not shut
+     * down cleanly or had unsaved tabs. Each tab keeps its journal.
+     *
+     * @return The number of restored tabs.
+     */
+    public int restore() {
+        List<Path> journals;
+        try (Stream<Path> files = Files.list(directory)) {
+            journals = files.filter(p -> p.getFileName().toString().endsWith(".journal"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            return 0; // no journal folder yet
+        }
+        int restored = 0;
+        for (Path file : journals) {
+            EditJournal.Recovered recovered;
+            try {
+                recovered = EditJournal.read(file);
+            } catch (IOException e) {
+                System.out.println("Skipping unreadable journal " + file + ": " + e.getMessage());
+                continue;
+            }
+            mainApp.tabbedEditorPane.addCodeAreaTab(recovered.title, App.jRedImage, recovered.path, recovered.text);
+            if (recovered.title.startsWith("untitled")) {
+                mainApp.menuBar.fileMenu.untitledCount++; // closing the tab decrements it
+            }
+            CodeTextArea codePanel = mainApp.codeAreaPanes.get(mainApp.codeAreaPanes.size() - 1);
+            if (new File(recovered.path).isFile()) {
+                try {
+                    codePanel.setTextFormat(TextCodec.detect(Paths.get(recovered.path)));
+                } catch (IOException e) {
+                    System.out.println("Error reading " + recovered.path + ": " + e.getMessage());
+                }
+            }
+            Tracked state = tracked.get(codePanel);
+            state.journal = new EditJournal(file); // continue the existing journal
+            state.hasBase = true;
+            state.title = recovered.title;
+            state.path = recovered.path;
+            mainApp.fileMonitor.markUnsaved(codePanel);
+            restored++;
+        }
+        return restored;
+    }
+
+    /**
+     * Writes all pending edits and waits until they are on disk. Called on
+     * exit so edits made in the last flush interval are not lost.
+     */
+    public void flushAndWait() {
+        flush();
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void record(Tracked state, EditJournal.Edit edit) {
+        List<EditJournal.Edit> pending = state.pending;
+        if (!pending.isEmpty()) {
+            EditJournal.Edit merged = pending.get(pending.size() - 1).mergeWith(edit);
+            if (merged != null) {
+                pending.set(pending.size() - 1, merged);
+                return;
+            }
+        }
+        pending.add(edit);
+    }
+
+    /**
+     * Hands each tab's pending edits to the writer thread. Runs on the EDT;
+     * only snapshots and small lists are created here.
+     */
+    private void flush() {
+        if (writer.isShutdown()) {
+            return;
+        }
+        for (Map.Entry<CodeTextArea, Tracked> entry : tracked.entrySet()) {
+            CodeTextArea codePanel = entry.getKey();
+            Tracked state = entry.getValue();
+            if (state.pending.isEmpty()) {
+                continue; // nothing edited since the last flush, or since opening or saving
+            }
+            int tabIndex = mainApp.tabbedEditorPane.indexOfComponent(codePanel);
+            String title = tabIndex >= 0 ? mainApp.tabbedEditorPane.getTitleAt(tabIndex) : state.title;
+            String path = tabIndex >= 0 ? mainApp.tabbedEditorPane.getToolTipTextAt(tabIndex) : state.path;
+            EditJournal journal = state.journal;
+
+            DocumentSnapshot snapshot = codePanel.snapshot();
+            boolean compact = journal.size() > 2L * snapshot.length() + COMPACTION_SLACK;
+            if (!state.hasBase || compact) {
+                // The snapshot already contains the pending edits
+                writer.execute(() -> {
+                    try {
+                        journal.writeBase(title, path, snapshot.getText());
+                    } catch (IOException e) {
+                        writeFailed(state, journal, e);
+                    }
+                });
+                state.hasBase = true;
+            } else {
+                boolean renamed = !title.equals(state.title) || !path.equals(state.path);
+                List<EditJournal.Edit> batch = new ArrayList<>(state.pending);
+                writer.execute(() -> {
+                    try {
+                        journal.append(renamed ? title : null, renamed ? path : null, batch);
+                    } catch (IOException e) {
+                        writeFailed(state, journal, e);
+                    }
+                });
+            }
+            state.title = title;
+            state.path = path;
+            state.pending.clear();
+        }
+    }
+
+    /**
+     * Called on the writer thread when a journal write fails; the next flush
+     * rewrites the journal from a fresh snapshot.
+     */
+    private void writeFailed(Tracked state, EditJournal journal, IOException e) {
+        System.out.println("Error writing journal " + journal.getFile() + ": " + e.getMessage());
+        SwingUtilities.invokeLater(() -> state.hasBase = false);
+    }
+}
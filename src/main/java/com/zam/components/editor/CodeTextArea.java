@@ -2,15 +2,27 @@ package com.zam.components.editor;
 
 import java.awt.BorderLayout;
 import java.awt.Font;
+import java.awt.Point;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.ToolTipManager;
-import javax.swing.UIManager;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
 
 import org.fife.ui.autocomplete.AutoCompletion;
-import org.fife.ui.autocomplete.CompletionCellRenderer;
-import org.fife.ui.autocomplete.CompletionProvider;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 import org.fife.ui.rsyntaxtextarea.Theme;
@@ -18,6 +30,12 @@ import org.fife.ui.rtextarea.RTextScrollPane;
 
 import com.zam.ui.App;
 import com.zam.utils.JavaCompletionProvider;
+import com.zam.utils.LargeFileLoader;
+import com.zam.utils.PieceTable;
+import com.zam.utils.Settings;
+import com.zam.utils.TextCodec;
+import com.zam.utils.TextFormat;
+import com.zam.utils.ThemeCache;
 
 /**
  * Custom JPanel for creating a code editor area using RSyntaxTextArea.
@@ -40,18 +58,178 @@ public class CodeTextArea extends JPanel {
 
     public RSyntaxTextArea codeTextArea;
     private RTextScrollPane codePane;
+    private SearchHighlighter searchHighlighter;
+    private AutoCompletion autoCompletion;
+    private boolean largeFileMode = false;
+    private boolean markOccurrencesBeforeLargeFile;
+    private PieceTable textModel;
+    private volatile long version = 0;
 
     private App mainApp;
 
+    // Set while the tab is restored but not yet shown
+    private File deferredFile;
+    private int deferredCaret;
+    private int deferredScroll;
+
+    private TextFormat textFormat = TextFormat.DEFAULT;
+
+    /** The settings every editor follows. */
+    private static final Set<Settings.Key<?>> EDITOR_SETTINGS = new HashSet<>(Arrays.asList(
+            Settings.EDITOR_THEME, Settings.FONT_FAMILY, Settings.FONT_SIZE, Settings.BRACKET_MATCHING,
+            Settings.HIGHLIGHT_CURRENT_LINE, Settings.CODE_FOLDING, Settings.LINE_NUMBERS, Settings.LINE_WRAP));
+    private final Settings.Listener settingsListener = this::settingsChanged;
+    /** Settings changed while the tab was hidden; applied when it is shown. */
+    private final Set<Settings.Key<?>> pendingSettings = new HashSet<>();
+
     /**
      * Constructor for CodeTextArea.
      *
      * @param parent The main App instance.
      */
     public CodeTextArea(App parent) {
+        this.mainApp = parent;
+        setLayout(new BorderLayout());
+        createEditor();
+    }
 
+    /**
+     * Constructor for a deferred CodeTextArea, used for restored tabs. Only the
+     * panel is created; the editor is built and the file read by materialize(),
+     * when the tab is first selected. Until then codeTextArea is null.
+     *
+     * @param parent The main App instance.
+     * @param file   The file to load on materialization.
+     * @param caret  The caret offset to restore.
+     * @param scroll The vertical scroll offset to restore, in pixels.
+     */
+    public CodeTextArea(App parent, File file, int caret, int scroll) {
         this.mainApp = parent;
+        setLayout(new BorderLayout());
+        this.deferredFile = file;
+        this.deferredCaret = caret;
+        this.deferredScroll = scroll;
+    }
+
+    /**
+     * Tells whether the editor has been built.
+     *
+     * @return false for a restored tab that has not been selected yet.
+     */
+    public boolean isMaterialized() {
+        return codeTextArea != null;
+    }
+
+    /**
+     * Builds the editor of a deferred tab and loads its file, restoring the
+     * caret and scroll position. Files above the large-file threshold are
+     * streamed in by a LargeFileLoader.
+     *
+     * @return true if the editor was built by this call.
+     * @throws IOException If the file cannot be read. The editor is built
+     *                     anyway, empty.
+     */
+    public boolean materialize() throws IOException {
+        if (codeTextArea != null) {
+            return false;
+        }
+        createEditor();
+        File file = deferredFile;
+        deferredFile = null;
+        IOException error = null;
+        if (file.length() > largeFileThreshold()) {
+            setLargeFileMode(true);
+            mainApp.terminalArea.showProgress(0);
+            new LargeFileLoader(mainApp, this, file).execute();
+        } else {
+            try {
+                loadFile(file);
+            } catch (IOException e) {
+                error = e;
+            }
+            codeTextArea.discardAllEdits();
+            codeTextArea.setCaretPosition(Math.min(deferredCaret, codeTextArea.getDocument().getLength()));
+            final int scroll = deferredScroll;
+            // Applied after layout, and after the caret has scrolled itself into view
+            SwingUtilities.invokeLater(() -> codePane.getViewport().setViewPosition(new Point(0, scroll)));
+        }
+        revalidate();
+        if (error != null) {
+            throw error;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a file into the empty document block by block, remembering its
+     * charset and line endings for saving.
+     *
+     * @param file The file to read.
+     * @throws IOException If the file cannot be read.
+     */
+    public void loadFile(File file) throws IOException {
+        Document document = codeTextArea.getDocument();
+        textFormat = TextCodec.read(file.toPath(), new TextCodec.Sink() {
+            public void append(CharSequence chunk) {
+                try {
+                    document.insertString(document.getLength(), chunk.toString(), null);
+                } catch (BadLocationException e) {
+                    e.printStackTrace(); // appending at the end cannot fail
+                }
+            }
+
+            public void reset() {
+                try {
+                    document.remove(0, document.getLength());
+                } catch (BadLocationException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns how the tab's file is stored on disk.
+     *
+     * @return The charset, BOM and line endings used when saving.
+     */
+    public TextFormat getTextFormat() {
+        return textFormat;
+    }
 
+    /**
+     * Sets how the tab's file is stored on disk.
+     *
+     * @param textFormat The charset, BOM and line endings to save with.
+     */
+    public void setTextFormat(TextFormat textFormat) {
+        this.textFormat = textFormat;
+    }
+
+    /**
+     * Returns the caret offset, also for tabs that are not materialized yet.
+     *
+     * @return The caret offset.
+     */
+    public int getCaretOffset() {
+        return codeTextArea == null ? deferredCaret : codeTextArea.getCaretPosition();
+    }
+
+    /**
+     * Returns the vertical scroll offset, also for tabs that are not
+     * materialized yet.
+     *
+     * @return The scroll offset in pixels.
+     */
+    public int getScrollOffset() {
+        return codeTextArea == null ? deferredScroll : codePane.getViewport().getViewPosition().y;
+    }
+
+    /**
+     * Creates the text area, applies theme and settings, and installs
+     * auto-completion.
+     */
+    private void createEditor() {
         // Initialize RSyntaxTextArea with rows and columns
         codeTextArea = new RSyntaxTextArea(20, 40);
         codeTextArea.setSyntaxEditingStyle(SyntaxConstants.SYNTAX_STYLE_JAVA);
@@ -59,48 +237,134 @@ public class CodeTextArea extends JPanel {
         // Initialize RTextScrollPane to host RSyntaxTextArea
         codePane = new RTextScrollPane(codeTextArea);
 
-        // Load and apply the selected theme for syntax highlighting
-        String themeName = mainApp.properties.getProperty("editorTheme");
-        try {
-            Theme theme = Theme.load(getClass().getResourceAsStream("/SyntaxThemes/" + themeName + ".xml"));
-            theme.apply(codeTextArea);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        // Set code area font and gutter font
-        codeTextArea.setFont(UIManager.getFont("AppFont").deriveFont(mainApp.textAttributes));
-        setGutterFont(UIManager.getFont("AppFont"));
-
-        // Configure various code editor properties
+        // Apply the theme, font, and editor settings, and follow later changes to them
         codeTextArea.setAutoIndentEnabled(true);
-        codeTextArea.setBracketMatchingEnabled(mainApp.properties.getBooleanProperty("BracketMatching"));
-        codeTextArea.setHighlightCurrentLine(mainApp.properties.getBooleanProperty("HighlightCurrentLine"));
-        codeTextArea.setCodeFoldingEnabled(mainApp.properties.getBooleanProperty("CodeFolding"));
-        codePane.setLineNumbersEnabled(mainApp.properties.getBooleanProperty("LineNumbers"));
-        codeTextArea.setLineWrap(mainApp.properties.getBooleanProperty("LineWrap"));
+        applySettings(EDITOR_SETTINGS);
+        mainApp.settings.subscribe(settingsListener, EDITOR_SETTINGS.toArray(new Settings.Key<?>[0]));
 
         // Enable tooltips for code editor
         ToolTipManager.sharedInstance().registerComponent(codeTextArea);
 
-        // Created Basic Completion Provider
-        CompletionProvider provider = new JavaCompletionProvider();
-        provider.setListCellRenderer(new CompletionCellRenderer());
+        // Attach the shared completion provider; only the AutoCompletion is per tab
+        autoCompletion = new AutoCompletion(JavaCompletionProvider.getSharedInstance());
+        autoCompletion.setAutoCompleteEnabled(true);
+        autoCompletion.setParameterAssistanceEnabled(true);
+        autoCompletion.setAutoCompleteSingleChoices(true);
+        autoCompletion.setAutoActivationEnabled(true);
+        autoCompletion.setAutoActivationDelay(10);
+        autoCompletion.install(codeTextArea);
 
-        // Adding Provider to AutoCompletion
-        AutoCompletion ac = new AutoCompletion(provider);
-        ac.setAutoCompleteEnabled(true);
-        ac.setParameterAssistanceEnabled(true);
-        ac.setAutoCompleteSingleChoices(true);
-        ac.setAutoActivationEnabled(true);
-        ac.setAutoActivationDelay(10);
-        ac.install(codeTextArea);
+        // Count edits and keep the snapshot model in step with the document
+        codeTextArea.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                version++;
+                if (textModel != null) {
+                    try {
+                        String inserted = e.getDocument().getText(e.getOffset(), e.getLength());
+                        // Replacing the whole text, as setText does, starts a new model, so a
+                        // reload does not add the file to the insert buffer once more
+                        textModel = e.getLength() == e.getDocument().getLength() ? PieceTable.of(inserted)
+                                : textModel.insert(e.getOffset(), inserted).compact();
+                    } catch (BadLocationException ex) {
+                        textModel = null; // rebuilt on the next snapshot
+                    }
+                }
+            }
 
-        // Set layout and add the code pane to the panel
-        setLayout(new BorderLayout());
+            public void removeUpdate(DocumentEvent e) {
+                version++;
+                if (textModel != null) {
+                    textModel = textModel.delete(e.getOffset(), e.getLength());
+                }
+                // A loading document is read-only, so this is the user shrinking the file
+                if (largeFileMode && codeTextArea.isEditable() && e.getDocument().getLength() < largeFileThreshold()) {
+                    SwingUtilities.invokeLater(() -> {
+                        if (largeFileMode && codeTextArea.getDocument().getLength() < largeFileThreshold()) {
+                            setLargeFileMode(false);
+                        }
+                    });
+                }
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes leave the text untouched
+            }
+        });
+
+        // Add the code pane to the panel
         add(codePane);
     }
 
+    /**
+     * Applies changed settings at once if the tab is showing. A hidden tab
+     * only records them, so a change reaches the visible editor without
+     * waiting for every other tab, and hidden tabs are restyled once, when
+     * they are shown, however many changes came in meanwhile.
+     *
+     * @param changed The settings that changed.
+     */
+    private void settingsChanged(Set<Settings.Key<?>> changed) {
+        pendingSettings.addAll(changed);
+        if (isShowing()) {
+            applyPendingSettings();
+        }
+    }
+
+    /**
+     * Applies the settings that changed while the tab was hidden. Called when
+     * the tab is selected.
+     */
+    public void applyPendingSettings() {
+        if (!pendingSettings.isEmpty()) {
+            Set<Settings.Key<?>> changed = new HashSet<>(pendingSettings);
+            pendingSettings.clear();
+            applySettings(changed);
+        }
+    }
+
+    /**
+     * Applies changed settings to the editor. Settings that large-file mode
+     * turns off are left alone until the mode ends.
+     *
+     * @param changed The settings to apply.
+     */
+    private void applySettings(Set<Settings.Key<?>> changed) {
+        Settings settings = mainApp.settings;
+        if (changed.contains(Settings.EDITOR_THEME)) {
+            ThemeCache.apply(settings.get(Settings.EDITOR_THEME), codeTextArea);
+        }
+        // A theme sets its own font, so the app font goes on after it
+        if (changed.contains(Settings.EDITOR_THEME) || changed.contains(Settings.FONT_FAMILY)
+                || changed.contains(Settings.FONT_SIZE)) {
+            codeTextArea.setFont(mainApp.font.deriveFont(mainApp.textAttributes));
+            setGutterFont(mainApp.font);
+        }
+        if (changed.contains(Settings.HIGHLIGHT_CURRENT_LINE)) {
+            codeTextArea.setHighlightCurrentLine(settings.get(Settings.HIGHLIGHT_CURRENT_LINE));
+        }
+        if (changed.contains(Settings.LINE_NUMBERS)) {
+            codePane.setLineNumbersEnabled(settings.get(Settings.LINE_NUMBERS));
+        }
+        if (!largeFileMode) {
+            if (changed.contains(Settings.BRACKET_MATCHING)) {
+                codeTextArea.setBracketMatchingEnabled(settings.get(Settings.BRACKET_MATCHING));
+            }
+            if (changed.contains(Settings.CODE_FOLDING)) {
+                codeTextArea.setCodeFoldingEnabled(settings.get(Settings.CODE_FOLDING));
+            }
+            if (changed.contains(Settings.LINE_WRAP)) {
+                codeTextArea.setLineWrap(settings.get(Settings.LINE_WRAP));
+            }
+        }
+    }
+
+    /**
+     * Stops following setting changes. Called when the tab is closed.
+     */
+    public void dispose() {
+        mainApp.settings.unsubscribe(settingsListener);
+    }
+
     /**
      * Set the font for the gutter line numbers.
      *
@@ -119,6 +383,180 @@ public class CodeTextArea extends JPanel {
         codePane.setLineNumbersEnabled(enable);
     }
 
+    /**
+     * Switches large-file mode on or off. In large-file mode the features that
+     * scan the whole document or react to every keystroke (code folding,
+     * bracket matching, mark occurrences, line wrap, auto-completion, and the
+     * autosave journal) are disabled. The mode ends by itself once edits bring
+     * the document below the large-file threshold; turning it off restores the
+     * user's settings, and the journal restarts from the full text.
+     *
+     * @param enable true to enter large-file mode.
+     */
+    public void setLargeFileMode(boolean enable) {
+        if (enable == largeFileMode) {
+            return;
+        }
+        largeFileMode = enable;
+        if (enable) {
+            markOccurrencesBeforeLargeFile = codeTextArea.getMarkOccurrences();
+            textModel = null; // rebuilt by the first snapshot after the mode ends
+            codeTextArea.setCodeFoldingEnabled(false);
+            codeTextArea.setBracketMatchingEnabled(false);
+            codeTextArea.setMarkOccurrences(false);
+            codeTextArea.setLineWrap(false);
+            autoCompletion.uninstall();
+        } else {
+            codeTextArea.setCodeFoldingEnabled(mainApp.settings.get(Settings.CODE_FOLDING));
+            codeTextArea.setBracketMatchingEnabled(mainApp.settings.get(Settings.BRACKET_MATCHING));
+            codeTextArea.setMarkOccurrences(markOccurrencesBeforeLargeFile);
+            codeTextArea.setLineWrap(mainApp.settings.get(Settings.LINE_WRAP));
+            autoCompletion.install(codeTextArea);
+        }
+    }
+
+    /**
+     * Returns the size above which files open in large-file mode.
+     *
+     * @return The threshold in bytes, also used as a length in characters.
+     */
+    private long largeFileThreshold() {
+        return mainApp.settings.get(Settings.LARGE_FILE_THRESHOLD_MB) * 1024L * 1024L;
+    }
+
+    /**
+     * Tells whether this tab is in large-file mode.
+     *
+     * @return true if expensive editor features are disabled for this tab.
+     */
+    public boolean isLargeFileMode() {
+        return largeFileMode;
+    }
+
+    /**
+     * Returns an immutable view of the current text for background work.
+     * Taking a snapshot is O(1) after the first call, which builds the piece
+     * table the snapshots share. In large-file mode no piece table is kept,
+     * since it would copy every loaded slice; each snapshot copies the text.
+     * Must be called on the EDT.
+     *
+     * @return The snapshot.
+     */
+    public DocumentSnapshot snapshot() {
+        if (largeFileMode) {
+            return new DocumentSnapshot(PieceTable.of(codeTextArea.getText()), version);
+        }
+        if (textModel == null) {
+            textModel = PieceTable.of(codeTextArea.getText());
+        }
+        return new DocumentSnapshot(textModel, version);
+    }
+
+    /**
+     * Returns the document version, which increases with every edit.
+     * May be read from any thread.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Tells whether a snapshot still matches the document, meaning results
+     * computed from it can be applied.
+     *
+     * @param snapshot A snapshot taken from this tab.
+     * @return true if the document has not been edited since.
+     */
+    public boolean isCurrent(DocumentSnapshot snapshot) {
+        return snapshot.getVersion() == version;
+    }
+
+    /**
+     * Returns the search highlighter for this tab, creating it on first use.
+     *
+     * @return The tab's SearchHighlighter.
+     */
+    public SearchHighlighter getSearchHighlighter() {
+        if (searchHighlighter == null) {
+            searchHighlighter = new SearchHighlighter(this);
+        }
+        return searchHighlighter;
+    }
+
+    /**
+     * Returns the Java identifier surrounding the caret.
+     *
+     * @return The identifier, or an empty string if the caret is not on one.
+     */
+    public String getIdentifierAtCaret() {
+        // Only the caret's line is copied out of the document
+        Element root = codeTextArea.getDocument().getDefaultRootElement();
+        Element line = root.getElement(root.getElementIndex(codeTextArea.getCaretPosition()));
+        String text;
+        try {
+            text = codeTextArea.getText(line.getStartOffset(), line.getEndOffset() - line.getStartOffset());
+        } catch (BadLocationException e) {
+            return "";
+        }
+        int caret = Math.min(codeTextArea.getCaretPosition() - line.getStartOffset(), text.length());
+        int start = caret;
+        while (start > 0 && Character.isJavaIdentifierPart(text.charAt(start - 1))) {
+            start--;
+        }
+        int end = caret;
+        while (end < text.length() && Character.isJavaIdentifierPart(text.charAt(end))) {
+            end++;
+        }
+        return text.substring(start, end);
+    }
+
+    /**
+     * Replaces every match of a pattern as a single undoable edit.
+     * Replacements are applied from the end of the document backwards so earlier
+     * offsets stay valid and the caret and folds outside the matches are kept.
+     *
+     * @param pattern     The compiled search pattern.
+     * @param replacement The replacement, using Matcher syntax such as `$1`.
+     * @return The number of replacements made.
+     */
+    public int replaceAll(Pattern pattern, String replacement) {
+        Matcher matcher = pattern.matcher(codeTextArea.getText());
+        List<int[]> ranges = new ArrayList<>();
+        List<String> replacements = new ArrayList<>();
+        StringBuilder expanded = new StringBuilder();
+        int previousEnd = 0;
+        while (matcher.find()) {
+            if (matcher.end() == matcher.start()) {
+                continue; // zero-length matches such as ^ are not replaced
+            }
+            // appendReplacement also copies the text since the last match; strip it off
+            expanded.setLength(0);
+            matcher.appendReplacement(expanded, replacement);
+            replacements.add(expanded.substring(matcher.start() - previousEnd));
+            ranges.add(new int[] { matcher.start(), matcher.end() });
+            previousEnd = matcher.end();
+        }
+        if (ranges.isEmpty()) {
+            return 0;
+        }
+        Document document = codeTextArea.getDocument();
+        codeTextArea.beginAtomicEdit();
+        try {
+            for (int i = ranges.size() - 1; i >= 0; i--) {
+                int[] range = ranges.get(i);
+                document.remove(range[0], range[1] - range[0]);
+                document.insertString(range[0], replacements.get(i), null);
+            }
+        } catch (BadLocationException e) {
+            e.printStackTrace(); // cannot happen; offsets come from the same text
+        } finally {
+            codeTextArea.endAtomicEdit();
+        }
+        return ranges.size();
+    }
+
     /**
      * Apply the selected theme to the code editor.
      *
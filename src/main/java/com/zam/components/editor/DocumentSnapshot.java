@@ -0,0 +1,90 @@
+package com.zam.components.editor;
+
+import com.zam.utils.PieceTable;
+
+/**
+ * An immutable, versioned view of an editor document for background work.
+ *
+ * Responsibilities:
+ * - Giving analysis threads (search, indexing, compiling) read access to the
+ *   text without touching Swing state or copying the whole buffer.
+ * - Carrying the document version it was taken at, so results computed from
+ *   an outdated snapshot can be recognized and discarded.
+ *
+ * Snapshots share structure with the editor's piece table, so taking one is
+ * O(1) and keeping one alive only retains the pieces edited since.
+ *
+ * Usage:
+ * ```java
+ * DocumentSnapshot snapshot = codePanel.snapshot();      // on the EDT
+ * new Thread(() -> {
+ *     Result result = analyze(snapshot.getText());       // any thread
+ *     SwingUtilities.invokeLater(() -> {
+ *         if (codePanel.isCurrent(snapshot)) {
+ *             show(result);
+ *         }
+ *     });
+ * }).start();
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class DocumentSnapshot {
+
+    private final PieceTable text;
+    private final long version;
+
+    DocumentSnapshot(PieceTable text, long version) {
+        this.text = text;
+        this.version = version;
+    }
+
+    /**
+     * Returns the text. It is safe to read from any thread and never changes.
+     *
+     * @return The document text at the time of the snapshot.
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Returns a range of the text, copying only that range.
+     *
+     * @param offset The start of the range.
+     * @param length The number of characters.
+     * @return The text in the range.
+     */
+    public String getText(int offset, int length) {
+        return text.getText(offset, length);
+    }
+
+    /**
+     * Returns the number of characters.
+     *
+     * @return The document length at the time of the snapshot.
+     */
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * Returns the document version the snapshot was taken at. Versions
+     * increase with every edit.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Copies the whole text into a String.
+     */
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
@@ -1,10 +1,19 @@
 package com.zam.components.editor;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 
+import javax.swing.GrayFilter;
 import javax.swing.Icon;
+import javax.swing.ImageIcon;
 import javax.swing.JTabbedPane;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -12,6 +21,7 @@ import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 
 import com.zam.ui.App;
+import com.zam.utils.SessionStore;
 
 /**
  * Custom extension of JTabbedPane for managing code editor tabs in BitCode IDE.
@@ -20,6 +30,8 @@ import com.zam.ui.App;
  * - Handling the creation and removal of code editor tabs.
  * - Associating each tab with a CodeTextArea.
  * - Customizing tab appearance and behavior, including tab closing.
+ * - Saving the open tabs on exit and restoring them on startup. Restored
+ *   tabs are deferred: their editor is only built when first selected.
  *
  * Usage:
  * - Use the `addCodeAreaTab` method to add a new code editor tab with the specified properties.
@@ -37,8 +49,25 @@ import com.zam.ui.App;
  */
 public class EditorTabPane extends JTabbedPane {
 
+    /**
+     * Save states shown by a tab's icon.
+     */
+    public enum SaveState {
+        /** A save is queued or being written. */
+        PENDING,
+        /** The file on disk matches the editor. */
+        SAVED,
+        /** The last save failed; the tab keeps its unsaved changes. */
+        FAILED
+    }
+
+    private static Icon pendingIcon;
+    private static Icon failedIcon;
+
     private List<CodeTextArea> codeAreaPanes;
     private App mainApp;
+    private final SessionStore sessionStore = new SessionStore(Paths.get(SessionStore.SESSION_FILE));
+    private boolean restoring = false;
 
     /**
      * Constructor for the EditorTabPane.
@@ -71,9 +100,21 @@ public class EditorTabPane extends JTabbedPane {
                 // replace by adding new tab last tab.. previous tab will be removed by this call back
                 mainApp.menuBar.fileMenu.newFile();
             }
+            mainApp.autosave.untrack(codeAreaPanes.get(tabIndex));
+            mainApp.fileMonitor.untrack(codeAreaPanes.get(tabIndex));
+            codeAreaPanes.get(tabIndex).dispose();
             codeAreaPanes.remove((int) tabIndex);
             this.remove(tabIndex);
         });
+
+        // Build a restored tab's editor the first time it is shown, and catch up on settings changed while it was hidden
+        this.addChangeListener(e -> {
+            int selected = getSelectedIndex();
+            if (!restoring && selected >= 0 && selected < codeAreaPanes.size()) {
+                materialize(codeAreaPanes.get(selected));
+                codeAreaPanes.get(selected).applyPendingSettings();
+            }
+        });
     }
 
     /**
@@ -85,18 +126,164 @@ public class EditorTabPane extends JTabbedPane {
      * @param content The initial content of the code editor.
      */
     public void addCodeAreaTab(String title, Icon icon, String tooltip, String content) {
-        codeAreaPanes.add(new CodeTextArea(mainApp));
-        CodeTextArea codePanel = codeAreaPanes.get(codeAreaPanes.size() - 1);
+        CodeTextArea codePanel = new CodeTextArea(mainApp);
+        codePanel.codeTextArea.setText(content);
+        showNewTab(codePanel, title, icon, tooltip);
+    }
+
+    /**
+     * Adds a new code editor tab for a file. The file is decoded straight
+     * into the editor's document, detecting its charset and line endings.
+     *
+     * @param file The file to open.
+     * @throws IOException If the file cannot be read.
+     */
+    public void addFileTab(File file) throws IOException {
+        CodeTextArea codePanel = new CodeTextArea(mainApp);
+        codePanel.loadFile(file);
+        showNewTab(codePanel, file.getName(), App.jBlueImage, file.getPath());
+    }
+
+    /**
+     * Shows a filled editor as a new, selected tab and starts tracking its edits.
+     */
+    private void showNewTab(CodeTextArea codePanel, String title, Icon icon, String tooltip) {
+        codeAreaPanes.add(codePanel);
         this.insertTab(title, icon, codePanel, tooltip, this.getTabCount());
         setSelectedIndex(this.getTabCount()-1);
-        codePanel.codeTextArea.setText(content);
         codePanel.codeTextArea.discardAllEdits();
-        codePanel.codeTextArea.setCaretPosition(codePanel.codeTextArea.getDocument().getLength() - 2);
+        mainApp.autosave.track(codePanel);
+        mainApp.fileMonitor.track(codePanel);
+        codePanel.codeTextArea.setCaretPosition(Math.max(0, codePanel.codeTextArea.getDocument().getLength() - 2));
         codePanel.codeTextArea.requestFocus();
         addListener(codePanel);
         SwingUtilities.invokeLater(() -> this.updateUI());
     }
 
+    /**
+     * Adds a tab for a file without building its editor. The editor is built
+     * and the file read when the tab is first selected.
+     *
+     * @param file   The file of the tab.
+     * @param caret  The caret offset to restore.
+     * @param scroll The vertical scroll offset to restore, in pixels.
+     */
+    public void addDeferredTab(File file, int caret, int scroll) {
+        CodeTextArea codePanel = new CodeTextArea(mainApp, file, caret, scroll);
+        codeAreaPanes.add(codePanel);
+        this.insertTab(file.getName(), App.jBlueImage, codePanel, file.getPath(), this.getTabCount());
+    }
+
+    /**
+     * Reopens the tabs of the last session as deferred tabs, so startup cost
+     * does not grow with the number of tabs. Files that no longer exist, or
+     * that are already open, are skipped. The previously selected tab is
+     * selected and built.
+     *
+     * @return The number of restored tabs.
+     */
+    public int restoreSession() {
+        SessionStore.Session session = sessionStore.load();
+        List<String> open = new ArrayList<>();
+        for (int i = 0; i < getTabCount(); i++) {
+            open.add(new File(getToolTipTextAt(i)).getAbsolutePath());
+        }
+        int selectedTab = -1;
+        int restored = 0;
+        restoring = true;
+        try {
+            for (int i = 0; i < session.tabs.size(); i++) {
+                SessionStore.Tab tab = session.tabs.get(i);
+                File file = new File(tab.path);
+                if (!file.isFile() || open.contains(file.getAbsolutePath())) {
+                    continue;
+                }
+                open.add(file.getAbsolutePath());
+                addDeferredTab(file, tab.caret, tab.scroll);
+                if (i == session.selected) {
+                    selectedTab = getTabCount() - 1;
+                }
+                restored++;
+            }
+        } finally {
+            restoring = false;
+        }
+        if (restored > 0) {
+            setSelectedIndex(selectedTab >= 0 ? selectedTab : getTabCount() - 1);
+            materialize(codeAreaPanes.get(getSelectedIndex()));
+        }
+        return restored;
+    }
+
+    /**
+     * Saves the open files, their caret and scroll positions, and the
+     * selected tab for the next start. Untitled tabs are left to the autosave
+     * journal, and read-only JDK sources are not reopened.
+     */
+    public void saveSession() {
+        List<SessionStore.Tab> tabs = new ArrayList<>();
+        int selected = -1;
+        for (int i = 0; i < getTabCount(); i++) {
+            String tooltip = getToolTipTextAt(i);
+            if (tooltip == null || !new File(tooltip).isFile()) {
+                continue;
+            }
+            if (i == getSelectedIndex()) {
+                selected = tabs.size();
+            }
+            CodeTextArea codePanel = codeAreaPanes.get(i);
+            tabs.add(new SessionStore.Tab(new File(tooltip).getAbsolutePath(),
+                    codePanel.getCaretOffset(), codePanel.getScrollOffset()));
+        }
+        try {
+            sessionStore.save(tabs, selected);
+        } catch (IOException e) {
+            System.out.println("Error saving session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a deferred tab's editor and starts tracking its edits. If its
+     * file cannot be read, the empty tab is detached from the file, so that
+     * saving it asks for a location instead of overwriting the file.
+     */
+    private void materialize(CodeTextArea codePanel) {
+        boolean built;
+        try {
+            built = codePanel.materialize();
+        } catch (IOException e) {
+            mainApp.terminalArea.consolArea.append("Could not read " + getToolTipTextAt(indexOfComponent(codePanel))
+                    + ": " + e.getMessage() + "\n");
+            detachFromFile(codePanel);
+            built = true;
+        }
+        if (built) {
+            addListener(codePanel);
+            mainApp.autosave.track(codePanel);
+            mainApp.fileMonitor.track(codePanel);
+            codePanel.codeTextArea.requestFocusInWindow();
+        }
+    }
+
+    /**
+     * Unbinds a tab whose content could not be fully read from its file. The
+     * tab keeps its title, but saving it asks for a location like an untitled
+     * tab, so the partial content never replaces the file.
+     *
+     * @param codePanel The tab's editor.
+     */
+    public void detachFromFile(CodeTextArea codePanel) {
+        int index = indexOfComponent(codePanel);
+        if (index < 0) {
+            return;
+        }
+        setToolTipTextAt(index, "untitled");
+        if (index == getSelectedIndex()) {
+            App.currentTabFile = new File("untitled");
+        }
+        mainApp.fileMonitor.sync();
+    }
+
     /**
      * Adds a document listener to track changes in the code editor.
      *
@@ -105,19 +292,83 @@ public class EditorTabPane extends JTabbedPane {
     private void addListener(CodeTextArea codeTextArea){
         codeTextArea.codeTextArea.getDocument().addDocumentListener(new DocumentListener() {
             public void insertUpdate(DocumentEvent e) {
-                mainApp.tabbedEditorPane.setIconAt(App.currentTabIndex, App.jRedImage);
+                markModified(codeTextArea);
             }
 
             public void removeUpdate(DocumentEvent e) {
-                mainApp.tabbedEditorPane.setIconAt(App.currentTabIndex, App.jRedImage);
+                markModified(codeTextArea);
             }
 
             public void changedUpdate(DocumentEvent e) {
-                mainApp.tabbedEditorPane.setIconAt(App.currentTabIndex, App.jRedImage);
+                markModified(codeTextArea);
             }
         });
     }
 
+    /**
+     * Shows the save state of the tab holding the given editor.
+     *
+     * @param codePanel The editor whose tab to update.
+     * @param state     The save state.
+     */
+    public void setSaveState(CodeTextArea codePanel, SaveState state) {
+        int tabIndex = indexOfComponent(codePanel);
+        if (tabIndex < 0) {
+            return; // closed while saving
+        }
+        switch (state) {
+            case PENDING:
+                if (pendingIcon == null) {
+                    pendingIcon = new ImageIcon(GrayFilter.createDisabledImage(App.jBlueImage.getImage()));
+                }
+                setIconAt(tabIndex, pendingIcon);
+                break;
+            case SAVED:
+                setIconAt(tabIndex, App.jBlueImage);
+                break;
+            case FAILED:
+                if (failedIcon == null) {
+                    failedIcon = createFailedIcon();
+                }
+                setIconAt(tabIndex, failedIcon);
+                break;
+        }
+    }
+
+    /**
+     * Draws the modified icon with a warning badge in its lower right corner.
+     */
+    private static Icon createFailedIcon() {
+        int width = App.jRedImage.getIconWidth();
+        int height = App.jRedImage.getIconHeight();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.drawImage(App.jRedImage.getImage(), 0, 0, null);
+        int badge = Math.max(6, Math.min(width, height) / 2);
+        g.setColor(new Color(230, 150, 0));
+        g.fillOval(width - badge, height - badge, badge, badge);
+        g.setColor(Color.white);
+        int barWidth = Math.max(1, badge / 5);
+        int barX = width - badge / 2 - barWidth / 2;
+        g.fillRect(barX, height - badge + badge / 5, barWidth, badge * 2 / 5);
+        g.fillRect(barX, height - badge / 3, barWidth, barWidth);
+        g.dispose();
+        return new ImageIcon(image);
+    }
+
+    /**
+     * Marks the tab holding the given editor as modified. The tab is looked up
+     * rather than taken from currentTabIndex, because background loaders edit
+     * documents of tabs that are not selected.
+     */
+    private void markModified(CodeTextArea codeTextArea) {
+        int tabIndex = indexOfComponent(codeTextArea);
+        if (tabIndex >= 0) {
+            setIconAt(tabIndex, App.jRedImage);
+        }
+    }
+
     private Boolean isLastTab() {
         return this.getTabCount() <= 1;
     }
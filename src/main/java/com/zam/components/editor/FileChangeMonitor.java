@@ -0,0 +1,388 @@
+package com.zam.components.editor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+import com.zam.ui.App;
+import com.zam.utils.FileWatcher;
+import com.zam.utils.ProjectSearcher;
+import com.zam.utils.ReferenceIndex;
+import com.zam.utils.TextCodec;
+import com.zam.utils.ThreeWayMerge;
+
+/**
+ * Keeps open tabs and the project indexes in step with changes made outside
+ * the editor, for example by a git checkout.
+ *
+ * Responsibilities:
+ * - Watching the folders of all open files and the indexed project folder
+ *   through a single FileWatcher.
+ * - Reloading a changed file into its tab when the tab has no unsaved edits.
+ * - Asking whether to reload, merge, or keep the editor's version when the
+ *   tab has unsaved edits. Merging is a three-way merge against the text
+ *   last loaded from or saved to disk.
+ * - Updating the reference index and the project explorer for changed and
+ *   deleted files, and marking the current build as stale.
+ *
+ * Changes the editor wrote itself are recognized because the file then
+ * matches the text last saved, so saving never triggers a reload.
+ *
+ * Usage:
+ * ```java
+ * FileChangeMonitor monitor = new FileChangeMonitor(mainApp);
+ * monitor.track(codePanel);                // when a tab's content is loaded
+ * monitor.markSaved(codePanel, snapshot);  // after a save lands
+ * monitor.sync();                          // after tabs or the project changed
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class FileChangeMonitor {
+
+    /** Above this many changed sources the reference index is refreshed as a whole. */
+    private static final int MAX_SINGLE_UPDATES = 16;
+
+    private final App mainApp;
+    private FileWatcher watcher;
+    private final Map<CodeTextArea, Tracked> tracked = new HashMap<>();
+    private volatile Set<Path> openFiles = new HashSet<>();
+    private final ExecutorService registrar = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "file-watch-register");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** The newest registration not yet started; earlier ones are skipped. */
+    private final AtomicReference<Runnable> pendingRegistration = new AtomicReference<>();
+
+    /**
+     * Disk state of one tab. Only touched on the EDT.
+     */
+    private static final class Tracked {
+        /**
+         * The text last loaded from or saved to disk; the base for merges.
+         * Null while the tab is in large-file mode, where nothing is merged.
+         */
+        CharSequence diskText;
+        /** The document version that matches the disk, or -1 if edited. */
+        long savedVersion;
+        /** Disk text that arrived while the user was being asked, or null. */
+        String laterDiskText;
+        boolean asking;
+    }
+
+    /**
+     * Constructor for FileChangeMonitor.
+     *
+     * @param parent The main App instance.
+     */
+    public FileChangeMonitor(App parent) {
+        this.mainApp = parent;
+        try {
+            watcher = new FileWatcher(this::filesChanged);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.out.println("File watching is unavailable: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts following a tab whose content was just loaded, treating that
+     * content as what is on disk.
+     *
+     * @param codePanel The tab's editor.
+     */
+    public void track(CodeTextArea codePanel) {
+        Tracked state = new Tracked();
+        if (codePanel.isLargeFileMode()) {
+            state.savedVersion = codePanel.getVersion(); // a snapshot would copy the whole file
+        } else {
+            DocumentSnapshot snapshot = codePanel.snapshot();
+            state.diskText = snapshot.getText();
+            state.savedVersion = snapshot.getVersion();
+        }
+        tracked.put(codePanel, state);
+        sync();
+    }
+
+    /**
+     * Stops following a closed tab.
+     *
+     * @param codePanel The tab's editor.
+     */
+    public void untrack(CodeTextArea codePanel) {
+        if (tracked.remove(codePanel) != null) {
+            sync();
+        }
+    }
+
+    /**
+     * Records that a tab's content differs from its file, as for tabs
+     * restored from the autosave journal. The file's current content becomes
+     * the base for a later merge.
+     *
+     * @param codePanel The tab's editor.
+     */
+    public void markUnsaved(CodeTextArea codePanel) {
+        Tracked state = tracked.get(codePanel);
+        File file = fileOf(codePanel);
+        if (state != null && file != null && file.isFile()) {
+            try {
+                state.diskText = TextCodec.readString(file.toPath());
+                state.savedVersion = -1;
+            } catch (IOException e) {
+                System.out.println("Error reading " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records that a snapshot of a tab was written to disk. Called once the
+     * save has landed; the tab may have been edited since.
+     *
+     * @param codePanel The tab's editor.
+     * @param snapshot  The saved snapshot.
+     */
+    public void markSaved(CodeTextArea codePanel, DocumentSnapshot snapshot) {
+        Tracked state = tracked.get(codePanel);
+        if (state != null) {
+            state.diskText = codePanel.isLargeFileMode() ? null : snapshot.getText();
+            state.savedVersion = codePanel.isCurrent(snapshot) ? snapshot.getVersion() : -1;
+            sync(); // Save As may have moved the tab to another folder
+        }
+    }
+
+    /**
+     * Points the watcher at the folders of the open files and at the project:
+     * the folder open in the explorer, or else the indexed folder.
+     * Registration runs on one background thread; when several syncs queue
+     * up, as while restoring tabs, only the newest is applied.
+     */
+    public void sync() {
+        if (watcher == null) {
+            return;
+        }
+        Set<Path> files = new HashSet<>();
+        Set<Path> folders = new HashSet<>();
+        for (CodeTextArea codePanel : tracked.keySet()) {
+            File file = fileOf(codePanel);
+            if (file != null && file.isFile()) {
+                Path path = file.toPath().toAbsolutePath().normalize();
+                files.add(path);
+                folders.add(path.getParent());
+            }
+        }
+        openFiles = files;
+        ReferenceIndex index = mainApp.menuBar == null ? null : mainApp.menuBar.editMenu.referenceIndex;
+        Path root = mainApp.explorer == null ? null : mainApp.explorer.getRoot();
+        if (root == null && index != null) {
+            root = index.getRoot();
+        }
+        Path tree = root;
+        if (pendingRegistration.getAndSet(() -> watcher.update(folders, tree)) == null) {
+            registrar.execute(() -> pendingRegistration.getAndSet(null).run());
+        }
+    }
+
+    /**
+     * Called on the watcher thread with a burst of changes. Files are read and
+     * indexes updated here; tabs are updated on the EDT.
+     */
+    private void filesChanged(Set<Path> changed) {
+        Set<Path> open = openFiles;
+        Map<Path, String> diskTexts = new HashMap<>();
+        Set<Path> deleted = new HashSet<>();
+        Set<Path> tooLarge = new HashSet<>();
+        for (Path path : changed) {
+            if (!open.contains(path)) {
+                continue;
+            }
+            try {
+                if (!Files.isRegularFile(path)) {
+                    deleted.add(path);
+                } else if (Files.size(path) > ProjectSearcher.MAX_FILE_SIZE) {
+                    tooLarge.add(path);
+                } else {
+                    diskTexts.put(path, TextCodec.readString(path));
+                }
+            } catch (IOException e) {
+                // Still being written; the final write raises another event
+            }
+        }
+        updateReferenceIndex(changed);
+        mainApp.explorer.filesChanged(changed);
+        if (!diskTexts.isEmpty() || !deleted.isEmpty() || !tooLarge.isEmpty()) {
+            SwingUtilities.invokeLater(() -> applyToTabs(diskTexts, deleted, tooLarge));
+        }
+    }
+
+    /**
+     * Re-indexes changed sources. A small batch is applied file by file; a
+     * large one, or one reporting lost events, refreshes the index, which
+     * rescans only files whose size or modification time changed.
+     */
+    private void updateReferenceIndex(Set<Path> changed) {
+        ReferenceIndex index = mainApp.menuBar.editMenu.referenceIndex;
+        if (index == null) {
+            return;
+        }
+        Set<Path> sources = new HashSet<>();
+        boolean rescan = false;
+        for (Path path : changed) {
+            if (!path.startsWith(index.getRoot())) {
+                continue;
+            }
+            if (Files.isDirectory(path)) {
+                rescan = true;
+            } else if (path.toString().endsWith(".java")) {
+                sources.add(path);
+            }
+        }
+        if (rescan || sources.size() > MAX_SINGLE_UPDATES) {
+            try {
+                index.build();
+            } catch (IOException e) {
+                System.out.println("Error refreshing reference index: " + e.getMessage());
+            }
+            return;
+        }
+        for (Path source : sources) {
+            try {
+                if (Files.isRegularFile(source)) {
+                    index.update(source, TextCodec.readString(source));
+                } else {
+                    index.remove(source);
+                }
+            } catch (IOException e) {
+                // Still being written; the final write raises another event
+            }
+        }
+    }
+
+    private void applyToTabs(Map<Path, String> diskTexts, Set<Path> deleted, Set<Path> tooLarge) {
+        for (Map.Entry<CodeTextArea, Tracked> entry : new HashMap<>(tracked).entrySet()) {
+            CodeTextArea codePanel = entry.getKey();
+            Tracked state = entry.getValue();
+            File file = fileOf(codePanel);
+            if (file == null) {
+                continue;
+            }
+            Path path = file.toPath().toAbsolutePath().normalize();
+            if (deleted.contains(path)) {
+                mainApp.terminalArea.consolArea.append(file.getName() + " was deleted on disk; save to restore it.\n");
+                state.savedVersion = -1;
+                mainApp.tabbedEditorPane.setIconAt(mainApp.tabbedEditorPane.indexOfComponent(codePanel), App.jRedImage);
+            } else if (tooLarge.contains(path) || (codePanel.isLargeFileMode() && diskTexts.containsKey(path))) {
+                mainApp.terminalArea.consolArea.append(file.getName() + " changed on disk; reopen it to see the changes.\n");
+            } else if (diskTexts.containsKey(path) && !codePanel.isLargeFileMode()) {
+                fileChanged(codePanel, state, diskTexts.get(path));
+            }
+        }
+    }
+
+    private void fileChanged(CodeTextArea codePanel, Tracked state, String diskText) {
+        if (state.asking) {
+            state.laterDiskText = diskText; // handled once the open question is answered
+            return;
+        }
+        if (state.diskText != null && diskText.contentEquals(state.diskText)) {
+            return; // our own save, or a write that changed nothing
+        }
+        if (mainApp.tabbedEditorPane.indexOfComponent(codePanel) == App.currentTabIndex) {
+            mainApp.menuBar.isCompiled = false; // the compiled classes are from the old source
+        }
+        DocumentSnapshot current = codePanel.snapshot();
+        String name = fileOf(codePanel).getName();
+        if (diskText.contentEquals(current.getText())) {
+            state.diskText = diskText;
+            state.savedVersion = current.getVersion();
+            markSaved(codePanel);
+            return;
+        }
+        if (codePanel.getVersion() == state.savedVersion) {
+            reload(codePanel, state, diskText);
+            mainApp.terminalArea.consolArea.append("Reloaded " + name + " after it changed on disk.\n");
+            return;
+        }
+        String[] options = { "Reload", "Merge", "Keep Mine" };
+        state.asking = true;
+        int choice;
+        try {
+            choice = JOptionPane.showOptionDialog(mainApp,
+                    name + " changed on disk, and the editor has unsaved changes.\n"
+                            + "Reload it, merge both versions, or keep the editor's version?",
+                    "File Changed on Disk", JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE,
+                    null, options, options[1]);
+        } finally {
+            state.asking = false;
+        }
+        if (!tracked.containsKey(codePanel)) {
+            return; // closed meanwhile
+        }
+        if (choice == 0) {
+            reload(codePanel, state, diskText);
+        } else if (choice == 1) {
+            // A tab that left large-file mode has no base; everything that differs is then a conflict
+            CharSequence base = state.diskText != null ? state.diskText : "";
+            ThreeWayMerge.Result merged = ThreeWayMerge.merge(base, codePanel.snapshot().getText(), diskText);
+            replaceText(codePanel, merged.text);
+            state.diskText = diskText;
+            state.savedVersion = -1;
+            mainApp.terminalArea.consolArea.append("Merged the changes on disk into " + name
+                    + (merged.conflicts > 0 ? "; " + merged.conflicts + " conflict(s) are marked with "
+                            + ThreeWayMerge.MINE_MARKER : "") + ".\n");
+        } else {
+            state.diskText = diskText; // the next merge starts from this version
+        }
+        if (state.laterDiskText != null) {
+            String later = state.laterDiskText;
+            state.laterDiskText = null;
+            fileChanged(codePanel, state, later);
+        }
+    }
+
+    private void reload(CodeTextArea codePanel, Tracked state, String diskText) {
+        replaceText(codePanel, diskText);
+        state.diskText = diskText;
+        state.savedVersion = codePanel.getVersion();
+        markSaved(codePanel);
+    }
+
+    /**
+     * Replaces the whole text as one undoable edit, keeping the caret near
+     * where it was.
+     */
+    private static void replaceText(CodeTextArea codePanel, String text) {
+        int caret = codePanel.codeTextArea.getCaretPosition();
+        codePanel.codeTextArea.beginAtomicEdit();
+        try {
+            codePanel.codeTextArea.setText(text);
+        } finally {
+            codePanel.codeTextArea.endAtomicEdit();
+        }
+        codePanel.codeTextArea.setCaretPosition(Math.min(caret, text.length()));
+    }
+
+    private void markSaved(CodeTextArea codePanel) {
+        mainApp.tabbedEditorPane.setSaveState(codePanel, EditorTabPane.SaveState.SAVED);
+        mainApp.autosave.markSaved(codePanel);
+    }
+
+    private File fileOf(CodeTextArea codePanel) {
+        int tabIndex = mainApp.tabbedEditorPane.indexOfComponent(codePanel);
+        String tooltip = tabIndex >= 0 ? mainApp.tabbedEditorPane.getToolTipTextAt(tabIndex) : null;
+        return tooltip == null ? null : new File(tooltip);
+    }
+}
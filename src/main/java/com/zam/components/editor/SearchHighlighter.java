@@ -0,0 +1,533 @@
+package com.zam.components.editor;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.swing.SwingWorker;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultHighlighter;
+import javax.swing.text.Element;
+import javax.swing.text.Highlighter;
+
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+
+/**
+ * Incremental highlight-all for search matches in one editor tab.
+ *
+ * Responsibilities:
+ * - Highlighting matches in the visible region immediately on the EDT.
+ * - Scanning the rest of the document in line-aligned chunks on a background
+ *   thread, reading from a DocumentSnapshot so the worker never touches the
+ *   Swing document, and adding highlights as chunks finish.
+ * - Keeping matches current after edits by rescanning only the edited lines
+ *   and shifting the matches after them, also while the background scan is
+ *   still running and when more matches exist than are painted.
+ * - Reporting a running match count that is refined as chunks complete.
+ *
+ * Every match is kept as offsets in blocks, one per scanned range, relative
+ * to the block's first match, so an edit moves all later matches by
+ * adjusting one number per block. Edits made while the background scan runs
+ * are logged, and the chunks it delivers afterwards, found in the older
+ * snapshot, are mapped through the log. Matches on lines an edit touched are
+ * dropped from those chunks, because the edit rescanned those lines.
+ *
+ * Matches never span lines, because chunks and edit rescans are cut at line
+ * boundaries. At most MAX_HIGHLIGHTS matches are painted; all are counted.
+ *
+ * Usage:
+ * ```java
+ * SearchHighlighter highlighter = codePanel.getSearchHighlighter();
+ * highlighter.search(pattern, status -> label.setText(status.toString()));
+ * highlighter.clear();
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class SearchHighlighter implements DocumentListener {
+
+    /** Size of a background scan chunk, in characters. */
+    static final int CHUNK_SIZE = 256 * 1024;
+    /** Highlights beyond this number are counted but not painted. */
+    static final int MAX_HIGHLIGHTS = 5000;
+
+    /**
+     * The matches found in one document range, sorted, as start and end
+     * offsets relative to the first match.
+     */
+    private static final class MatchBlock {
+        int start;
+        final int[] offsets;
+
+        MatchBlock(int[] absolute) {
+            start = absolute[0];
+            offsets = new int[absolute.length];
+            for (int i = 0; i < absolute.length; i++) {
+                offsets[i] = absolute[i] - start;
+            }
+        }
+
+        int first() {
+            return start;
+        }
+
+        int last() {
+            return start + offsets[offsets.length - 1];
+        }
+
+        int count() {
+            return offsets.length / 2;
+        }
+    }
+
+    private final RSyntaxTextArea textArea;
+    private final Supplier<DocumentSnapshot> snapshots;
+    private final Highlighter.HighlightPainter painter =
+            new DefaultHighlighter.DefaultHighlightPainter(new Color(255, 200, 0, 110));
+    private final List<Object> tags = new ArrayList<>();
+    /** Every match found so far, in document order; blocks do not overlap. */
+    private final List<MatchBlock> blocks = new ArrayList<>();
+    /**
+     * Edits made since the background scan's snapshot: the start and the
+     * pre-edit end of the edited lines, and the change in length.
+     */
+    private final List<int[]> editsSinceSnapshot = new ArrayList<>();
+
+    private Pattern pattern;
+    private Consumer<Status> statusListener;
+    private SwingWorker<Void, int[]> scanner;
+    private int generation = 0;
+    private int matchCount = 0;
+    private boolean complete = true;
+    private int percent = 100;
+
+    /**
+     * Progress of a search, reported to the status listener on the EDT.
+     */
+    public static final class Status {
+        public final int matches;
+        public final boolean complete;
+        public final int percent;
+
+        Status(int matches, boolean complete, int percent) {
+            this.matches = matches;
+            this.complete = complete;
+            this.percent = percent;
+        }
+
+        @Override
+        public String toString() {
+            return complete ? matches + " match(es)" : "at least " + matches + " match(es), " + percent + "% scanned";
+        }
+    }
+
+    /**
+     * Constructor for SearchHighlighter.
+     *
+     * @param codePanel The editor tab to highlight.
+     */
+    public SearchHighlighter(CodeTextArea codePanel) {
+        this(codePanel.codeTextArea, codePanel::snapshot);
+    }
+
+    /**
+     * Constructor for a highlighter over any text area.
+     *
+     * @param textArea  The text area to highlight.
+     * @param snapshots Takes a snapshot of the text area's document on the EDT.
+     */
+    SearchHighlighter(RSyntaxTextArea textArea, Supplier<DocumentSnapshot> snapshots) {
+        this.textArea = textArea;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Starts highlighting a new pattern, cancelling any scan in progress.
+     * Must be called on the EDT.
+     *
+     * @param newPattern The compiled search pattern.
+     * @param listener   Receives progress updates on the EDT.
+     */
+    public void search(Pattern newPattern, Consumer<Status> listener) {
+        clear();
+        this.pattern = newPattern;
+        this.statusListener = listener;
+        textArea.getDocument().addDocumentListener(this);
+
+        // The visible lines are scanned synchronously so feedback is instant
+        int[] visible = visibleRange();
+        addMatches(scanRange(visible[0], visible[1]));
+        complete = visible[0] == 0 && visible[1] == textArea.getDocument().getLength();
+        percent = complete ? 100 : 0;
+        fireStatus();
+        if (!complete) {
+            startBackgroundScan(visible[0], visible[1]);
+        }
+    }
+
+    /**
+     * Removes all highlights and stops listening for edits. The snapshot a
+     * running scan reads from is released once the scan sees the cancel.
+     */
+    public void clear() {
+        generation++;
+        if (scanner != null) {
+            scanner.cancel(false);
+            scanner = null;
+        }
+        editsSinceSnapshot.clear();
+        textArea.getDocument().removeDocumentListener(this);
+        Highlighter highlighter = textArea.getHighlighter();
+        for (Object tag : tags) {
+            highlighter.removeHighlight(tag);
+        }
+        tags.clear();
+        blocks.clear();
+        matchCount = 0;
+        complete = true;
+        percent = 100;
+        pattern = null;
+    }
+
+    /**
+     * Returns the current match count.
+     *
+     * @return The number of matches found so far.
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Scans everything outside the visible range in chunks on a worker thread.
+     */
+    private void startBackgroundScan(final int visibleStart, final int visibleEnd) {
+        final int myGeneration = generation;
+        final Pattern myPattern = pattern;
+        final DocumentSnapshot snapshot = snapshots.get();
+        final int total = snapshot.length();
+
+        scanner = new SwingWorker<Void, int[]>() {
+            private int scanned = visibleEnd - visibleStart;
+
+            @Override
+            protected Void doInBackground() {
+                // After the visible region first, then wrap around to the top
+                scanSpan(visibleEnd, total);
+                scanSpan(0, visibleStart);
+                return null;
+            }
+
+            private void scanSpan(int from, int to) {
+                int start = from;
+                while (start < to && !isCancelled()) {
+                    final int chunkStart = start;
+                    final int chunkLimit = Math.min(to, start + CHUNK_SIZE);
+                    String chunk = snapshot.getText(chunkStart, chunkLimit - chunkStart);
+                    if (chunkLimit < to) {
+                        int lastNewline = chunk.lastIndexOf('\n');
+                        if (lastNewline >= 0) {
+                            chunk = chunk.substring(0, lastNewline + 1);
+                        }
+                    }
+                    Matcher matcher = myPattern.matcher(chunk);
+                    List<Integer> found = new ArrayList<>();
+                    while (matcher.find()) {
+                        if (matcher.end() > matcher.start()) {
+                            found.add(chunkStart + matcher.start());
+                            found.add(chunkStart + matcher.end());
+                        }
+                    }
+                    int[] packed = new int[found.size() + 1];
+                    packed[0] = chunk.length();
+                    for (int i = 0; i < found.size(); i++) {
+                        packed[i + 1] = found.get(i);
+                    }
+                    publish(packed);
+                    start += chunk.length();
+                }
+            }
+
+            @Override
+            protected void process(List<int[]> chunks) {
+                if (myGeneration != generation) {
+                    return; // the search was cleared or replaced
+                }
+                for (int[] packed : chunks) {
+                    scanned += packed[0];
+                    addMatches(mapThroughEdits(packed));
+                }
+                percent = total == 0 ? 100 : (int) Math.min(99, scanned * 100L / total);
+                fireStatus();
+            }
+
+            @Override
+            protected void done() {
+                if (myGeneration == generation) {
+                    scanner = null; // releases the snapshot
+                    editsSinceSnapshot.clear();
+                    if (!isCancelled()) {
+                        complete = true;
+                        percent = 100;
+                        fireStatus();
+                    }
+                }
+            }
+        };
+        scanner.execute();
+    }
+
+    /**
+     * Moves matches found in the scan's snapshot to where they are in the
+     * document now, dropping those on lines edited since.
+     *
+     * @param packed A scanned chunk's length followed by its matches.
+     * @return The matches that still apply, as absolute start/end offsets.
+     */
+    private int[] mapThroughEdits(int[] packed) {
+        int[] mapped = new int[packed.length - 1];
+        int size = 0;
+        for (int i = 1; i + 1 < packed.length; i += 2) {
+            int start = packed[i];
+            int end = packed[i + 1];
+            boolean edited = false;
+            for (int[] edit : editsSinceSnapshot) {
+                if (end > edit[0] && start < edit[1]) {
+                    edited = true;
+                    break;
+                }
+                if (start >= edit[1]) {
+                    start += edit[2];
+                    end += edit[2];
+                }
+            }
+            if (!edited) {
+                mapped[size++] = start;
+                mapped[size++] = end;
+            }
+        }
+        return Arrays.copyOf(mapped, size);
+    }
+
+    /**
+     * Finds matches in a document range that starts and ends on line boundaries.
+     *
+     * @return Absolute start/end offsets, flattened.
+     */
+    private int[] scanRange(int start, int end) {
+        List<Integer> result = new ArrayList<>();
+        if (pattern == null || end <= start) {
+            return new int[0];
+        }
+        try {
+            String text = textArea.getDocument().getText(start, end - start);
+            Matcher matcher = pattern.matcher(text);
+            while (matcher.find()) {
+                if (matcher.end() > matcher.start()) {
+                    result.add(start + matcher.start());
+                    result.add(start + matcher.end());
+                }
+            }
+        } catch (BadLocationException e) {
+            e.printStackTrace();
+        }
+        int[] offsets = new int[result.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = result.get(i);
+        }
+        return offsets;
+    }
+
+    /**
+     * Adds matches from a range no other block covers, merging with any block
+     * whose span encloses it, and paints them while there is room.
+     *
+     * @param offsets Sorted absolute start/end offsets, flattened.
+     */
+    private void addMatches(int[] offsets) {
+        if (offsets.length == 0) {
+            return;
+        }
+        matchCount += offsets.length / 2;
+        int first = offsets[0];
+        int last = offsets[offsets.length - 1];
+        int index = 0;
+        while (index < blocks.size() && blocks.get(index).last() <= first) {
+            index++;
+        }
+        int[] merged = offsets;
+        while (index < blocks.size() && blocks.get(index).first() < last) {
+            merged = merge(merged, absolute(blocks.remove(index)));
+        }
+        blocks.add(index, new MatchBlock(merged));
+        for (int i = 0; i + 1 < offsets.length && tags.size() < MAX_HIGHLIGHTS; i += 2) {
+            try {
+                tags.add(textArea.getHighlighter().addHighlight(offsets[i], offsets[i + 1], painter));
+            } catch (BadLocationException e) {
+                e.printStackTrace(); // offsets are mapped to the current document
+            }
+        }
+    }
+
+    /**
+     * Removes the matches on edited lines and shifts the matches after them.
+     *
+     * @param editStart The start of the edited lines.
+     * @param editEnd   The end of the edited lines before the edit.
+     * @param delta     The change in document length.
+     */
+    private void removeAndShift(int editStart, int editEnd, int delta) {
+        for (int i = 0; i < blocks.size(); i++) {
+            MatchBlock block = blocks.get(i);
+            if (block.last() <= editStart) {
+                continue;
+            }
+            if (block.first() >= editEnd) {
+                block.start += delta;
+                continue;
+            }
+            // The block spans the edit: split it into the matches before and after
+            int[] offsets = absolute(block);
+            int before = 0;
+            while (before < offsets.length && offsets[before + 1] <= editStart) {
+                before += 2;
+            }
+            int after = before;
+            while (after < offsets.length && offsets[after] < editEnd) {
+                after += 2;
+            }
+            matchCount -= (after - before) / 2;
+            blocks.remove(i);
+            if (after < offsets.length) {
+                int[] moved = Arrays.copyOfRange(offsets, after, offsets.length);
+                for (int j = 0; j < moved.length; j++) {
+                    moved[j] += delta;
+                }
+                blocks.add(i, new MatchBlock(moved));
+            }
+            if (before > 0) {
+                blocks.add(i, new MatchBlock(Arrays.copyOf(offsets, before)));
+            }
+            i += (before > 0 ? 1 : 0) + (after < offsets.length ? 1 : 0) - 1;
+        }
+    }
+
+    private static int[] absolute(MatchBlock block) {
+        int[] offsets = new int[block.offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = block.start + block.offsets[i];
+        }
+        return offsets;
+    }
+
+    /**
+     * Merges two sorted lists of non-overlapping matches.
+     */
+    private static int[] merge(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                merged[k++] = a[i++];
+                merged[k++] = a[i++];
+            } else {
+                merged[k++] = b[j++];
+                merged[k++] = b[j++];
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the line-aligned offsets of the lines currently on screen.
+     */
+    private int[] visibleRange() {
+        Rectangle visible = textArea.getVisibleRect();
+        if (visible.isEmpty()) {
+            return new int[] { 0, 0 }; // not laid out yet; scan everything in the background
+        }
+        int first = textArea.viewToModel2D(new Point(visible.x, visible.y));
+        int last = textArea.viewToModel2D(new Point(visible.x + visible.width, visible.y + visible.height));
+        return lineAligned(Math.max(0, first), Math.max(0, last));
+    }
+
+    /**
+     * Expands an offset range to whole lines.
+     */
+    private int[] lineAligned(int start, int end) {
+        Element root = textArea.getDocument().getDefaultRootElement();
+        Element firstLine = root.getElement(root.getElementIndex(start));
+        Element lastLine = root.getElement(root.getElementIndex(end));
+        int length = textArea.getDocument().getLength();
+        return new int[] { firstLine.getStartOffset(), Math.min(length, lastLine.getEndOffset()) };
+    }
+
+    /**
+     * Rescans the lines touched by an edit and shifts the matches after them.
+     * Painted highlights outside those lines are moved by the highlighter
+     * itself. While the background scan runs, the edit is logged so the
+     * chunks it delivers later can be mapped to the edited document.
+     *
+     * @param offset   Where the edit happened.
+     * @param inserted The number of characters inserted.
+     * @param removed  The number of characters removed.
+     */
+    private void refreshAround(int offset, int inserted, int removed) {
+        if (pattern == null) {
+            return;
+        }
+        int delta = inserted - removed;
+        int[] range = lineAligned(offset, offset + inserted);
+        int editEnd = range[1] - delta; // the end of the same lines before the edit
+
+        Highlighter highlighter = textArea.getHighlighter();
+        for (int i = tags.size() - 1; i >= 0; i--) {
+            Highlighter.Highlight highlight = (Highlighter.Highlight) tags.get(i);
+            boolean collapsed = highlight.getStartOffset() == highlight.getEndOffset();
+            if (collapsed || (highlight.getEndOffset() > range[0] && highlight.getStartOffset() < range[1])) {
+                highlighter.removeHighlight(highlight);
+                tags.remove(i);
+            }
+        }
+        removeAndShift(range[0], editEnd, delta);
+        if (scanner != null) {
+            editsSinceSnapshot.add(new int[] { range[0], editEnd, delta });
+        }
+        addMatches(scanRange(range[0], range[1]));
+        fireStatus();
+    }
+
+    private void fireStatus() {
+        if (statusListener != null) {
+            statusListener.accept(new Status(matchCount, complete, percent));
+        }
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        refreshAround(e.getOffset(), e.getLength(), 0);
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        refreshAround(e.getOffset(), 0, e.getLength());
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // Attribute changes do not affect matches
+    }
+}
@@ -0,0 +1,468 @@
+package com.zam.components.explorer;
+
+import java.awt.BorderLayout;
+import java.awt.CardLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.ToolTipManager;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+
+import com.zam.ui.App;
+import com.zam.utils.FileIndex;
+import com.zam.utils.Settings;
+
+/**
+ * A panel beside the editor showing the files of the open project folder.
+ *
+ * Responsibilities:
+ * - Showing the project as a tree whose folders are listed only when they
+ *   are expanded, on a background thread.
+ * - Indexing the whole project in the background so files can be found by
+ *   typing part of their path into the filter field.
+ * - Updating listed folders and the index when files change on disk, as
+ *   reported by the FileChangeMonitor.
+ * - Opening files in the editor on double-click or Enter.
+ *
+ * Usage:
+ * ```java
+ * ProjectExplorer explorer = new ProjectExplorer(mainApp);
+ * explorer.setRoot(Paths.get("C:/projects/demo"));  // indexes in the background
+ * explorer.filesChanged(changedPaths);               // from the watcher thread
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class ProjectExplorer extends JPanel {
+
+    /** Property fired when the project index finishes building. */
+    public static final String INDEX_PROPERTY = "index";
+
+    private static final int MAX_RESULTS = 200;
+    private static final String TREE_CARD = "tree";
+    private static final String RESULTS_CARD = "results";
+    /** Child of a folder node whose listing has not been read yet. */
+    private static final String LOADING = "Loading...";
+
+    private final App mainApp;
+    private final JTextField filterField = new JTextField();
+    private final DefaultTreeModel treeModel = new DefaultTreeModel(new DefaultMutableTreeNode(), true);
+    private final JTree tree = new JTree(treeModel) {
+        @Override
+        public String getToolTipText(MouseEvent e) {
+            TreePath path = getPathForLocation(e.getX(), e.getY());
+            return path == null ? null : describe(entryOf(path.getLastPathComponent()));
+        }
+    };
+    private final DefaultListModel<FileIndex.Entry> resultModel = new DefaultListModel<>();
+    private final JList<FileIndex.Entry> resultList = new JList<>(resultModel);
+    private final CardLayout cards = new CardLayout();
+    private final JPanel cardPanel = new JPanel(cards);
+    private final JLabel statusLabel = new JLabel(" ");
+
+    private volatile FileIndex index;
+    private volatile boolean indexed;
+    /** Folder nodes whose children are loaded, by relative path. */
+    private final Map<String, DefaultMutableTreeNode> loadedFolders = new HashMap<>();
+
+    /**
+     * Constructor for the ProjectExplorer.
+     *
+     * @param parent The main App instance.
+     */
+    public ProjectExplorer(App parent) {
+        super(new BorderLayout());
+        this.mainApp = parent;
+
+        tree.setRootVisible(true);
+        tree.setShowsRootHandles(true);
+        tree.setToggleClickCount(0); // double-click opens files; folders expand on the handle or Enter
+        ToolTipManager.sharedInstance().registerComponent(tree);
+        tree.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                DefaultMutableTreeNode node = (DefaultMutableTreeNode) event.getPath().getLastPathComponent();
+                FileIndex.Entry entry = entryOf(node);
+                if (entry != null && !loadedFolders.containsKey(entry.relativePath)) {
+                    loadChildren(node);
+                }
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {
+            }
+        });
+        tree.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                TreePath path = tree.getPathForLocation(e.getX(), e.getY());
+                if (e.getClickCount() == 2 && path != null) {
+                    activate(path);
+                }
+            }
+        });
+        tree.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER && tree.getSelectionPath() != null) {
+                    activate(tree.getSelectionPath());
+                }
+            }
+        });
+
+        resultList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean selected, boolean focused) {
+                FileIndex.Entry entry = (FileIndex.Entry) value;
+                super.getListCellRendererComponent(list, entry.name, index, selected, focused);
+                setToolTipText(entry.relativePath);
+                return this;
+            }
+        });
+        resultList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelectedResult();
+                }
+            }
+        });
+        resultList.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    openSelectedResult();
+                }
+            }
+        });
+
+        filterField.putClientProperty("JTextField.placeholderText", "Search files");
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                filter();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                filter();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        filterField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_DOWN && resultModel.getSize() > 0) {
+                    resultList.requestFocusInWindow();
+                } else if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    openSelectedResult();
+                } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    filterField.setText("");
+                }
+            }
+        });
+
+        cardPanel.add(new JScrollPane(tree), TREE_CARD);
+        cardPanel.add(new JScrollPane(resultList), RESULTS_CARD);
+        add(filterField, BorderLayout.NORTH);
+        add(cardPanel, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+        setPreferredSize(new Dimension(240, 0));
+        setVisible(false);
+    }
+
+    /**
+     * Returns the open project folder.
+     *
+     * @return The absolute root, or null if no folder is open.
+     */
+    public Path getRoot() {
+        FileIndex current = index;
+        return current == null ? null : current.getRoot();
+    }
+
+    /**
+     * Returns the index of the open project folder.
+     *
+     * @return The index, or null if no folder is open.
+     */
+    public FileIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Tells whether the project index has finished building.
+     *
+     * @return true once the whole folder is indexed.
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Opens a folder as the project: shows its tree at once and indexes it
+     * in the background.
+     *
+     * @param root The project folder.
+     */
+    public void setRoot(Path root) {
+        FileIndex newIndex = new FileIndex(root);
+        index = newIndex;
+        indexed = false;
+        loadedFolders.clear();
+        filterField.setText("");
+        DefaultMutableTreeNode rootNode = folderNode(newIndex.rootEntry());
+        treeModel.setRoot(rootNode);
+        tree.expandPath(new TreePath(rootNode));
+        setVisible(true);
+        revalidate();
+        mainApp.settings.set(Settings.PROJECT_FOLDER, newIndex.getRoot().toString());
+        mainApp.fileMonitor.sync(); // watch the project for outside changes
+
+        statusLabel.setText("Indexing...");
+        long start = System.nanoTime();
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                newIndex.build();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                if (index != newIndex) {
+                    return; // another folder was opened meanwhile
+                }
+                try {
+                    get();
+                    long elapsed = (System.nanoTime() - start) / 1_000_000;
+                    statusLabel.setText(newIndex.fileCount() + " files (indexed in " + elapsed + " ms)");
+                    filter();
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Indexing failed");
+                    mainApp.terminalArea.consolArea.append("Could not index " + root + ": " + e.getCause() + "\n");
+                }
+                indexed = true;
+                firePropertyChange(INDEX_PROPERTY, null, newIndex);
+            }
+        }.execute();
+    }
+
+    /**
+     * Applies changes on disk to the index and to listed folders. Called on
+     * the watcher thread; the tree is updated on the EDT.
+     *
+     * @param changed Changed files and folders.
+     */
+    public void filesChanged(Set<Path> changed) {
+        FileIndex current = index;
+        if (current == null) {
+            return;
+        }
+        Set<String> folders = current.refresh(changed);
+        if (!folders.isEmpty()) {
+            SwingUtilities.invokeLater(() -> {
+                if (index != current) {
+                    return;
+                }
+                for (String folder : folders) {
+                    DefaultMutableTreeNode node = loadedFolders.get(folder);
+                    if (node != null) {
+                        loadChildren(node);
+                    }
+                }
+                if (!filterField.getText().isEmpty()) {
+                    filter();
+                }
+            });
+        }
+    }
+
+    /**
+     * Lists a folder in the background and replaces the node's children,
+     * keeping the subtrees of folders that are still there.
+     */
+    private void loadChildren(DefaultMutableTreeNode node) {
+        FileIndex current = index;
+        String folder = entryOf(node).relativePath;
+        new SwingWorker<List<FileIndex.Entry>, Void>() {
+            @Override
+            protected List<FileIndex.Entry> doInBackground() throws IOException {
+                return current.list(folder);
+            }
+
+            @Override
+            protected void done() {
+                if (index != current || node.getRoot() != treeModel.getRoot()) {
+                    return; // the project changed or the folder was removed meanwhile
+                }
+                List<FileIndex.Entry> children;
+                try {
+                    children = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    children = new ArrayList<>();
+                }
+                setChildren(node, children);
+            }
+        }.execute();
+    }
+
+    private void setChildren(DefaultMutableTreeNode node, List<FileIndex.Entry> children) {
+        Map<String, DefaultMutableTreeNode> existing = new HashMap<>();
+        for (Enumeration<?> e = node.children(); e.hasMoreElements();) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) e.nextElement();
+            if (child.getUserObject() instanceof FileIndex.Entry) {
+                FileIndex.Entry entry = (FileIndex.Entry) child.getUserObject();
+                existing.put((entry.directory ? "d:" : "f:") + entry.relativePath, child);
+            }
+        }
+        List<TreePath> expanded = new ArrayList<>();
+        Enumeration<TreePath> open = tree.getExpandedDescendants(new TreePath(node.getPath()));
+        while (open != null && open.hasMoreElements()) {
+            expanded.add(open.nextElement());
+        }
+
+        node.removeAllChildren();
+        for (FileIndex.Entry entry : children) {
+            DefaultMutableTreeNode child = existing.remove((entry.directory ? "d:" : "f:") + entry.relativePath);
+            if (child == null) {
+                child = entry.directory ? folderNode(entry) : new DefaultMutableTreeNode(entry, false);
+            }
+            child.setUserObject(entry);
+            node.add(child);
+        }
+        for (DefaultMutableTreeNode removed : existing.values()) {
+            forgetFolders(removed);
+        }
+        loadedFolders.put(entryOf(node).relativePath, node);
+        treeModel.nodeStructureChanged(node);
+        for (TreePath path : expanded) {
+            DefaultMutableTreeNode last = (DefaultMutableTreeNode) path.getLastPathComponent();
+            if (last.getRoot() == treeModel.getRoot()) { // still in the tree
+                tree.expandPath(path);
+            }
+        }
+    }
+
+    private void forgetFolders(DefaultMutableTreeNode removed) {
+        for (Enumeration<?> e = removed.depthFirstEnumeration(); e.hasMoreElements();) {
+            Object entry = ((DefaultMutableTreeNode) e.nextElement()).getUserObject();
+            if (entry instanceof FileIndex.Entry) {
+                loadedFolders.remove(((FileIndex.Entry) entry).relativePath);
+            }
+        }
+    }
+
+    private static DefaultMutableTreeNode folderNode(FileIndex.Entry entry) {
+        DefaultMutableTreeNode node = new DefaultMutableTreeNode(entry, true);
+        node.add(new DefaultMutableTreeNode(LOADING, false));
+        return node;
+    }
+
+    private static FileIndex.Entry entryOf(Object node) {
+        Object entry = ((DefaultMutableTreeNode) node).getUserObject();
+        return entry instanceof FileIndex.Entry ? (FileIndex.Entry) entry : null;
+    }
+
+    /**
+     * Shows the best matches for the filter text instead of the tree.
+     */
+    private void filter() {
+        String query = filterField.getText().trim();
+        FileIndex current = index;
+        if (query.isEmpty() || current == null) {
+            cards.show(cardPanel, TREE_CARD);
+            return;
+        }
+        resultModel.clear();
+        for (FileIndex.Entry entry : current.search(query, MAX_RESULTS)) {
+            resultModel.addElement(entry);
+        }
+        if (!resultModel.isEmpty()) {
+            resultList.setSelectedIndex(0);
+        }
+        cards.show(cardPanel, RESULTS_CARD);
+    }
+
+    private void activate(TreePath path) {
+        FileIndex.Entry entry = entryOf(path.getLastPathComponent());
+        if (entry == null) {
+            return;
+        }
+        if (entry.directory) {
+            if (tree.isExpanded(path)) {
+                tree.collapsePath(path);
+            } else {
+                tree.expandPath(path);
+            }
+        } else {
+            open(entry);
+        }
+    }
+
+    private void openSelectedResult() {
+        FileIndex.Entry entry = resultList.getSelectedValue();
+        if (entry != null) {
+            open(entry);
+        }
+    }
+
+    private void open(FileIndex.Entry entry) {
+        Path file = index.resolve(entry);
+        if (Files.isRegularFile(file)) {
+            mainApp.menuBar.fileMenu.openPath(file);
+        }
+    }
+
+    private static String describe(FileIndex.Entry entry) {
+        if (entry == null || entry.relativePath.isEmpty()) {
+            return null;
+        }
+        String modified = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.SHORT)
+                .format(new Date(entry.modified));
+        return entry.directory ? entry.relativePath + " - " + modified
+                : entry.relativePath + " - " + formatSize(entry.size) + ", " + modified;
+    }
+
+    private static String formatSize(long size) {
+        if (size < 1024) {
+            return size + " B";
+        }
+        return size < 1024 * 1024 ? (size / 1024) + " KB" : String.format("%.1f MB", size / (1024.0 * 1024.0));
+    }
+}
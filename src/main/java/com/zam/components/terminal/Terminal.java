@@ -30,7 +30,7 @@ import com.zam.ui.App;
  *
  * Usage:
  * - Integrate into the main UI by instantiating and adding to a container.
- * - Use `showProgressBar` and `hideProgressBar` methods to control the visibility of the progress bar.
+ * - Use `showProgressBar`, `showProgress` and `hideProgressBar` methods to control the progress bar.
  *
  * Example:
  * ```java
@@ -116,6 +116,20 @@ public class Terminal extends JPanel {
      * Displays the progress bar.
      */
     public void showProgressBar() {
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(false);
+        progressBar.setVisible(true);
+    }
+
+    /**
+     * Displays the progress bar with a known completion percentage.
+     *
+     * @param percent The completed percentage, 0 to 100.
+     */
+    public void showProgress(int percent) {
+        progressBar.setIndeterminate(false);
+        progressBar.setStringPainted(true);
+        progressBar.setValue(percent);
         progressBar.setVisible(true);
     }
 
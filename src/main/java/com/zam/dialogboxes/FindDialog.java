@@ -0,0 +1,260 @@
+package com.zam.dialogboxes;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.fife.ui.rtextarea.SearchContext;
+import org.fife.ui.rtextarea.SearchEngine;
+import org.fife.ui.rtextarea.SearchResult;
+
+import com.zam.components.editor.CodeTextArea;
+import com.zam.components.editor.SearchHighlighter;
+import com.zam.ui.App;
+import com.zam.utils.ProjectSearcher;
+
+/**
+ * A non-modal dialog for finding and replacing text in the current editor tab.
+ *
+ * Responsibilities:
+ * - Finding the next or previous match with optional regex and case matching.
+ * - Highlighting every match in the current tab while the query is typed,
+ *   using the tab's incremental SearchHighlighter.
+ * - Replacing the current match, or all matches as a single undoable edit.
+ *
+ * Usage:
+ * ```java
+ * FindDialog findDialog = new FindDialog(mainApp);
+ * findDialog.setVisible(true);
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class FindDialog extends JDialog {
+
+    private final JTextField findField = new JTextField(24);
+    private final JTextField replaceField = new JTextField(24);
+    private final JCheckBox regexCheckBox = new JCheckBox("Regex");
+    private final JCheckBox matchCaseCheckBox = new JCheckBox("Match Case");
+    private final JButton nextButton = new JButton("Find Next");
+    private final JButton previousButton = new JButton("Find Previous");
+    private final JButton replaceButton = new JButton("Replace");
+    private final JButton replaceAllButton = new JButton("Replace All");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final Timer highlightTimer;
+
+    private final App mainApp;
+    private SearchHighlighter activeHighlighter;
+
+    /**
+     * Constructor for the FindDialog.
+     *
+     * @param parent The main App instance.
+     */
+    public FindDialog(App parent) {
+        super(parent, "Find / Replace");
+        this.mainApp = parent;
+
+        JPanel fieldsPanel = new JPanel(new GridBagLayout());
+        fieldsPanel.add(new JLabel("Find:"), new GridBagConstraints(0, 0, 1, 1, 0.0, 0.0,
+                GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(5, 5, 5, 5), 0, 0));
+        fieldsPanel.add(findField, new GridBagConstraints(1, 0, 2, 1, 1.0, 0.0,
+                GridBagConstraints.CENTER, GridBagConstraints.HORIZONTAL, new Insets(5, 0, 5, 5), 0, 0));
+        fieldsPanel.add(new JLabel("Replace:"), new GridBagConstraints(0, 1, 1, 1, 0.0, 0.0,
+                GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 5, 5, 5), 0, 0));
+        fieldsPanel.add(replaceField, new GridBagConstraints(1, 1, 2, 1, 1.0, 0.0,
+                GridBagConstraints.CENTER, GridBagConstraints.HORIZONTAL, new Insets(0, 0, 5, 5), 0, 0));
+        fieldsPanel.add(regexCheckBox, new GridBagConstraints(1, 2, 1, 1, 0.0, 0.0,
+                GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 0, 5, 5), 0, 0));
+        fieldsPanel.add(matchCaseCheckBox, new GridBagConstraints(2, 2, 1, 1, 0.0, 0.0,
+                GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 0, 5, 5), 0, 0));
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(previousButton);
+        buttonPanel.add(nextButton);
+        buttonPanel.add(replaceButton);
+        buttonPanel.add(replaceAllButton);
+
+        nextButton.addActionListener(e -> find(true));
+        previousButton.addActionListener(e -> find(false));
+        findField.addActionListener(e -> find(true));
+        replaceButton.addActionListener(e -> replace());
+        replaceAllButton.addActionListener(e -> replaceAll());
+        getRootPane().setDefaultButton(nextButton);
+
+        // Re-highlight shortly after typing stops instead of on every keystroke
+        highlightTimer = new Timer(150, e -> updateHighlights());
+        highlightTimer.setRepeats(false);
+        DocumentListener queryListener = new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                highlightTimer.restart();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                highlightTimer.restart();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+            }
+        };
+        findField.getDocument().addDocumentListener(queryListener);
+        regexCheckBox.addActionListener(e -> updateHighlights());
+        matchCaseCheckBox.addActionListener(e -> updateHighlights());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                clearHighlights();
+            }
+        });
+
+        setLayout(new BorderLayout());
+        add(fieldsPanel, BorderLayout.NORTH);
+        add(buttonPanel, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+        pack();
+        setLocationRelativeTo(parent);
+    }
+
+    /**
+     * Shows the dialog, pre-filling the query with the current selection.
+     */
+    public void showDialog() {
+        String selection = currentTextArea().getSelectedText();
+        if (selection != null && !selection.contains("\n")) {
+            findField.setText(selection);
+        }
+        setVisible(true);
+        findField.requestFocusInWindow();
+        findField.selectAll();
+        updateHighlights();
+    }
+
+    /**
+     * Highlights all matches of the current query in the current tab.
+     */
+    private void updateHighlights() {
+        clearHighlights();
+        if (findField.getText().isEmpty()) {
+            statusLabel.setText(" ");
+            return;
+        }
+        try {
+            Pattern pattern = ProjectSearcher.compile(findField.getText(), regexCheckBox.isSelected(),
+                    matchCaseCheckBox.isSelected());
+            activeHighlighter = mainApp.codeAreaPanes.get(App.currentTabIndex).getSearchHighlighter();
+            activeHighlighter.search(pattern, status -> statusLabel.setText(status.toString()));
+        } catch (PatternSyntaxException e) {
+            statusLabel.setText("Invalid regex: " + e.getDescription());
+        }
+    }
+
+    private void clearHighlights() {
+        if (activeHighlighter != null) {
+            activeHighlighter.clear();
+            activeHighlighter = null;
+        }
+    }
+
+    private RSyntaxTextArea currentTextArea() {
+        return mainApp.codeAreaPanes.get(App.currentTabIndex).codeTextArea;
+    }
+
+    private SearchContext createContext(boolean forward) {
+        SearchContext context = new SearchContext(findField.getText(), matchCaseCheckBox.isSelected());
+        context.setRegularExpression(regexCheckBox.isSelected());
+        context.setSearchForward(forward);
+        context.setSearchWrap(true);
+        context.setMarkAll(false); // highlighting is done incrementally by SearchHighlighter
+        context.setReplaceWith(replaceField.getText());
+        return context;
+    }
+
+    /**
+     * Finds the next or previous match and highlights every match.
+     *
+     * @param forward true to search towards the end of the document.
+     */
+    private void find(boolean forward) {
+        if (findField.getText().isEmpty()) {
+            return;
+        }
+        try {
+            SearchResult result = SearchEngine.find(currentTextArea(), createContext(forward));
+            showResult(result);
+        } catch (PatternSyntaxException e) {
+            statusLabel.setText("Invalid regex: " + e.getDescription());
+        }
+    }
+
+    /**
+     * Replaces the current match and moves to the next one.
+     */
+    private void replace() {
+        if (findField.getText().isEmpty()) {
+            return;
+        }
+        try {
+            showResult(SearchEngine.replace(currentTextArea(), createContext(true)));
+        } catch (PatternSyntaxException e) {
+            statusLabel.setText("Invalid regex: " + e.getDescription());
+        }
+    }
+
+    /**
+     * Replaces every match in the current tab as one undoable edit.
+     */
+    private void replaceAll() {
+        if (findField.getText().isEmpty()) {
+            return;
+        }
+        try {
+            Pattern pattern = ProjectSearcher.compile(findField.getText(), regexCheckBox.isSelected(),
+                    matchCaseCheckBox.isSelected());
+            String replacement = regexCheckBox.isSelected()
+                    ? replaceField.getText()
+                    : Matcher.quoteReplacement(replaceField.getText());
+            ProjectSearcher.checkReplacement(pattern, replacement);
+            CodeTextArea codePanel = mainApp.codeAreaPanes.get(App.currentTabIndex);
+            clearHighlights(); // avoid rescanning after every single replacement
+            int count = codePanel.replaceAll(pattern, replacement);
+            updateHighlights();
+            statusLabel.setText(count + " occurrence(s) replaced");
+        } catch (PatternSyntaxException e) {
+            statusLabel.setText("Invalid regex: " + e.getDescription());
+        } catch (IllegalArgumentException e) {
+            statusLabel.setText("Invalid replacement: " + e.getMessage());
+        }
+    }
+
+    private void showResult(SearchResult result) {
+        if (result.wasFound()) {
+            if (activeHighlighter != mainApp.codeAreaPanes.get(App.currentTabIndex).getSearchHighlighter()) {
+                updateHighlights(); // the tab changed since the query was typed
+            }
+        } else {
+            statusLabel.setText("No matches");
+            UIManager.getLookAndFeel().provideErrorFeedback(findField);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.zam.dialogboxes;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+
+import com.zam.components.editor.CodeTextArea;
+import com.zam.ui.App;
+import com.zam.utils.ProjectSearcher;
+import com.zam.utils.TrigramIndex;
+
+/**
+ * A non-modal dialog for searching and replacing across all files of the project.
+ *
+ * Responsibilities:
+ * - Running project searches in the background and streaming matches into
+ *   the result list as they are found.
+ * - Building a trigram index after the first search so later literal
+ *   searches only read files that can contain the query.
+ * - Replacing all matches with one undoable edit per file.
+ *
+ * Usage:
+ * ```java
+ * FindInProjectDialog dialog = new FindInProjectDialog(mainApp);
+ * dialog.showDialog(projectRoot);
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class FindInProjectDialog extends JDialog {
+
+    private final JTextField findField = new JTextField(30);
+    private final JTextField replaceField = new JTextField(30);
+    private final JCheckBox regexCheckBox = new JCheckBox("Regex");
+    private final JCheckBox matchCaseCheckBox = new JCheckBox("Match Case");
+    private final JCheckBox useIndexCheckBox = new JCheckBox("Use Index", true);
+    private final JButton findButton = new JButton("Find");
+    private final JButton replaceAllButton = new JButton("Replace All");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final DefaultListModel<ProjectSearcher.Match> resultModel = new DefaultListModel<>();
+    private final JList<ProjectSearcher.Match> resultList = new JList<>(resultModel);
+
+    private final App mainApp;
+    private Path projectRoot;
+    private TrigramIndex trigramIndex;
+    private SwingWorker<ProjectSearcher.Summary, ProjectSearcher.Match> searchWorker;
+    private AtomicBoolean searchCancelled = new AtomicBoolean();
+    private Pattern lastPattern;
+
+    /**
+     * Constructor for the FindInProjectDialog.
+     *
+     * @param parent The main App instance.
+     */
+    public FindInProjectDialog(App parent) {
+        super(parent, "Find in Project");
+        this.mainApp = parent;
+
+        JPanel fieldsPanel = new JPanel(new GridBagLayout());
+        fieldsPanel.add(new JLabel("Find:"), new GridBagConstraints(0, 0, 1, 1, 0.0, 0.0,
+                GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(5, 5, 5, 5), 0, 0));
+        fieldsPanel.add(findField, new GridBagConstraints(1, 0, 3, 1, 1.0, 0.0,
+                GridBagConstraints.CENTER, GridBagConstraints.HORIZONTAL, new Insets(5, 0, 5, 5), 0, 0));
+        fieldsPanel.add(findButton, new GridBagConstraints(4, 0, 1, 1, 0.0, 0.0,
+                GridBagConstraints.CENTER, GridBagConstraints.HORIZONTAL, new Insets(5, 0, 5, 5), 0, 0));
+        fieldsPanel.add(new JLabel("Replace:"), new GridBagConstraints(0, 1, 1, 1, 0.0, 0.0,
+                GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 5, 5, 5), 0, 0));
+        fieldsPanel.add(replaceField, new GridBagConstraints(1, 1, 3, 1, 1.0, 0.0,
+                GridBagConstraints.CENTER, GridBagConstraints.HORIZONTAL, new Insets(0, 0, 5, 5), 0, 0));
+        fieldsPanel.add(replaceAllButton, new GridBagConstraints(4, 1, 1, 1, 0.0, 0.0,
+                GridBagConstraints.CENTER, GridBagConstraints.HORIZONTAL, new Insets(0, 0, 5, 5), 0, 0));
+
+        JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        optionsPanel.add(regexCheckBox);
+        optionsPanel.add(matchCaseCheckBox);
+        optionsPanel.add(useIndexCheckBox);
+        fieldsPanel.add(optionsPanel, new GridBagConstraints(1, 2, 4, 1, 0.0, 0.0,
+                GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 0));
+
+        resultList.setFont(parent.font);
+        resultList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+        resultList.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    openSelected();
+                }
+            }
+        });
+
+        findButton.addActionListener(e -> startSearch());
+        findField.addActionListener(e -> startSearch());
+        replaceAllButton.addActionListener(e -> replaceAll());
+
+        setLayout(new BorderLayout());
+        add(fieldsPanel, BorderLayout.NORTH);
+        add(new JScrollPane(resultList), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+        setSize(760, 420);
+        setLocationRelativeTo(parent);
+    }
+
+    /**
+     * Shows the dialog for the given project folder.
+     *
+     * @param root The project folder to search.
+     */
+    public void showDialog(Path root) {
+        Path normalized = root.toAbsolutePath().normalize();
+        if (!normalized.equals(projectRoot)) {
+            projectRoot = normalized;
+            trigramIndex = null;
+            resultModel.clear();
+        }
+        setTitle("Find in Project - " + projectRoot);
+        setVisible(true);
+        findField.requestFocusInWindow();
+        findField.selectAll();
+    }
+
+    /**
+     * Cancels any running search and starts a new one.
+     */
+    private void startSearch() {
+        String query = findField.getText();
+        if (query.isEmpty()) {
+            return;
+        }
+        Pattern pattern;
+        try {
+            pattern = ProjectSearcher.compile(query, regexCheckBox.isSelected(), matchCaseCheckBox.isSelected());
+        } catch (PatternSyntaxException e) {
+            statusLabel.setText("Invalid regex: " + e.getDescription());
+            return;
+        }
+        if (searchWorker != null) {
+            searchCancelled.set(true);
+            searchWorker.cancel(false);
+        }
+        lastPattern = pattern;
+        resultModel.clear();
+        statusLabel.setText("Searching...");
+
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        searchCancelled = cancelled;
+        final Map<Path, CharSequence> openBuffers = openBuffers();
+        final String literal = regexCheckBox.isSelected() ? null : query;
+        final TrigramIndex index = useIndexCheckBox.isSelected() && trigramIndex != null && trigramIndex.isReady()
+                ? trigramIndex : null;
+        final long start = System.nanoTime();
+
+        searchWorker = new SwingWorker<ProjectSearcher.Summary, ProjectSearcher.Match>() {
+            @Override
+            protected ProjectSearcher.Summary doInBackground() throws Exception {
+                return new ProjectSearcher(projectRoot, index).search(pattern, literal, openBuffers,
+                        this::publish, cancelled);
+            }
+
+            @Override
+            protected void process(List<ProjectSearcher.Match> chunks) {
+                if (!cancelled.get()) {
+                    resultModel.addAll(chunks);
+                    statusLabel.setText("Searching... " + resultModel.size() + " match(es)");
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (cancelled.get() || isCancelled()) {
+                    return;
+                }
+                try {
+                    ProjectSearcher.Summary summary = get();
+                    long elapsed = (System.nanoTime() - start) / 1_000_000;
+                    statusLabel.setText(summary.matches + " match(es) in " + summary.filesMatched + " file(s); "
+                            + summary.filesSearched + " file(s) searched in " + elapsed + " ms"
+                            + (summary.usedIndex ? " (indexed)" : ""));
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Search failed: " + e.getCause());
+                }
+                buildIndexIfNeeded();
+            }
+        };
+        searchWorker.execute();
+    }
+
+    /**
+     * Builds the trigram index in the background after the first search so the
+     * first search is never delayed by indexing.
+     */
+    private void buildIndexIfNeeded() {
+        if (trigramIndex != null || !useIndexCheckBox.isSelected()) {
+            return;
+        }
+        final TrigramIndex index = new TrigramIndex(projectRoot);
+        trigramIndex = index;
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                index.build();
+                return null;
+            }
+        }.execute();
+    }
+
+    /**
+     * Collects snapshots of open tabs backed by files so unsaved edits are
+     * searched without copying their text on the EDT.
+     */
+    private Map<Path, CharSequence> openBuffers() {
+        Map<Path, CharSequence> buffers = new HashMap<>();
+        for (int i = 0; i < mainApp.tabbedEditorPane.getTabCount(); i++) {
+            String tooltip = mainApp.tabbedEditorPane.getToolTipTextAt(i);
+            if (tooltip == null) {
+                continue;
+            }
+            File file = new File(tooltip);
+            if (file.isFile() && mainApp.codeAreaPanes.get(i).isMaterialized()) {
+                // Tabs not shown yet match the file on disk
+                buffers.put(file.toPath().toAbsolutePath().normalize(),
+                        mainApp.codeAreaPanes.get(i).snapshot().getText());
+            }
+        }
+        return buffers;
+    }
+
+    private void openSelected() {
+        ProjectSearcher.Match match = resultList.getSelectedValue();
+        if (match != null) {
+            mainApp.menuBar.fileMenu.openLocation(match.file, match.line, match.column);
+            mainApp.codeAreaPanes.get(App.currentTabIndex).codeTextArea
+                    .moveCaretPosition(Math.min(match.offset + match.length,
+                            mainApp.codeAreaPanes.get(App.currentTabIndex).codeTextArea.getDocument().getLength()));
+        }
+    }
+
+    /**
+     * Replaces every listed match. Each affected file is opened in a tab and
+     * changed with one atomic edit, so it can be reviewed, undone, and saved.
+     * Large files that are still loading are skipped and listed.
+     */
+    private void replaceAll() {
+        if (lastPattern == null || resultModel.isEmpty()) {
+            return;
+        }
+        List<ProjectSearcher.Match> matches = new ArrayList<>(resultModel.size());
+        for (int i = 0; i < resultModel.size(); i++) {
+            matches.add(resultModel.get(i));
+        }
+        String replacement = regexCheckBox.isSelected()
+                ? replaceField.getText()
+                : Matcher.quoteReplacement(replaceField.getText());
+        try {
+            ProjectSearcher.checkReplacement(lastPattern, replacement);
+        } catch (IllegalArgumentException e) {
+            statusLabel.setText("Invalid replacement: " + e.getMessage()); // before any file is changed
+            return;
+        }
+        List<Path> files = ProjectSearcher.filesOf(matches);
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Replace " + matches.size() + " match(es) in " + files.size() + " file(s)?",
+                "Replace All", JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) {
+            return;
+        }
+        int total = 0;
+        List<String> skipped = new ArrayList<>();
+        for (Path file : files) {
+            mainApp.menuBar.fileMenu.openLocation(file, 1, 1);
+            CodeTextArea codePanel = mainApp.codeAreaPanes.get(App.currentTabIndex);
+            if (!codePanel.codeTextArea.isEditable()) {
+                // A large file is still streaming in, so its text is incomplete
+                skipped.add(file.getFileName().toString());
+                continue;
+            }
+            total += codePanel.replaceAll(lastPattern, replacement);
+        }
+        resultModel.clear();
+        statusLabel.setText(total + " replacement(s) in " + (files.size() - skipped.size())
+                + " file(s); review and save the tabs");
+        if (!skipped.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "These files were still loading and were not changed:\n"
+                    + String.join("\n", skipped) + "\nRun Replace All again once they have loaded.",
+                    "Replace All", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+}
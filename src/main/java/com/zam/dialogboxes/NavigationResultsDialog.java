@@ -0,0 +1,93 @@
+package com.zam.dialogboxes;
+
+import java.awt.BorderLayout;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JDialog;
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
+
+import com.zam.ui.App;
+
+/**
+ * A dialog listing navigation results such as usages or definitions.
+ *
+ * Responsibilities:
+ * - Showing one row per result with its file, position, and a line preview.
+ * - Opening the selected result on double-click or Enter.
+ *
+ * Usage:
+ * ```java
+ * NavigationResultsDialog dialog = new NavigationResultsDialog(mainApp, "Usages of x", rows, results,
+ *         location -> mainApp.menuBar.fileMenu.openLocation(location.file, location.line, location.column));
+ * dialog.setVisible(true);
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class NavigationResultsDialog<T> extends JDialog {
+
+    private final JList<String> resultList;
+
+    /**
+     * Constructor for NavigationResultsDialog.
+     *
+     * @param parent  The main App instance.
+     * @param title   The dialog title.
+     * @param rows    Display text for each result.
+     * @param results The results, parallel to rows.
+     * @param opener  Called with the chosen result.
+     */
+    public NavigationResultsDialog(App parent, String title, List<String> rows, List<T> results, Consumer<T> opener) {
+        super(parent, title);
+
+        DefaultListModel<String> model = new DefaultListModel<>();
+        model.addAll(rows);
+        resultList = new JList<>(model);
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultList.setFont(parent.font);
+        if (!rows.isEmpty()) {
+            resultList.setSelectedIndex(0);
+        }
+
+        resultList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected(results, opener);
+                }
+            }
+        });
+        resultList.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    openSelected(results, opener);
+                } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    dispose();
+                }
+            }
+        });
+
+        setLayout(new BorderLayout());
+        add(new JScrollPane(resultList), BorderLayout.CENTER);
+        setSize(700, 300);
+        setLocationRelativeTo(parent);
+    }
+
+    private void openSelected(List<T> results, Consumer<T> opener) {
+        int index = resultList.getSelectedIndex();
+        if (index >= 0) {
+            opener.accept(results.get(index));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.zam.dialogboxes;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import com.zam.components.explorer.ProjectExplorer;
+import com.zam.ui.App;
+import com.zam.utils.FileIndex;
+
+/**
+ * A popup for opening a file of the project by typing part of its path.
+ *
+ * Responsibilities:
+ * - Searching the project's FileIndex on every keystroke and listing the
+ *   best fuzzy matches, with recently opened files ranked higher.
+ * - Listing recently opened files while the query is empty.
+ * - Using the explorer's index, so nothing is listed until a folder is open.
+ * - Opening the chosen file on Enter or double-click.
+ *
+ * Usage:
+ * ```java
+ * QuickOpenDialog quickOpen = new QuickOpenDialog(mainApp);
+ * quickOpen.showDialog();   // bound to Ctrl+P
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class QuickOpenDialog extends JDialog {
+
+    private static final int MAX_RESULTS = 50;
+    private static final int MAX_RECENT = 50;
+    /** Score added for the most recently opened file; older ones get less. */
+    private static final int RECENT_BONUS = 60;
+
+    private final JTextField queryField = new JTextField(40);
+    private final DefaultListModel<FileIndex.Entry> resultModel = new DefaultListModel<>();
+    private final JList<FileIndex.Entry> resultList = new JList<>(resultModel);
+    private final JLabel statusLabel = new JLabel(" ");
+
+    private final App mainApp;
+    /** Recently opened files, most recent first. */
+    private final Deque<Path> recent = new ArrayDeque<>();
+    /** Bonuses for recent files keyed by relative path; rebuilt when either changes. */
+    private Map<String, Integer> bonuses;
+    private FileIndex bonusIndex;
+    /** The index the listed results come from. */
+    private FileIndex shownIndex;
+
+    /**
+     * Constructor for the QuickOpenDialog.
+     *
+     * @param parent The main App instance.
+     */
+    public QuickOpenDialog(App parent) {
+        super(parent, "Go to File");
+        this.mainApp = parent;
+
+        // Open tabs count as recently opened, the current one first
+        for (int i = parent.tabbedEditorPane.getTabCount() - 1; i >= 0; i--) {
+            if (i != App.currentTabIndex) {
+                noteOpened(parent.tabbedEditorPane.getToolTipTextAt(i));
+            }
+        }
+        noteOpened(App.currentTabFile.getPath());
+        parent.tabbedEditorPane.addChangeListener(e -> {
+            int index = parent.tabbedEditorPane.getSelectedIndex();
+            if (index >= 0) {
+                noteOpened(parent.tabbedEditorPane.getToolTipTextAt(index));
+            }
+        });
+        parent.explorer.addPropertyChangeListener(ProjectExplorer.INDEX_PROPERTY, e -> {
+            if (isVisible()) {
+                updateResults();
+            }
+        });
+
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultList.setFocusable(false); // typing stays in the query field
+        resultList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean selected, boolean focused) {
+                FileIndex.Entry entry = (FileIndex.Entry) value;
+                int slash = entry.relativePath.lastIndexOf('/');
+                String folder = slash < 0 ? "" : "    " + entry.relativePath.substring(0, slash);
+                return super.getListCellRendererComponent(list, entry.name + folder, index, selected, focused);
+            }
+        });
+        resultList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+
+        queryField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                updateResults();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                updateResults();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        queryField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                int selected = resultList.getSelectedIndex();
+                if (e.getKeyCode() == KeyEvent.VK_DOWN && selected + 1 < resultModel.getSize()) {
+                    select(selected + 1);
+                } else if (e.getKeyCode() == KeyEvent.VK_UP && selected > 0) {
+                    select(selected - 1);
+                } else if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    openSelected();
+                } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    setVisible(false);
+                }
+            }
+        });
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowDeactivated(WindowEvent e) {
+                setVisible(false);
+            }
+        });
+
+        setLayout(new BorderLayout());
+        add(queryField, BorderLayout.NORTH);
+        add(new JScrollPane(resultList), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+        setSize(560, 360);
+    }
+
+    /**
+     * Shows the popup over the editor with an empty query.
+     */
+    public void showDialog() {
+        queryField.setFont(mainApp.font);
+        resultList.setFont(mainApp.font);
+        queryField.setText("");
+        updateResults();
+        setLocationRelativeTo(mainApp);
+        setVisible(true);
+        queryField.requestFocusInWindow();
+    }
+
+    /**
+     * Moves a file to the front of the recently opened files.
+     *
+     * @param path The file path shown in the tab's tooltip.
+     */
+    private void noteOpened(String path) {
+        if (path == null || !new File(path).isFile()) {
+            return; // untitled and JDK tabs
+        }
+        Path file = new File(path).getAbsoluteFile().toPath().normalize();
+        recent.remove(file);
+        recent.addFirst(file);
+        if (recent.size() > MAX_RECENT) {
+            recent.removeLast();
+        }
+        bonuses = null;
+    }
+
+    private void updateResults() {
+        FileIndex index = mainApp.explorer.getIndex();
+        boolean built = mainApp.explorer.isIndexed();
+        resultModel.clear();
+        shownIndex = index;
+        if (index == null) {
+            statusLabel.setText("Open a folder first");
+            return;
+        }
+        String query = queryField.getText().trim();
+        long start = System.nanoTime();
+        List<FileIndex.Entry> found = query.isEmpty() ? recentEntries(index)
+                : index.search(query, MAX_RESULTS, bonuses(index));
+        long elapsed = (System.nanoTime() - start) / 1000;
+        for (FileIndex.Entry entry : found) {
+            resultModel.addElement(entry);
+        }
+        if (!resultModel.isEmpty()) {
+            select(0);
+        }
+        if (!built) {
+            statusLabel.setText("Indexing " + index.getRoot() + "...");
+        } else {
+            statusLabel.setText(query.isEmpty() ? "Recently opened"
+                    : found.size() + " of " + index.fileCount() + " files in " + elapsed / 1000.0 + " ms");
+        }
+    }
+
+    private List<FileIndex.Entry> recentEntries(FileIndex index) {
+        List<FileIndex.Entry> entries = new ArrayList<>();
+        for (Path file : recent) {
+            FileIndex.Entry entry = index.find(file);
+            if (entry != null && entries.size() < MAX_RESULTS) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private Map<String, Integer> bonuses(FileIndex index) {
+        if (bonuses == null || bonusIndex != index) {
+            bonuses = new HashMap<>();
+            bonusIndex = index;
+            int rank = 0;
+            for (Iterator<Path> it = recent.iterator(); it.hasNext(); rank++) {
+                FileIndex.Entry entry = index.find(it.next());
+                if (entry != null) {
+                    bonuses.put(entry.relativePath, RECENT_BONUS * (MAX_RECENT - rank) / MAX_RECENT);
+                }
+            }
+        }
+        return bonuses;
+    }
+
+    private void select(int index) {
+        resultList.setSelectedIndex(index);
+        resultList.ensureIndexIsVisible(index);
+    }
+
+    private void openSelected() {
+        FileIndex.Entry entry = resultList.getSelectedValue();
+        if (entry != null) {
+            setVisible(false);
+            mainApp.menuBar.fileMenu.openPath(shownIndex.resolve(entry));
+        }
+    }
+}
@@ -23,11 +23,12 @@ import javax.swing.border.TitledBorder;
 
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
-import org.fife.ui.rsyntaxtextarea.Theme;
 import org.fife.ui.rtextarea.RTextScrollPane;
 
 import com.formdev.flatlaf.FlatLaf;
 import com.zam.ui.App;
+import com.zam.utils.Settings;
+import com.zam.utils.ThemeCache;
 
 /**
  * A dialog box for changing the theme and settings of the code editor.
@@ -83,6 +84,8 @@ public class ThemeChanger extends JDialog {
     public ThemeChanger(App parent) {
         super(parent);
         this.mainApp = parent;
+        // Parse the syntax themes while the dialog is built, so previewing and applying them does not
+        ThemeCache.preload("default", "dark", "solarizedLight", "solarizedDark", "monokai", "spaceGrey");
 
         // Set up the dialog properties
         this.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
@@ -112,19 +115,19 @@ public class ThemeChanger extends JDialog {
         spinner = new JSpinner(model);
         featuresPanel = new JPanel();
         bracketMatchingCheckBox = new JCheckBox();
-        bracketMatchingCheckBox.setSelected(mainApp.properties.getBooleanProperty("BracketMatching"));
+        bracketMatchingCheckBox.setSelected(mainApp.settings.get(Settings.BRACKET_MATCHING));
         bracketMatchingCheckBox.addActionListener(e -> syntaxTextArea.setBracketMatchingEnabled(bracketMatchingCheckBox.isSelected()));
         currentLineHighlightCheckBox = new JCheckBox();
-        currentLineHighlightCheckBox.setSelected(mainApp.properties.getBooleanProperty("HighlightCurrentLine"));
+        currentLineHighlightCheckBox.setSelected(mainApp.settings.get(Settings.HIGHLIGHT_CURRENT_LINE));
         currentLineHighlightCheckBox.addActionListener(e -> syntaxTextArea.setHighlightCurrentLine(currentLineHighlightCheckBox.isSelected()));
         foldingCheckBox = new JCheckBox();
-        foldingCheckBox.setSelected(mainApp.properties.getBooleanProperty("CodeFolding"));
+        foldingCheckBox.setSelected(mainApp.settings.get(Settings.CODE_FOLDING));
         foldingCheckBox.addActionListener(e -> syntaxTextArea.setCodeFoldingEnabled(foldingCheckBox.isSelected()));
         lineNumbersCheckBox = new JCheckBox();
-        lineNumbersCheckBox.setSelected(mainApp.properties.getBooleanProperty("LineNumbers"));
+        lineNumbersCheckBox.setSelected(mainApp.settings.get(Settings.LINE_NUMBERS));
         lineNumbersCheckBox.addActionListener(e -> scrollPane.setLineNumbersEnabled(lineNumbersCheckBox.isSelected()));
         lineWrapCheckBox = new JCheckBox();
-        lineWrapCheckBox.setSelected(mainApp.properties.getBooleanProperty("LineWrap"));
+        lineWrapCheckBox.setSelected(mainApp.settings.get(Settings.LINE_WRAP));
         lineWrapCheckBox.addActionListener(e -> syntaxTextArea.setLineWrap(lineWrapCheckBox.isSelected()));
         buttonPanel = new JPanel();
         okButton = new JButton();
@@ -156,11 +159,11 @@ public class ThemeChanger extends JDialog {
         "   }\n" +
         "}";
         syntaxTextArea.setText(code);
-        syntaxTextArea.setBracketMatchingEnabled(mainApp.properties.getBooleanProperty("BracketMatching"));
-        syntaxTextArea.setHighlightCurrentLine(mainApp.properties.getBooleanProperty("HighlightCurrentLine"));
-        syntaxTextArea.setCodeFoldingEnabled(mainApp.properties.getBooleanProperty("CodeFolding"));
-        scrollPane.setLineNumbersEnabled(mainApp.properties.getBooleanProperty("LineNumbers"));
-        syntaxTextArea.setLineWrap(mainApp.properties.getBooleanProperty("LineWrap"));
+        syntaxTextArea.setBracketMatchingEnabled(mainApp.settings.get(Settings.BRACKET_MATCHING));
+        syntaxTextArea.setHighlightCurrentLine(mainApp.settings.get(Settings.HIGHLIGHT_CURRENT_LINE));
+        syntaxTextArea.setCodeFoldingEnabled(mainApp.settings.get(Settings.CODE_FOLDING));
+        scrollPane.setLineNumbersEnabled(mainApp.settings.get(Settings.LINE_NUMBERS));
+        syntaxTextArea.setLineWrap(mainApp.settings.get(Settings.LINE_WRAP));
         syntaxTextArea.setFont(UIManager.getFont("AppFont"));
         syntaxTextArea.setSyntaxEditingStyle(SyntaxConstants.SYNTAX_STYLE_JAVA);
 
@@ -304,8 +307,7 @@ public class ThemeChanger extends JDialog {
                 }
                 UIManager.setLookAndFeel(newLAF);
                 SwingUtilities.updateComponentTreeUI(this);
-                Theme theme = Theme.load(getClass().getResourceAsStream("/SyntaxThemes/"+ editorTheme +".xml"));
-                theme.apply(syntaxTextArea); // its reset the font too!
+                ThemeCache.apply(editorTheme, syntaxTextArea); // its reset the font too!
                 Font font = (Font) UIManager.getFont("AppFont");
                 syntaxTextArea.setFont(font.deriveFont(mainApp.textAttributes)); //lazy Fix to put the font back :P
                 scrollPane.getGutter().setLineNumberFont(UIManager.getFont("AppFont"));
@@ -367,28 +369,19 @@ public class ThemeChanger extends JDialog {
      */
     private void okButtonFunc() {
         FlatLaf.updateUI(); //update for the whole UI
-        Theme theme = new Theme(syntaxTextArea);
-        
-        Font font = ((Font) UIManager.get("AppFont")).deriveFont(mainApp.textAttributes);
-        for (int i = 0; i < mainApp.tabbedEditorPane.getTabCount(); i++) {
-            theme.apply(mainApp.codeAreaPanes.get(i).codeTextArea);
-            mainApp.codeAreaPanes.get(i).codeTextArea.setFont(font);
-            mainApp.codeAreaPanes.get(i).codeTextArea.setBracketMatchingEnabled(bracketMatchingCheckBox.isSelected());
-            mainApp.codeAreaPanes.get(i).codeTextArea.setHighlightCurrentLine(currentLineHighlightCheckBox.isSelected());
-            mainApp.codeAreaPanes.get(i).codeTextArea.setCodeFoldingEnabled(foldingCheckBox.isSelected());
-            mainApp.codeAreaPanes.get(i).setLineNumbersEnabled(lineNumbersCheckBox.isSelected());
-            mainApp.codeAreaPanes.get(i).codeTextArea.setLineWrap(lineWrapCheckBox.isSelected());
-            
-        }
-        mainApp.properties.setProperty("lookAndFeel", newLAF);
-        mainApp.properties.setProperty("editorTheme", editorTheme);
-        mainApp.properties.setBooleanProperty("BracketMatching", bracketMatchingCheckBox.isSelected());
-        mainApp.properties.setBooleanProperty("HighlightCurrentLine", currentLineHighlightCheckBox.isSelected());
-        mainApp.properties.setBooleanProperty("CodeFolding", foldingCheckBox.isSelected());
-        mainApp.properties.setBooleanProperty("LineNumbers", lineNumbersCheckBox.isSelected());
-        mainApp.properties.setBooleanProperty("LineWrap", lineWrapCheckBox.isSelected());
-        mainApp.properties.setIntegerProperty("fontSize", font.getSize());
-        mainApp.properties.setProperty("FontFamily", font.getName());
+        // Open editors follow the settings, so committing them updates every tab at once
+        Font font = (Font) UIManager.get("AppFont");
+        mainApp.settings.batch()
+            .set(Settings.LOOK_AND_FEEL, newLAF)
+            .set(Settings.EDITOR_THEME, editorTheme)
+            .set(Settings.BRACKET_MATCHING, bracketMatchingCheckBox.isSelected())
+            .set(Settings.HIGHLIGHT_CURRENT_LINE, currentLineHighlightCheckBox.isSelected())
+            .set(Settings.CODE_FOLDING, foldingCheckBox.isSelected())
+            .set(Settings.LINE_NUMBERS, lineNumbersCheckBox.isSelected())
+            .set(Settings.LINE_WRAP, lineWrapCheckBox.isSelected())
+            .set(Settings.FONT_SIZE, font.getSize())
+            .set(Settings.FONT_FAMILY, font.getName())
+            .commit();
         this.dispose();
     }
 }
\ No newline at end of file
@@ -2,22 +2,43 @@ package com.zam.menubar;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.swing.JMenu;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingWorker;
 import javax.swing.UIManager;
 import javax.swing.text.BadLocationException;
 
 import com.zam.components.editor.CodeTextArea;
+import com.zam.dialogboxes.FindDialog;
+import com.zam.dialogboxes.FindInProjectDialog;
+import com.zam.dialogboxes.NavigationResultsDialog;
 import com.zam.ui.App;
+import com.zam.utils.JavaSourceScanner;
+import com.zam.utils.JdkSourceLocator;
+import com.zam.utils.ReferenceIndex;
+import com.zam.utils.TextCodec;
 
 /**
  * Custom menu handler for the Edit menu in BitCode IDE.
  *
  * Responsibilities:
  * - Handling undo, redo, cut, copy, paste, and go-to-line operations.
+ * - Opening find/replace for the current file and for the whole project.
+ * - Navigating to definitions and usages through the project reference index.
  * - Integrating with the main application to perform actions on the current text area.
  *
  * Usage:
@@ -40,9 +61,20 @@ public class EditMenuHandler extends JMenu {
     private final JMenuItem cutItem = new JMenuItem("Cut");
     private final JMenuItem copyItem = new JMenuItem("Copy");
     private final JMenuItem pasteItem = new JMenuItem("Paste");
+    private final JMenuItem findItem = new JMenuItem("Find / Replace");
+    private final JMenuItem findInProjectItem = new JMenuItem("Find in Project");
     private final JMenuItem gotoItem = new JMenuItem("Go-to line");
+    private final JMenuItem definitionItem = new JMenuItem("Go to Definition");
+    private final JMenuItem usagesItem = new JMenuItem("Find Usages");
+
+    private static final int MAX_PREVIEW_ROWS = 1000;
 
     private final App mainApp;
+    private JdkSourceLocator jdkSources;
+    private String jdkSourcesPath;
+    private FindDialog findDialog;
+    private FindInProjectDialog findInProjectDialog;
+    public volatile ReferenceIndex referenceIndex;
 
     /**
      * Constructor for the EditMenuHandler.
@@ -63,7 +95,12 @@ public class EditMenuHandler extends JMenu {
         add(copyItem);
         add(pasteItem);
         addSeparator(); // Add a separator line
+        add(findItem);
+        add(findInProjectItem);
+        addSeparator(); // Add a separator line
         add(gotoItem);
+        add(definitionItem);
+        add(usagesItem);
 
         // Add action listeners and accelerators
         configureMenuItems();
@@ -93,9 +130,39 @@ public class EditMenuHandler extends JMenu {
         pasteItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_V, ActionEvent.CTRL_MASK));
         pasteItem.addActionListener(e -> mainApp.codeAreaPanes.get(App.currentTabIndex).codeTextArea.paste());
 
+        // Add an action listener to the "Find / Replace" menu item
+        findItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F, ActionEvent.CTRL_MASK));
+        findItem.addActionListener(e -> {
+            if (findDialog == null) {
+                findDialog = new FindDialog(mainApp);
+            }
+            findDialog.showDialog();
+        });
+
+        // Add an action listener to the "Find in Project" menu item
+        findInProjectItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F, ActionEvent.CTRL_MASK | ActionEvent.SHIFT_MASK));
+        findInProjectItem.addActionListener(e -> {
+            Path root = projectRoot();
+            if (root == null) {
+                return;
+            }
+            if (findInProjectDialog == null) {
+                findInProjectDialog = new FindInProjectDialog(mainApp);
+            }
+            findInProjectDialog.showDialog(root);
+        });
+
         // Add an action listener to the "GO-TO" menu item
         gotoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_G, ActionEvent.CTRL_MASK));
         gotoItem.addActionListener(e -> gotoLine());
+
+        // Add an action listener to the "Go to Definition" menu item
+        definitionItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F12, 0));
+        definitionItem.addActionListener(e -> goToDefinition());
+
+        // Add an action listener to the "Find Usages" menu item
+        usagesItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F12, ActionEvent.SHIFT_MASK));
+        usagesItem.addActionListener(e -> findUsages());
     }
 
     /**
@@ -140,6 +207,193 @@ public class EditMenuHandler extends JMenu {
             }
         }
     }
+
+    /**
+     * Jumps to the declaration of the identifier under the caret, searching the
+     * project first and the JDK sources second.
+     */
+    private void goToDefinition() {
+        String name = getCurrentCodePanel().getIdentifierAtCaret();
+        if (name.isEmpty()) {
+            UIManager.getLookAndFeel().provideErrorFeedback(getCurrentCodePanel().codeTextArea);
+            return;
+        }
+        queryIndex(index -> {
+            List<ReferenceIndex.Location> found = index.findDefinitions(name);
+            return found.isEmpty() ? findJdkDefinitions(name) : found;
+        }, found -> {
+            if (found.isEmpty()) {
+                JOptionPane.showMessageDialog(mainApp, "No definition found for " + name, "Go to Definition",
+                        JOptionPane.INFORMATION_MESSAGE);
+            } else if (found.size() == 1) {
+                openLocation(found.get(0));
+            } else {
+                showResults("Definitions of " + name, found);
+            }
+        });
+    }
+
+    /**
+     * Lists every occurrence of the identifier under the caret across the project.
+     */
+    private void findUsages() {
+        String name = getCurrentCodePanel().getIdentifierAtCaret();
+        if (name.isEmpty()) {
+            UIManager.getLookAndFeel().provideErrorFeedback(getCurrentCodePanel().codeTextArea);
+            return;
+        }
+        long[] elapsed = new long[1];
+        queryIndex(index -> {
+            long start = System.nanoTime();
+            List<ReferenceIndex.Location> found = index.findUsages(name);
+            elapsed[0] = (System.nanoTime() - start) / 1_000_000;
+            return found;
+        }, found -> showResults("Usages of " + name + " (" + found.size() + " in " + elapsed[0] + " ms)", found));
+    }
+
+    /**
+     * Runs a query against the reference index of the current project off the EDT,
+     * building or refreshing the index first when needed.
+     *
+     * @param query    The query to run on a background thread.
+     * @param onResult Receives the results on the EDT.
+     */
+    private void queryIndex(Function<ReferenceIndex, List<ReferenceIndex.Location>> query,
+                            Consumer<List<ReferenceIndex.Location>> onResult) {
+        Path root = projectRoot();
+        if (root == null) {
+            return;
+        }
+        mainApp.terminalArea.showProgressBar();
+        new SwingWorker<List<ReferenceIndex.Location>, Void>() {
+            @Override
+            protected List<ReferenceIndex.Location> doInBackground() throws IOException {
+                ReferenceIndex index = referenceIndex;
+                if (index == null || !index.getRoot().equals(root.toAbsolutePath().normalize())) {
+                    index = new ReferenceIndex(root);
+                    index.build();
+                    referenceIndex = index;
+                }
+                return query.apply(index);
+            }
+
+            @Override
+            protected void done() {
+                mainApp.terminalArea.hideProgressBar();
+                mainApp.fileMonitor.sync(); // watch the indexed project for outside changes
+                try {
+                    onResult.accept(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    mainApp.terminalArea.consolArea.append("Indexing failed: " + e.getCause() + "\n");
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Looks up a type name in the JDK sources. Runs off the EDT.
+     *
+     * @param name The simple type name.
+     * @return The declaring locations inside src.zip.
+     */
+    private List<ReferenceIndex.Location> findJdkDefinitions(String name) {
+        String jdkPath = mainApp.jdkPath;
+        if (jdkSources == null || !Objects.equals(jdkSourcesPath, jdkPath)) {
+            // The project's JDK can change
+            jdkSources = new JdkSourceLocator(jdkPath);
+            jdkSourcesPath = jdkPath;
+        }
+        List<ReferenceIndex.Location> found = new ArrayList<>();
+        for (Path source : jdkSources.findType(name)) {
+            int[] position = { 1, 1 };
+            try {
+                JavaSourceScanner.scan(TextCodec.readString(source), new JavaSourceScanner.Listener() {
+                    @Override
+                    public void identifier(String identifier, int line, int column) {
+                    }
+
+                    @Override
+                    public void declaration(String declared, char kind, int line, int column) {
+                        if (position[0] == 1 && kind == JavaSourceScanner.KIND_TYPE && declared.equals(name)) {
+                            position[0] = line;
+                            position[1] = column;
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                continue;
+            }
+            found.add(new ReferenceIndex.Location(source, position[0], position[1], JavaSourceScanner.KIND_TYPE));
+        }
+        return found;
+    }
+
+    /**
+     * Shows results in a dialog with a one-line preview of each location.
+     *
+     * @param title   The dialog title.
+     * @param results The locations to list.
+     */
+    private void showResults(String title, List<ReferenceIndex.Location> results) {
+        new SwingWorker<List<String>, Void>() {
+            @Override
+            protected List<String> doInBackground() {
+                Map<Path, List<String>> linesByFile = new HashMap<>();
+                List<String> rows = new ArrayList<>(results.size());
+                for (int i = 0; i < results.size(); i++) {
+                    ReferenceIndex.Location location = results.get(i);
+                    String preview = "";
+                    if (i < MAX_PREVIEW_ROWS) {
+                        List<String> lines = linesByFile.computeIfAbsent(location.file, file -> {
+                            try {
+                                // In the file's own charset, as the editor would show it
+                                return TextCodec.readString(file).lines().collect(Collectors.toList());
+                            } catch (IOException e) {
+                                return new ArrayList<>();
+                            }
+                        });
+                        if (location.line - 1 < lines.size()) {
+                            preview = lines.get(location.line - 1).trim();
+                        }
+                    }
+                    rows.add(location + "    " + preview);
+                }
+                return rows;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    new NavigationResultsDialog<>(mainApp, title, get(), results,
+                            EditMenuHandler.this::openLocation).setVisible(true);
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    private void openLocation(ReferenceIndex.Location location) {
+        mainApp.menuBar.fileMenu.openLocation(location.file, location.line, location.column);
+    }
+
+    /**
+     * Returns the folder the project-wide actions work on: the folder open in
+     * the explorer. Without one the user is asked to open a folder; a file's
+     * own folder is not used, since it may be a home folder that would be
+     * indexed as a whole.
+     *
+     * @return The project root, or null if no folder is open.
+     */
+    private Path projectRoot() {
+        Path root = mainApp.explorer.getRoot();
+        if (root == null) {
+            JOptionPane.showMessageDialog(mainApp, "Open a folder first.", "No Project",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }
+        return root;
+    }
+
     private CodeTextArea getCurrentCodePanel(){
         return mainApp.codeAreaPanes.get(App.currentTabIndex);
     }
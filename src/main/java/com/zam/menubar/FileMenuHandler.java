@@ -2,24 +2,45 @@ package com.zam.menubar;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.JFileChooser;
 import javax.swing.JMenu;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
 
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 
+import com.zam.components.editor.CodeTextArea;
+import com.zam.components.editor.DocumentSnapshot;
+import com.zam.components.editor.EditorTabPane;
+import com.zam.dialogboxes.QuickOpenDialog;
 import com.zam.ui.App;
+import com.zam.utils.FileSaver;
+import com.zam.utils.LargeFileLoader;
+import com.zam.utils.ReferenceIndex;
+import com.zam.utils.Settings;
+import com.zam.utils.TextFormat;
 
 /**
  * Custom menu handler for the File menu in BitCode IDE.
  *
  * Responsibilities:
- * - Handling new, open, save, save as, and exit operations.
+ * - Handling new, open, open folder, go to file, save, save as, and exit operations.
  * - Integrating with the main application to perform actions on the current text area.
  *
  * Usage:
@@ -39,12 +60,21 @@ public class FileMenuHandler extends JMenu {
 
     private final JMenuItem newFileItem = new JMenuItem("New");
     private final JMenuItem openFileItem = new JMenuItem("Open");
+    private final JMenuItem openFolderItem = new JMenuItem("Open Folder");
+    private final JMenuItem goToFileItem = new JMenuItem("Go to File");
     private final JMenuItem saveFileItem = new JMenuItem("Save");
     private final JMenuItem saveAsFileItem = new JMenuItem("Save As");
     private final JMenuItem exitProgramItem = new JMenuItem("Exit");
 
     private final App mainApp;
     public int untitledCount = 0;
+    public final FileSaver fileSaver;
+    private final ExecutorService indexUpdater = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "reference-index-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private QuickOpenDialog quickOpenDialog;
 
     /**
      * Constructor for the FileMenuHandler.
@@ -56,9 +86,12 @@ public class FileMenuHandler extends JMenu {
         super(title);
 
         this.mainApp = parent;
+        this.fileSaver = new FileSaver(FileSaver.Fsync.fromName(mainApp.settings.get(Settings.SAVE_FSYNC)));
         // Add items to the File tab
         add(newFileItem);
         add(openFileItem);
+        add(openFolderItem);
+        add(goToFileItem);
         add(saveFileItem);
         add(saveAsFileItem);
         addSeparator(); // Add a separator line
@@ -80,6 +113,19 @@ public class FileMenuHandler extends JMenu {
         openFileItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_O, ActionEvent.CTRL_MASK));
         openFileItem.addActionListener(e -> openFile());
 
+        // Add an action listener to the "Open Folder" menu item
+        openFolderItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_O, ActionEvent.CTRL_MASK | ActionEvent.SHIFT_MASK));
+        openFolderItem.addActionListener(e -> openFolder());
+
+        // Add an action listener to the "Go to File" menu item
+        goToFileItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_P, ActionEvent.CTRL_MASK));
+        goToFileItem.addActionListener(e -> {
+            if (quickOpenDialog == null) {
+                quickOpenDialog = new QuickOpenDialog(mainApp);
+            }
+            quickOpenDialog.showDialog();
+        });
+
         // Add an action listener to the "Save" menu item
         saveFileItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S, ActionEvent.CTRL_MASK));
         saveFileItem.addActionListener(e -> saveFile(mainApp.codeAreaPanes.get(App.currentTabIndex).codeTextArea));
@@ -90,7 +136,10 @@ public class FileMenuHandler extends JMenu {
 
         // Add an action listener to the "Exit" menu item
         exitProgramItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F4, ActionEvent.ALT_MASK));
-        exitProgramItem.addActionListener(e -> System.exit(0));
+        exitProgramItem.addActionListener(e -> {
+            mainApp.saveStateOnExit();
+            System.exit(0);
+        });
     }
 
     /**
@@ -135,34 +184,110 @@ public class FileMenuHandler extends JMenu {
         }
     }
 
+    /**
+     * Opens a folder as the project and shows it in the project explorer.
+     */
+    public void openFolder() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Open Folder");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showOpenDialog(mainApp) == JFileChooser.APPROVE_OPTION) {
+            mainApp.explorer.setRoot(fileChooser.getSelectedFile().toPath());
+        }
+    }
+
+    /**
+     * Opens a file, or selects its tab if it is already open.
+     *
+     * @param file The file to open.
+     */
+    public void openPath(Path file) {
+        File target = file.toFile().getAbsoluteFile();
+        for (int i = 0; i < mainApp.tabbedEditorPane.getTabCount(); i++) {
+            String tooltip = mainApp.tabbedEditorPane.getToolTipTextAt(i);
+            if (tooltip != null && new File(tooltip).getAbsoluteFile().equals(target)) {
+                mainApp.tabbedEditorPane.setSelectedIndex(i);
+                return;
+            }
+        }
+        App.currentTabFile = target;
+        loadFile();
+        mainApp.menuBar.isCompiled = false;
+    }
+
     /**
      * Loads the content of the currentTabFile into the editor.
      * Adds a new code area tab, sets its content, and adds syntax highlighting.
      */
     public void loadFile() {
+        long threshold = mainApp.settings.get(Settings.LARGE_FILE_THRESHOLD_MB) * 1024L * 1024L;
+        if (App.currentTabFile.length() > threshold) {
+            loadLargeFile();
+            return;
+        }
         try {
-            // Read all bytes from the currentTabFile
-            byte[] fileBytes = Files.readAllBytes(Paths.get(App.currentTabFile.getAbsolutePath()));
-
-            // Convert the byte array to a string (file content)
-            String fileContent = new String(fileBytes);
+            // Add a new code area tab and decode the file into it
+            mainApp.tabbedEditorPane.addFileTab(App.currentTabFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 
-            // Add a new code area tab with the file name, path, and content
-            mainApp.tabbedEditorPane.addCodeAreaTab(
-                App.currentTabFile.getName(),
-                App.jBlueImage,
-                App.currentTabFile.getPath(),
-                fileContent
-            );
+    /**
+     * Opens the currentTabFile in large-file mode: the tab is shown at once with
+     * the heavy editor features off, and the content is streamed in by a
+     * LargeFileLoader while the UI stays responsive.
+     */
+    private void loadLargeFile() {
+        mainApp.tabbedEditorPane.addCodeAreaTab(
+            App.currentTabFile.getName(),
+            App.jBlueImage,
+            App.currentTabFile.getPath(),
+            ""
+        );
+        CodeTextArea codePanel = mainApp.codeAreaPanes.get(App.currentTabIndex);
+        codePanel.setLargeFileMode(true);
+        mainApp.terminalArea.showProgress(0);
+        new LargeFileLoader(mainApp, codePanel, App.currentTabFile).execute();
+    }
 
-        } catch (IOException e) {
+    /**
+     * Opens a file, or selects its tab if it is already open, and moves the caret
+     * to the given position. Files inside the JDK source zip open read-only.
+     *
+     * @param file   The file to open.
+     * @param line   The 1-based line.
+     * @param column The 1-based column.
+     */
+    public void openLocation(Path file, int line, int column) {
+        if (file.getFileSystem() != FileSystems.getDefault()) {
+            try {
+                String content = Files.readString(file, StandardCharsets.UTF_8);
+                mainApp.tabbedEditorPane.addCodeAreaTab(file.getFileName().toString(), App.jBlueImage,
+                        "JDK: " + file.toString(), content);
+                mainApp.codeAreaPanes.get(App.currentTabIndex).codeTextArea.setEditable(false);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        } else {
+            openPath(file);
+        }
+        RSyntaxTextArea textArea = mainApp.codeAreaPanes.get(App.currentTabIndex).codeTextArea;
+        try {
+            int lineIndex = Math.max(0, Math.min(line, textArea.getLineCount()) - 1);
+            int offset = textArea.getLineStartOffset(lineIndex) + Math.max(0, column - 1);
+            textArea.setCaretPosition(Math.min(offset, textArea.getLineEndOffset(lineIndex)));
+        } catch (BadLocationException e) {
             e.printStackTrace();
         }
+        textArea.requestFocusInWindow();
     }
 
     /**
      * Saves the content of the codeTextArea to a new file selected by the user.
-     * The file is chosen using a file dialog.
+     * The file is chosen using a file dialog and written in the background;
+     * the tab's title and tooltip change to the new file.
      */
     public void saveAsFile(RSyntaxTextArea codeTextArea) {
         JFileChooser fileChooser = new JFileChooser();
@@ -170,21 +295,26 @@ public class FileMenuHandler extends JMenu {
         int result = fileChooser.showSaveDialog(mainApp);
         if (result == JFileChooser.APPROVE_OPTION) {
             App.currentTabFile = fileChooser.getSelectedFile();
-            String fileContent = codeTextArea.getText();
-            try {
-                Files.write(Paths.get(App.currentTabFile.getAbsolutePath()), fileContent.getBytes());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            mainApp.tabbedEditorPane.setTitleAt(App.currentTabIndex, App.currentTabFile.getName());
+            mainApp.tabbedEditorPane.setToolTipTextAt(App.currentTabIndex, App.currentTabFile.getPath());
+            writeInBackground(mainApp.codeAreaPanes.get(App.currentTabIndex), App.currentTabFile.toPath());
         }
     }
 
     /**
      * Saves the content of the codeTextArea to the currentTabFile.
      * If the current file is untitled, prompts the user to choose a location to save the file.
-     * Updates the editor's tab title, tooltip, and icon.
+     * Updates the editor's tab title and tooltip; the file is written in the
+     * background and the tab icon shows the save state.
+     *
+     * @return A future completed once the file is on disk, for callers such as
+     *         the compiler that need the saved file.
      */
-    public void saveFile(RSyntaxTextArea codeTextArea) {
+    public CompletableFuture<Void> saveFile(RSyntaxTextArea codeTextArea) {
+        if (!codeTextArea.isEditable()) {
+            // Read-only tabs such as JDK sources are never written back
+            return CompletableFuture.completedFuture(null);
+        }
         String currentFileName = null, currentFileLocation = null;
         try {
             currentFileName = App.currentTabFile.getName();
@@ -202,22 +332,95 @@ public class FileMenuHandler extends JMenu {
                 App.currentTabFile = fileChooser.getSelectedFile();
                 System.out.println("CurrentFile: " + App.currentTabFile);
                 currentFileName = App.currentTabFile.getName();
-                currentFileLocation = App.currentTabFile.getParent();
+                currentFileLocation = App.currentTabFile.getPath();
             } else {
                 // User cancelled - return without saving
-                return;
+                return CompletableFuture.failedFuture(new CancellationException("Save cancelled"));
             }
         }
 
         // Save the file using the current file name and location
-        String fileContent = codeTextArea.getText();
-        try {
-            Files.write(App.currentTabFile.toPath(), fileContent.getBytes());
-            mainApp.tabbedEditorPane.setTitleAt(App.currentTabIndex, currentFileName);
-            mainApp.tabbedEditorPane.setToolTipTextAt(App.currentTabIndex, currentFileLocation);
-            mainApp.tabbedEditorPane.setIconAt(App.currentTabIndex, App.jBlueImage);
-        } catch (IOException e) {
-            e.printStackTrace();
+        mainApp.tabbedEditorPane.setTitleAt(App.currentTabIndex, currentFileName);
+        mainApp.tabbedEditorPane.setToolTipTextAt(App.currentTabIndex, currentFileLocation);
+        return writeInBackground(mainApp.codeAreaPanes.get(App.currentTabIndex), App.currentTabFile.toPath());
+    }
+
+    /**
+     * Queues a snapshot of a tab for writing and reflects the outcome in the
+     * tab icon. The tab is only shown as saved if it was not edited meanwhile.
+     * If the tab's charset cannot hold the text, the user is asked for another
+     * encoding and the save is tried again.
+     *
+     * @param codePanel The tab to save.
+     * @param target    The file to write.
+     * @return A future completed once the file is on disk.
+     */
+    private CompletableFuture<Void> writeInBackground(CodeTextArea codePanel, Path target) {
+        DocumentSnapshot snapshot = codePanel.snapshot();
+        TextFormat format = codePanel.getTextFormat();
+        mainApp.tabbedEditorPane.setSaveState(codePanel, EditorTabPane.SaveState.PENDING);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        fileSaver.save(target, snapshot.getText(), format).whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+            if (error instanceof CharacterCodingException) {
+                Charset charset = askForCharset(target, format.charset);
+                if (charset != null) {
+                    // UTF-16 files get a byte order mark, so they are recognized when opened again
+                    codePanel.setTextFormat(new TextFormat(charset, !charset.equals(StandardCharsets.UTF_8),
+                            format.lineSeparator));
+                    writeInBackground(codePanel, target).whenComplete((retried, retryError) -> {
+                        if (retryError != null) {
+                            result.completeExceptionally(retryError);
+                        } else {
+                            result.complete(null);
+                        }
+                    });
+                    return;
+                }
+            }
+            if (error != null) {
+                mainApp.tabbedEditorPane.setSaveState(codePanel, EditorTabPane.SaveState.FAILED);
+                mainApp.terminalArea.consolArea.append("Could not save " + target + ": " + error.getMessage() + "\n");
+                result.completeExceptionally(error);
+            } else {
+                mainApp.fileMonitor.markSaved(codePanel, snapshot);
+                if (codePanel.isCurrent(snapshot)) {
+                    mainApp.tabbedEditorPane.setSaveState(codePanel, EditorTabPane.SaveState.SAVED);
+                    mainApp.autosave.markSaved(codePanel);
+                }
+                updateReferenceIndex(target, snapshot.getText());
+                result.complete(null);
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Asks for an encoding that can hold every character of a file.
+     *
+     * @param target  The file being saved.
+     * @param current The charset that failed.
+     * @return The chosen charset, or null if the user cancelled.
+     */
+    private Charset askForCharset(Path target, Charset current) {
+        Charset[] choices = { StandardCharsets.UTF_8, StandardCharsets.UTF_16LE, StandardCharsets.UTF_16BE };
+        Object choice = JOptionPane.showInputDialog(mainApp,
+                target.getFileName() + " has characters that " + current.name() + " cannot store.\n"
+                        + "Choose the encoding to save it in:",
+                "Choose Encoding", JOptionPane.WARNING_MESSAGE, null, choices, choices[0]);
+        return (Charset) choice;
+    }
+
+    /**
+     * Re-indexes a saved file in the background if a reference index is loaded.
+     * Updates run one at a time, in the order of the saves.
+     *
+     * @param file The saved file.
+     * @param text The saved text.
+     */
+    private void updateReferenceIndex(Path file, CharSequence text) {
+        ReferenceIndex index = mainApp.menuBar.editMenu.referenceIndex;
+        if (index != null) {
+            indexUpdater.execute(() -> index.update(file, text));
         }
     }
 }
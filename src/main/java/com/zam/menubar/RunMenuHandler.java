@@ -3,27 +3,40 @@ package com.zam.menubar;
 import java.awt.event.KeyEvent;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JMenu;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JTextPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 
 import com.zam.components.terminal.Terminal;
 import com.zam.ui.App;
 import com.zam.utils.CompileFile;
+import com.zam.utils.JdkDiscovery;
 import com.zam.utils.RunFile;
+import com.zam.utils.Settings;
+import com.zam.utils.TextCodec;
 
 /**
  * Custom menu handler for the Run menu in BitCode IDE.
  *
  * Responsibilities:
  * - Handling compile and run operations.
+ * - Toggling the fast start flags for compiles and runs (Settings.FAST_START).
+ * - Picking the JDK for the open project, or for files outside a project.
  * - Integrating with the main application to perform actions on the current text area and terminal.
  *
  * Usage:
@@ -43,6 +56,8 @@ public class RunMenuHandler extends JMenu {
 
     private final JMenuItem compileItem = new JMenuItem("Compile");
     private final JMenuItem runItem = new JMenuItem("Run");
+    private final JCheckBoxMenuItem fastStartItem = new JCheckBoxMenuItem("Fast Start");
+    private final JMenuItem selectJdkItem = new JMenuItem("Select JDK...");
 
     private final App mainApp;
     public RunFile runner;
@@ -60,6 +75,9 @@ public class RunMenuHandler extends JMenu {
         // Add items to the Run tab
         add(compileItem);
         add(runItem);
+        addSeparator();
+        add(fastStartItem);
+        add(selectJdkItem);
 
         // Add action listeners and accelerators
         configureMenuItems();
@@ -76,6 +94,57 @@ public class RunMenuHandler extends JMenu {
         // Add an action listener to the "Run" menu item
         runItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F6, 0));
         runItem.addActionListener(e -> runCode());
+
+        // Startup-oriented JVM flags; long-running programs are faster without them
+        fastStartItem.setToolTipText("Start javac and programs sooner; turn off for long computations");
+        fastStartItem.setSelected(mainApp.settings.get(Settings.FAST_START));
+        fastStartItem.addActionListener(e -> mainApp.settings.set(Settings.FAST_START, fastStartItem.isSelected()));
+
+        selectJdkItem.addActionListener(e -> selectJdk());
+    }
+
+    /**
+     * Lists the JDKs on this machine, found in the background, and lets the
+     * user pick the one for the open project.
+     */
+    private void selectJdk() {
+        selectJdkItem.setEnabled(false);
+        new SwingWorker<List<JdkDiscovery.Jdk>, Void>() {
+            @Override
+            protected List<JdkDiscovery.Jdk> doInBackground() {
+                return JdkDiscovery.getSharedInstance().find();
+            }
+
+            @Override
+            protected void done() {
+                selectJdkItem.setEnabled(true);
+                List<JdkDiscovery.Jdk> jdks;
+                try {
+                    jdks = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                    return;
+                }
+                JdkDiscovery.Jdk defaultJdk = JdkDiscovery.getSharedInstance().getDefault();
+                Object[] choices = new Object[jdks.size() + 1];
+                choices[0] = "Default" + (defaultJdk == null ? "" : " - " + defaultJdk);
+                Object current = choices[0];
+                for (int i = 0; i < jdks.size(); i++) {
+                    choices[i + 1] = jdks.get(i);
+                    if (jdks.get(i).binPath().equals(mainApp.jdkPath)) {
+                        current = jdks.get(i);
+                    }
+                }
+                String project = mainApp.settings.get(Settings.PROJECT_FOLDER);
+                Object choice = JOptionPane.showInputDialog(mainApp,
+                        project.isEmpty() ? "JDK for files outside a project:" : "JDK for " + project + ":",
+                        "Select JDK", JOptionPane.PLAIN_MESSAGE, null, choices, current);
+                if (choice != null) {
+                    mainApp.selectJdk(choice instanceof JdkDiscovery.Jdk ? (JdkDiscovery.Jdk) choice : null);
+                    mainApp.menuBar.isCompiled = false; // compiled by the previous JDK
+                }
+            }
+        }.execute();
     }
 
     /**
@@ -89,9 +158,8 @@ public class RunMenuHandler extends JMenu {
         File file = new File(fileLocation);
 
         try {
-            // Read all bytes from the file and convert them to a string
-            byte[] fileBytes = Files.readAllBytes(Paths.get(file.getAbsolutePath()));
-            String fileContent = new String(fileBytes);
+            // Decode the file, detecting its charset and line endings
+            String fileContent = TextCodec.readString(file.toPath());
 
             // Set the content of the JTextPane to the content of the file
             codeTextArea.setText(fileContent);
@@ -129,7 +197,18 @@ public class RunMenuHandler extends JMenu {
                 mainApp.menuBar.isCompiled = false;
                 return;
             }
-            mainApp.menuBar.fileMenu.saveFile(codeTextArea);
+            // Save on the EDT, then wait here until the file is on disk
+            try {
+                AtomicReference<CompletableFuture<Void>> saved = new AtomicReference<>();
+                SwingUtilities.invokeAndWait(() -> saved.set(mainApp.menuBar.fileMenu.saveFile(codeTextArea)));
+                saved.get().join();
+            } catch (InterruptedException | InvocationTargetException | CompletionException | CancellationException e) {
+                mainApp.terminalArea.consolArea.append("NOT COMPILED: the file could not be saved\n");
+                codeTextArea.setEnabled(true);
+                terminal.hideProgressBar();
+                mainApp.menuBar.isCompiled = false;
+                return;
+            }
             boolean isCompiled = compiler.compile();
             if (isCompiled) {
                 mainApp.menuBar.isCompiled = true;
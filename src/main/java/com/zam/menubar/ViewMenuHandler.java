@@ -1,6 +1,5 @@
 package com.zam.menubar;
 
-import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 
@@ -13,6 +12,7 @@ import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 
 import com.zam.dialogboxes.ThemeChanger;
 import com.zam.ui.App;
+import com.zam.utils.Settings;
 import com.zam.utils.UpdateChecker;
 
 /**
@@ -97,24 +97,17 @@ public class ViewMenuHandler extends JMenu {
     }
 
     /**
-     * Increases the font size of the code area by 2.
+     * Increases the font size of the code areas by 2.
      */
     public void increaseFontSize(RSyntaxTextArea codeTextArea) {
-        int fontSize = codeTextArea.getFont().getSize() + 2;
-        Font font = new Font(codeTextArea.getFont().getName(), Font.PLAIN, fontSize);
-        codeTextArea.setFont(font);
-        mainApp.properties.setIntegerProperty("fontSize", fontSize);
+        mainApp.settings.set(Settings.FONT_SIZE, codeTextArea.getFont().getSize() + 2);
     }
 
     /**
-     * Decreases the font size of the code area by 2, with a minimum font size of 6.
+     * Decreases the font size of the code areas by 2, with a minimum font size of 6.
      */
     public void decreaseFontSize(RSyntaxTextArea codeTextArea) {
-        int newSize = Math.max(6, codeTextArea.getFont().getSize() - 2);
-        Font font = new Font(codeTextArea.getFont().getName(), Font.PLAIN, newSize);
-        codeTextArea.setFont(font);
-        codeTextArea.setFont(font);
-        mainApp.properties.setIntegerProperty("fontSize", newSize);
+        mainApp.settings.set(Settings.FONT_SIZE, Math.max(6, codeTextArea.getFont().getSize() - 2));
     }
 
     /**
@@ -2,10 +2,13 @@ package com.zam.ui;
 
 import java.awt.Dimension;
 import java.awt.Font;
-import java.awt.Image;
 import java.awt.Toolkit;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.font.TextAttribute;
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,11 +23,18 @@ import javax.swing.UIManager;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
+import com.zam.components.editor.AutosaveManager;
 import com.zam.components.editor.CodeTextArea;
 import com.zam.components.editor.EditorTabPane;
+import com.zam.components.editor.FileChangeMonitor;
+import com.zam.components.explorer.ProjectExplorer;
 import com.zam.components.terminal.Terminal;
 import com.zam.menubar.MenuBar;
+import com.zam.utils.JdkDiscovery;
 import com.zam.utils.PropertiesHandler;
+import com.zam.utils.Settings;
+import com.zam.utils.StartupProfiler;
+import com.zam.utils.StartupTasks;
 
 /**
  * The main class representing the BitCode IDE application.
@@ -33,7 +43,7 @@ import com.zam.utils.PropertiesHandler;
  * Responsibilities:
  * - Initializing the application.
  * - Setting up the main frame, including size, font, and icon.
- * - Creating and managing the tabbed editor pane.
+ * - Creating and managing the tabbed editor pane and the project explorer.
  * - Handling terminal area for displaying errors and information.
  * - Managing menu bar functionality.
  * - Listening for changes in the selected tab.
@@ -53,6 +63,7 @@ public class App extends JFrame {
 
     // Private Componnets
     private final JSplitPane splitPane;
+    private final JSplitPane explorerSplitPane;
     
     // Public Componnets
     public final List<CodeTextArea> codeAreaPanes;
@@ -62,48 +73,71 @@ public class App extends JFrame {
     public Font font;
     // Public Resources
     public final Map<TextAttribute, Object> textAttributes;
-    public PropertiesHandler properties = new PropertiesHandler("./App.properties");
-    public static ImageIcon jBlueImage = new ImageIcon(App.class.getResource("/icons/JBlue.png"));
-    public static ImageIcon jRedImage = new ImageIcon(App.class.getResource("/icons/JRed.png"));
+    public PropertiesHandler properties = StartupTasks.properties();
+    public final Settings settings = StartupTasks.settings();
+    public static ImageIcon jBlueImage = StartupTasks.icon("/icons/JBlue.png");
+    public static ImageIcon jRedImage = StartupTasks.icon("/icons/JRed.png");
     public static int currentTabIndex = 0;
     public static File currentTabFile = new File("");
-    public final String jdkPath;
+    /** The bin directory of the JDK for the open project; null if there is no JDK. */
+    public volatile String jdkPath;
+    private final String defaultJdkPath;
+    public final AutosaveManager autosave;
+    public final FileChangeMonitor fileMonitor;
+    public final ProjectExplorer explorer;
     /**
      * Constructor for the BitCode IDE application.
      * @param jdkBinPath JDK path which will be used to run and compile the program
      * @param args Command-line arguments passed to the application.
      */
     public App(String jdkBinPath, String args) {
+        this.defaultJdkPath = jdkBinPath;
         this.jdkPath = jdkBinPath;
+        // Apply the look and feel before any component exists, so no component's UI is built twice
+        StartupProfiler.run("Look and feel", () -> switchLookAndFeel(settings.get(Settings.LOOK_AND_FEEL)));
+
         // Set up the main frame
         final Toolkit tk = Toolkit.getDefaultToolkit();
         final Dimension screenSize = tk.getScreenSize();
-        final Image icon = Toolkit.getDefaultToolkit().getImage(App.class.getResource("/icons/icon.png"));
-
-        setIconImage(icon);
+        // Phases that assign final fields are closed by hand; a lambda can't assign them
+        StartupProfiler.Phase phase = StartupProfiler.phase("Frame and font");
+        setIconImage(StartupTasks.icon("/icons/icon.png").getImage());
         setSize(new Dimension((int) (screenSize.width * SCREEN_WIDTH_RATIO),
                 (int) (screenSize.height * SCREEN_HEIGHT_RATIO)));
         textAttributes = new HashMap<>();
         textAttributes.put(TextAttribute.KERNING, TextAttribute.KERNING_ON);
-		textAttributes.put(TextAttribute.LIGATURES, TextAttribute.LIGATURES_ON);
-        font = new Font(this.properties.getProperty("FontFamily"), 0, this.properties.getIntegerProperty("fontSize"));
+        textAttributes.put(TextAttribute.LIGATURES, TextAttribute.LIGATURES_ON);
+        font = new Font(settings.get(Settings.FONT_FAMILY), 0, settings.get(Settings.FONT_SIZE));
         setFont(font);
         UIManager.put("AppFont", font);
-
+        phase.close();
+        // Subscribed before any tab, so tabs see the new font when they are notified
+        settings.subscribe(changed -> {
+            font = new Font(settings.get(Settings.FONT_FAMILY), 0, settings.get(Settings.FONT_SIZE));
+            setFont(font);
+            UIManager.put("AppFont", font);
+        }, Settings.FONT_FAMILY, Settings.FONT_SIZE);
+
+        phase = StartupProfiler.phase("Editor and explorer");
         codeAreaPanes = new ArrayList<>();
         tabbedEditorPane = new EditorTabPane(this);
+        autosave = new AutosaveManager(this);
+        fileMonitor = new FileChangeMonitor(this);
+        explorer = new ProjectExplorer(this);
+        phase.close();
 
         // Create the terminal area
-        terminalArea = new Terminal(this);
+        terminalArea = StartupProfiler.time("Terminal", () -> new Terminal(this));
         final JScrollPane scrollPane = new JScrollPane(terminalArea);
         scrollPane.setAutoscrolls(true);
 
-        // Create a split pane with the two text areas
-        splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, tabbedEditorPane, scrollPane);
+        // Create a split pane with the two text areas, and the project explorer beside the editor
+        explorerSplitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, explorer, tabbedEditorPane);
+        splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, explorerSplitPane, scrollPane);
         add(splitPane);
 
         // Create the menu bar
-        menuBar = new MenuBar(this);
+        menuBar = StartupProfiler.time("Menu bar", () -> new MenuBar(this));
         setJMenuBar(menuBar);
 
         // Listen for changes in the selected tab
@@ -124,20 +158,80 @@ public class App extends JFrame {
             }
         });
 
-        // Apply look and feel and document listener to codeArea and syntaxEditorKit
-        String themeName = this.properties.getProperty("lookAndFeel");
-        switchLookAndFeel(themeName);
+        // Compile and run with the JDK picked for the project, or for files outside a project
+        updateJdkPath();
+        settings.subscribe(changed -> updateJdkPath(), Settings.PROJECT_FOLDER, Settings.JDK_HOME, Settings.PROJECT_JDKS);
+
+        // Reopen the project folder of the last run
+        String projectFolder = settings.get(Settings.PROJECT_FOLDER);
+        if (!projectFolder.isEmpty() && Files.isDirectory(Paths.get(projectFolder))) {
+            StartupProfiler.run("Project folder", () -> explorer.setRoot(Paths.get(projectFolder)));
+        }
+
+        // Restore tabs with unsaved edits, then the other tabs of the last run, then open the requested file
+        int restoredTabs = StartupProfiler.time("Restore tabs",
+                () -> autosave.restore() + tabbedEditorPane.restoreSession());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                saveStateOnExit();
+            }
+        });
 
         // Create a new tab in initiation
-        if (args.length() > 0) {
-            currentTabFile = new File(args);
-            menuBar.fileMenu.loadFile();
-            terminalArea.setPreferredSize(new Dimension((int) (getWidth() - 50),
-                    (int) (screenSize.height * 0.22)));
+        StartupProfiler.run("First editor", () -> {
+            if (args.length() > 0) {
+                currentTabFile = new File(args);
+                menuBar.fileMenu.loadFile();
+                terminalArea.setPreferredSize(new Dimension((int) (getWidth() - 50),
+                        (int) (screenSize.height * 0.22)));
+            } else if (restoredTabs == 0) {
+                menuBar.fileMenu.newFile();
+            }
+        });
+        splitPane.setResizeWeight(0.65);
+    }
+
+    /**
+     * Saves the open tabs and settings and writes pending journal edits.
+     * Called before the application exits.
+     */
+    public void saveStateOnExit() {
+        tabbedEditorPane.saveSession();
+        properties.flush();
+        autosave.flushAndWait();
+    }
+
+    /**
+     * Picks the JDK for the open project, or for files outside a project if
+     * no project is open.
+     *
+     * @param jdk The JDK, or null to use the one found first.
+     */
+    public void selectJdk(JdkDiscovery.Jdk jdk) {
+        String home = jdk == null ? "" : jdk.home.toString();
+        String project = settings.get(Settings.PROJECT_FOLDER);
+        if (project.isEmpty()) {
+            settings.set(Settings.JDK_HOME, home);
         } else {
-            menuBar.fileMenu.newFile();
+            settings.setProjectJdk(project, home);
         }
-        splitPane.setResizeWeight(0.65);
+    }
+
+    /**
+     * Sets jdkPath from the JDK picked for the open project. A project with
+     * no JDK of its own uses the one picked for files outside a project;
+     * picking Default for a project, or a JDK that is gone, means the one
+     * found at startup.
+     */
+    public void updateJdkPath() {
+        String project = settings.get(Settings.PROJECT_FOLDER);
+        String picked = project.isEmpty() ? null : settings.getProjectJdk(project);
+        if (picked == null) {
+            picked = settings.get(Settings.JDK_HOME);
+        }
+        JdkDiscovery.Jdk jdk = picked.isEmpty() ? null : JdkDiscovery.read(Paths.get(picked), "picked");
+        jdkPath = jdk != null ? jdk.binPath() : defaultJdkPath;
     }
 
     /**
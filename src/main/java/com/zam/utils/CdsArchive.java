@@ -0,0 +1,131 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+
+/**
+ * Keeps the class data sharing (CDS) archive of the packaged IDE in step
+ * with the IDE's jar or exe.
+ *
+ * The launcher starts the JVM with -XX:SharedArchiveFile and
+ * -XX:+AutoCreateSharedArchive, which map the classes the IDE loaded at its
+ * last run instead of loading and verifying them again, and write the
+ * archive at exit when it is missing. The JVM does not rewrite an archive
+ * made for an older build of the IDE, though: it warns, runs without it,
+ * and keeps it, so every later start stays slow.
+ *
+ * Responsibilities:
+ * - Recording, in a stamp file next to the archive, which build and JVM the
+ *   archive is for.
+ * - Deleting the archive when the stamp no longer matches, so the next
+ *   launch writes a fresh one.
+ * - Creating the archive's folder, so the JVM can write the archive at exit.
+ *
+ * Usage:
+ * - Runs only when the launcher passes -Dbitcode.cds.archive with the same
+ *   path as -XX:SharedArchiveFile. StartupTasks calls check() in the
+ *   background; the launch it runs in is not slowed down.
+ *
+ * Example:
+ * ```
+ * java -XX:SharedArchiveFile=cds/BitCode.jsa -XX:+AutoCreateSharedArchive
+ *      -Dbitcode.cds.archive=cds/BitCode.jsa -jar BitCode.jar
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class CdsArchive {
+
+    public static final String ARCHIVE_PROPERTY = "bitcode.cds.archive";
+
+    /**
+     * What check did.
+     */
+    public enum Result {
+        /** The archive matches this build. */
+        CURRENT,
+        /** There was no archive; the JVM writes one at exit. */
+        CREATING,
+        /** The archive was for another build and was deleted. */
+        DELETED_STALE,
+        /** Not checked: no archive was configured, or the IDE runs from classes. */
+        SKIPPED
+    }
+
+    private CdsArchive() {
+    }
+
+    /**
+     * Checks the archive named by -Dbitcode.cds.archive against the jar or
+     * exe the IDE was started from.
+     *
+     * @return What was done.
+     */
+    public static Result check() {
+        String archive = System.getProperty(ARCHIVE_PROPERTY);
+        Path codeSource = codeSource();
+        if (archive == null || archive.isEmpty() || codeSource == null) {
+            return Result.SKIPPED;
+        }
+        return check(Paths.get(archive), codeSource);
+    }
+
+    /**
+     * Checks an archive against the file its classes were loaded from.
+     *
+     * @param archive    The archive file.
+     * @param codeSource The IDE's jar or exe.
+     * @return What was done.
+     */
+    static Result check(Path archive, Path codeSource) {
+        if (!Files.isRegularFile(codeSource)) {
+            return Result.SKIPPED; // running from a classes folder
+        }
+        Path stampFile = archive.resolveSibling(archive.getFileName() + ".stamp");
+        try {
+            String stamp = stamp(codeSource);
+            if (!Files.exists(archive)) {
+                // This run's exit writes the archive, for this build
+                Files.createDirectories(archive.toAbsolutePath().getParent());
+                Files.write(stampFile, stamp.getBytes(StandardCharsets.UTF_8));
+                return Result.CREATING;
+            }
+            if (Files.exists(stampFile)
+                    && new String(Files.readAllBytes(stampFile), StandardCharsets.UTF_8).equals(stamp)) {
+                return Result.CURRENT;
+            }
+            // HotSpot writes the archive read-only, which Windows will not delete
+            archive.toFile().setWritable(true);
+            Files.delete(archive);
+            return Result.DELETED_STALE;
+        } catch (IOException e) {
+            // A stale archive still mapped on Windows cannot be deleted; the next start tries again
+            System.out.println("Could not check the CDS archive " + archive + ": " + e.getMessage());
+            return Result.SKIPPED;
+        }
+    }
+
+    private static String stamp(Path codeSource) throws IOException {
+        return codeSource.toAbsolutePath() + "\n" + Files.size(codeSource) + "\n"
+                + Files.getLastModifiedTime(codeSource).toMillis() + "\n" + System.getProperty("java.vm.version");
+    }
+
+    private static Path codeSource() {
+        CodeSource source = CdsArchive.class.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            return null;
+        }
+        try {
+            return Paths.get(source.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
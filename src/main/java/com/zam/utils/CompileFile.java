@@ -6,6 +6,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.zam.ui.App;
 
@@ -14,6 +16,8 @@ import com.zam.ui.App;
  *
  * Responsibilities:
  * - Compiling Java source files.
+ * - Starting javac with its CDS archive and, if the FAST_START setting is
+ *   on, the fast start flags (see LaunchFlags).
  * - Redirecting compilation output to the terminal.
  *
  * Usage:
@@ -59,7 +63,10 @@ public class CompileFile {
 
             // Build the command to compile the Java file
             String javaFilePath = sourceJavaFile.getAbsolutePath();
-            String[] compilerArgs = { javacExecutablePath, javaFilePath };
+            List<String> compilerArgs = new ArrayList<>();
+            compilerArgs.add(javacExecutablePath);
+            compilerArgs.addAll(LaunchFlags.javac(mainApp.jdkPath, mainApp.settings.get(Settings.FAST_START)));
+            compilerArgs.add(javaFilePath);
 
             ProcessBuilder builder = new ProcessBuilder(compilerArgs);
             builder.redirectErrorStream(true);
@@ -0,0 +1,294 @@
+package com.zam.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only journal of the unsaved edits of one editor tab.
+ *
+ * Responsibilities:
+ * - Writing a base record with the tab's full text, then appending each
+ *   batch of edits as small insert and delete records.
+ * - Compacting by replacing the whole journal with a new base record.
+ * - Replaying a journal after a crash. A record cut short by the crash is
+ *   ignored, so replay yields the text as of the last complete batch.
+ *
+ * Record format: a type byte followed by its fields. Strings are stored as
+ * an int byte count followed by UTF-8 bytes.
+ * - `B` title, path, text: base text; always first.
+ * - `M` title, path: the tab was renamed or saved under a new path.
+ * - `I` offset, text: text inserted.
+ * - `D` offset, length: text removed.
+ *
+ * Usage:
+ * ```java
+ * EditJournal journal = new EditJournal(file);
+ * journal.writeBase("untitled 0", "untitled", snapshot.getText());
+ * journal.append(null, null, edits);
+ * EditJournal.Recovered tab = EditJournal.read(file);
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class EditJournal {
+
+    private static final byte BASE = 'B';
+    private static final byte META = 'M';
+    private static final byte INSERT = 'I';
+    private static final byte DELETE = 'D';
+    private static final int MAX_MERGED_INSERT = 4096;
+
+    private final Path file;
+    private volatile long size;
+
+    /**
+     * A single insert or delete. Consecutive edits are merged with mergeWith
+     * before they are written.
+     */
+    public static final class Edit {
+        public final int offset;
+        /** The inserted text, or null for a delete. */
+        public final String text;
+        /** The number of characters removed; 0 for an insert. */
+        public final int length;
+
+        private Edit(int offset, String text, int length) {
+            this.offset = offset;
+            this.text = text;
+            this.length = length;
+        }
+
+        public static Edit insert(int offset, String text) {
+            return new Edit(offset, text, 0);
+        }
+
+        public static Edit delete(int offset, int length) {
+            return new Edit(offset, null, length);
+        }
+
+        /**
+         * Combines this edit with the edit that directly followed it, when the
+         * two can be recorded as one, as happens when typing or backspacing.
+         *
+         * @param next The next edit.
+         * @return The combined edit, or null if they must stay separate.
+         */
+        public Edit mergeWith(Edit next) {
+            if (text != null && text.length() > MAX_MERGED_INSERT) {
+                return null; // keep merging O(1); a large paste is not copied again per keystroke
+            }
+            if (text != null && next.text != null && next.offset == offset + text.length()) {
+                return insert(offset, text + next.text); // typing
+            }
+            if (text != null && next.text == null && next.offset + next.length == offset + text.length()
+                    && next.length <= text.length()) {
+                return insert(offset, text.substring(0, text.length() - next.length)); // backspacing typed text
+            }
+            if (text == null && next.text == null) {
+                if (next.offset == offset) {
+                    return delete(offset, length + next.length); // forward delete
+                }
+                if (next.offset + next.length == offset) {
+                    return delete(next.offset, length + next.length); // backspace
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The contents of a journal after replay.
+     */
+    public static final class Recovered {
+        public final String title;
+        public final String path;
+        public final String text;
+
+        Recovered(String title, String path, String text) {
+            this.title = title;
+            this.path = path;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Constructor for EditJournal.
+     *
+     * @param file The journal file; it is created on the first write.
+     */
+    public EditJournal(Path file) {
+        this.file = file;
+        try {
+            this.size = Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Returns the journal file.
+     *
+     * @return The path of the journal.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the journal size, used to decide when to compact.
+     *
+     * @return The size in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Replaces the journal with a single base record. Used for the first
+     * write and for compaction; the old journal stays valid until the new
+     * one has been renamed over it.
+     *
+     * @param title The tab title.
+     * @param path  The tab's file path, or "untitled".
+     * @param text  The full text of the tab.
+     * @throws IOException If the journal cannot be written.
+     */
+    public void writeBase(String title, String path, CharSequence text) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+            out.writeByte(BASE);
+            writeString(out, title);
+            writeString(out, path);
+            writeString(out, text);
+            out.flush();
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        size = Files.size(file);
+    }
+
+    /**
+     * Appends a batch of edits and a rename record if title or path changed.
+     *
+     * @param title The tab title, or null if unchanged.
+     * @param path  The tab path, or null if unchanged.
+     * @param edits The edits, in the order they were made.
+     * @throws IOException If the journal cannot be written.
+     */
+    public void append(String title, String path, List<Edit> edits) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 16 * 1024));
+            if (title != null && path != null) {
+                out.writeByte(META);
+                writeString(out, title);
+                writeString(out, path);
+            }
+            for (Edit edit : edits) {
+                if (edit.text != null) {
+                    out.writeByte(INSERT);
+                    out.writeInt(edit.offset);
+                    writeString(out, edit.text);
+                } else {
+                    out.writeByte(DELETE);
+                    out.writeInt(edit.offset);
+                    out.writeInt(edit.length);
+                }
+            }
+            out.flush();
+            channel.force(false);
+            size = channel.size();
+        }
+    }
+
+    /**
+     * Deletes the journal, typically after the tab was saved or closed.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("Error deleting journal " + file + ": " + e.getMessage());
+        }
+        size = 0;
+    }
+
+    /**
+     * Replays a journal.
+     *
+     * @param file The journal file.
+     * @return The recovered tab.
+     * @throws IOException If the file cannot be read or has no base record.
+     */
+    public static Recovered read(Path file) throws IOException {
+        long fileSize = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readByte() != BASE) {
+                throw new IOException("Not a journal: " + file);
+            }
+            String title = readString(in, fileSize);
+            String path = readString(in, fileSize);
+            PieceTable text = PieceTable.of(readString(in, fileSize));
+            try {
+                while (true) {
+                    byte type = in.readByte();
+                    if (type == META) {
+                        String newTitle = readString(in, fileSize);
+                        String newPath = readString(in, fileSize);
+                        title = newTitle;
+                        path = newPath;
+                    } else if (type == INSERT) {
+                        int offset = in.readInt();
+                        text = text.insert(offset, readString(in, fileSize));
+                    } else if (type == DELETE) {
+                        int offset = in.readInt();
+                        text = text.delete(offset, in.readInt());
+                    } else {
+                        break; // garbage after a torn write
+                    }
+                }
+            } catch (EOFException | IndexOutOfBoundsException e) {
+                // The last record was cut short; everything before it is kept
+            }
+            return new Recovered(title, path, text.toString());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, CharSequence text) throws IOException {
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string, treating a length beyond the end of the file as a torn
+     * record rather than allocating it.
+     */
+    private static String readString(DataInputStream in, long fileSize) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > fileSize) {
+            throw new EOFException();
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,594 @@
+package com.zam.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory index of the files and folders of a project, used by the
+ * project explorer and for finding files by name.
+ *
+ * Responsibilities:
+ * - Walking the project once and keeping every file's path, size, and
+ *   modification time, so the explorer and searches never touch the disk.
+ * - Listing folders on demand and caching the listing, for folders not
+ *   covered by the walk such as build output.
+ * - Applying changes reported by a FileWatcher to the affected entries and
+ *   folder listings only.
+ * - Fuzzy searching file paths: the query's characters must appear in order,
+ *   and matches in the file name, at word starts, and in runs rank higher.
+ *   Callers can boost files, such as recently opened ones. A search walks a
+ *   PathTrie, matching each folder once for all its files, and allocates
+ *   nothing per file, so 100k paths take a few milliseconds.
+ *
+ * Paths are kept relative to the root with `/` separators; the root itself
+ * is "". VCS, build, and index folders are listed but not searched.
+ *
+ * Usage:
+ * ```java
+ * FileIndex index = new FileIndex(projectRoot);
+ * index.build();                                            // off the EDT
+ * List<FileIndex.Entry> children = index.list("src/main");  // cached after the first call
+ * List<FileIndex.Entry> found = index.search("edtab", 50);  // EditorTabPane.java first
+ * Set<String> folders = index.refresh(changedPaths);        // from the file watcher
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class FileIndex {
+
+    /** Folders are listed before files, each group by name. */
+    private static final Comparator<Entry> LISTING_ORDER = Comparator
+            .comparing((Entry entry) -> !entry.directory)
+            .thenComparing(entry -> entry.name, String.CASE_INSENSITIVE_ORDER);
+
+    private final Path root;
+    /** Searchable files by relative path, guarded by this. */
+    private final Map<String, Entry> files = new HashMap<>();
+    /** Cached folder listings by relative path, guarded by this. */
+    private final Map<String, List<Entry>> listings = new HashMap<>();
+    /** The same files by folder, for searching; guarded by this. */
+    private PathTrie trie = new PathTrie();
+
+    /**
+     * A file or folder with the metadata read when it was listed.
+     */
+    public static final class Entry {
+        public final String name;
+        /** The path relative to the root with `/` separators; "" for the root. */
+        public final String relativePath;
+        public final boolean directory;
+        public final long size;
+        public final long modified;
+        /** The lower-cased path, compared by searches. */
+        final char[] lower;
+        /** Where the file name starts in the path. */
+        final int nameStart;
+
+        Entry(String relativePath, String name, boolean directory, long size, long modified) {
+            this.relativePath = relativePath;
+            this.name = name;
+            this.directory = directory;
+            this.size = size;
+            this.modified = modified;
+            this.lower = relativePath.toLowerCase(Locale.ROOT).toCharArray();
+            this.nameStart = relativePath.lastIndexOf('/') + 1;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Constructor for FileIndex.
+     *
+     * @param root The project folder.
+     */
+    public FileIndex(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the project folder.
+     *
+     * @return The absolute root.
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the absolute path of an entry.
+     *
+     * @param entry An entry of this index.
+     * @return The absolute path.
+     */
+    public Path resolve(Entry entry) {
+        return entry.relativePath.isEmpty() ? root : root.resolve(entry.relativePath);
+    }
+
+    /**
+     * Returns the entry for the root folder.
+     *
+     * @return The root entry.
+     */
+    public Entry rootEntry() {
+        Path name = root.getFileName();
+        return new Entry("", name == null ? root.toString() : name.toString(), true, 0, 0);
+    }
+
+    /**
+     * Walks the project and replaces the index. Runs off the EDT.
+     *
+     * @throws IOException If the root cannot be read.
+     */
+    public void build() throws IOException {
+        Map<String, Entry> foundFiles = new HashMap<>();
+        Map<String, List<Entry>> foundListings = new HashMap<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root)) {
+                    Entry entry = entry(dir, attrs);
+                    foundListings.computeIfAbsent(parentOf(entry.relativePath), key -> new ArrayList<>()).add(entry);
+                    if (ProjectSearcher.SKIPPED_DIRECTORIES.contains(entry.name)) {
+                        return FileVisitResult.SKIP_SUBTREE; // listed when opened in the explorer
+                    }
+                }
+                foundListings.computeIfAbsent(relativize(dir), key -> new ArrayList<>());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                Entry entry = entry(file, attrs);
+                foundListings.computeIfAbsent(parentOf(entry.relativePath), key -> new ArrayList<>()).add(entry);
+                if (!entry.directory) {
+                    foundFiles.put(entry.relativePath, entry);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        for (List<Entry> listing : foundListings.values()) {
+            listing.sort(LISTING_ORDER);
+        }
+        PathTrie foundTrie = new PathTrie();
+        for (Entry file : foundFiles.values()) {
+            foundTrie.add(file);
+        }
+        synchronized (this) {
+            files.clear();
+            files.putAll(foundFiles);
+            listings.clear();
+            listings.putAll(foundListings);
+            trie = foundTrie;
+        }
+    }
+
+    /**
+     * Returns the number of searchable files.
+     *
+     * @return The file count.
+     */
+    public synchronized int fileCount() {
+        return files.size();
+    }
+
+    /**
+     * Lists a folder, folders first. Reads the disk only the first time a
+     * folder outside the walk is listed.
+     *
+     * @param folder The relative folder path.
+     * @return The folder's entries.
+     * @throws IOException If the folder cannot be read.
+     */
+    public List<Entry> list(String folder) throws IOException {
+        synchronized (this) {
+            List<Entry> listing = listings.get(folder);
+            if (listing != null) {
+                return new ArrayList<>(listing);
+            }
+        }
+        List<Entry> listing = readListing(folder);
+        synchronized (this) {
+            listings.put(folder, listing);
+        }
+        return new ArrayList<>(listing);
+    }
+
+    /**
+     * Applies changes reported by a file watcher. Changed files are re-read,
+     * deleted ones dropped, and new or overflowed folders walked again.
+     * Runs off the EDT.
+     *
+     * @param changed Absolute paths of changed files and folders.
+     * @return The relative paths of the cached folders whose listing changed.
+     */
+    public Set<String> refresh(Set<Path> changed) {
+        Set<String> folders = new HashSet<>();
+        for (Path path : changed) {
+            Path absolute = path.toAbsolutePath().normalize();
+            if (!absolute.startsWith(root)) {
+                continue;
+            }
+            String relative = relativize(absolute);
+            BasicFileAttributes attrs = readAttributes(absolute);
+            boolean listed;
+            synchronized (this) {
+                listed = listings.containsKey(relative);
+            }
+            if (attrs != null && attrs.isDirectory()) {
+                // A known folder is listed again; a new one is walked, unless it is a build
+                // output or VCS folder, which is only listed when opened in the explorer
+                if (listed) {
+                    folders.addAll(relist(relative));
+                } else if (isSearchable(relative)) {
+                    folders.addAll(rescan(absolute));
+                }
+            } else {
+                synchronized (this) {
+                    if (files.remove(relative) != null) {
+                        trie.remove(relative);
+                    } else {
+                        removeUnder(relative); // perhaps a deleted folder
+                    }
+                    if (attrs != null && isSearchable(relative)) {
+                        putFile(entry(absolute, attrs));
+                    }
+                }
+            }
+            if (!relative.isEmpty()) {
+                String parent = parentOf(relative);
+                boolean cached;
+                synchronized (this) {
+                    cached = listings.containsKey(parent);
+                }
+                if (cached) { // folders never listed are read when opened
+                    folders.addAll(relist(parent));
+                }
+            }
+        }
+        return folders;
+    }
+
+    /**
+     * Finds files whose path contains the query's characters in order.
+     *
+     * @param query The text typed by the user; spaces are ignored.
+     * @param limit The most results to return.
+     * @return The best matches, best first.
+     */
+    public List<Entry> search(String query, int limit) {
+        return search(query, limit, Collections.emptyMap());
+    }
+
+    /**
+     * Finds files whose path contains the query's characters in order,
+     * adding a bonus to the score of some files.
+     *
+     * @param query   The text typed by the user; spaces are ignored.
+     * @param limit   The most results to return.
+     * @param bonuses Extra score by relative path, such as for recently opened files.
+     * @return The best matches, best first.
+     */
+    public synchronized List<Entry> search(String query, int limit, Map<String, Integer> bonuses) {
+        char[] pattern = query.replace(" ", "").toLowerCase(Locale.ROOT).replace('\\', '/').toCharArray();
+        if (pattern.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // Best results so far, kept sorted by score
+        int[] topScores = new int[limit];
+        Entry[] top = new Entry[limit];
+        int[] count = { 0 };
+        trie.match(pattern, candidate -> {
+            int score = score(candidate, pattern);
+            Integer bonus = bonuses.get(candidate.relativePath);
+            if (bonus != null) {
+                score += bonus;
+            }
+            int last = count[0] - 1;
+            if (count[0] == limit && !ranksHigher(score, candidate, topScores[last], top[last])) {
+                return;
+            }
+            int i = count[0] < limit ? count[0]++ : limit - 1;
+            while (i > 0 && ranksHigher(score, candidate, topScores[i - 1], top[i - 1])) {
+                topScores[i] = topScores[i - 1];
+                top[i] = top[i - 1];
+                i--;
+            }
+            topScores[i] = score;
+            top[i] = candidate;
+        });
+        List<Entry> results = new ArrayList<>(count[0]);
+        for (int i = 0; i < count[0]; i++) {
+            results.add(top[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Looks up an indexed file.
+     *
+     * @param file An absolute path.
+     * @return The file's entry, or null if it is not indexed.
+     */
+    public synchronized Entry find(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        return absolute.startsWith(root) ? files.get(relativize(absolute)) : null;
+    }
+
+    /**
+     * Scores a path against a lower-cased query, preferring a match inside
+     * the file name.
+     *
+     * @return The score, or Integer.MIN_VALUE if the path does not match.
+     */
+    static int score(Entry entry, char[] pattern) {
+        int inName = score(entry.lower, entry.relativePath, entry.nameStart, pattern);
+        if (inName != Integer.MIN_VALUE) {
+            return inName + 100 - entry.nameStart / 8;
+        }
+        return score(entry.lower, entry.relativePath, 0, pattern);
+    }
+
+    /**
+     * Scores the shortest window of text, from a start offset, that holds the
+     * pattern in order: the first window end found scanning forward, then
+     * the latest window start found scanning back from it.
+     */
+    private static int score(char[] text, String original, int from, char[] pattern) {
+        int j = 0;
+        int end = -1;
+        for (int i = from; i < text.length; i++) {
+            if (text[i] == pattern[j] && ++j == pattern.length) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            return Integer.MIN_VALUE;
+        }
+        int start = end;
+        j = pattern.length - 1;
+        for (int i = end; i >= from; i--) {
+            if (text[i] == pattern[j] && --j < 0) {
+                start = i;
+                break;
+            }
+        }
+        int score = 0;
+        int previous = -2;
+        j = 0;
+        for (int i = start; i <= end && j < pattern.length; i++) {
+            if (text[i] != pattern[j]) {
+                score -= 1; // gap
+                continue;
+            }
+            score += 16;
+            if (i == previous + 1) {
+                score += 12; // a run of matching characters
+            }
+            if (i == from || isWordStart(original, i)) {
+                score += 10;
+            }
+            previous = i;
+            j++;
+        }
+        return score - (text.length - from) / 16;
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        if (i == 0) {
+            return true;
+        }
+        char before = text.charAt(i - 1);
+        char at = text.charAt(i);
+        return before == '/' || before == '.' || before == '_' || before == '-' || before == ' '
+                || Character.isLowerCase(before) && Character.isUpperCase(at);
+    }
+
+    private static boolean ranksHigher(int score, Entry entry, int otherScore, Entry other) {
+        return score > otherScore || score == otherScore && entry.lower.length < other.lower.length;
+    }
+
+    /**
+     * Lists a cached folder again and brings its direct children up to date:
+     * files are re-read, vanished entries dropped, and new folders walked.
+     *
+     * @return The relative paths of cached folders that were listed again.
+     */
+    private Set<String> relist(String folder) {
+        Set<String> folders = new HashSet<>();
+        folders.add(folder);
+        List<Entry> listing;
+        try {
+            listing = readListing(folder);
+        } catch (IOException e) {
+            synchronized (this) {
+                removeUnder(folder);
+            }
+            return folders;
+        }
+        List<Entry> newFolders = new ArrayList<>();
+        synchronized (this) {
+            Set<String> present = new HashSet<>();
+            for (Entry entry : listing) {
+                present.add(entry.relativePath);
+            }
+            for (Entry old : listings.getOrDefault(folder, Collections.emptyList())) {
+                if (!present.contains(old.relativePath)) {
+                    removeUnder(old.relativePath);
+                }
+            }
+            boolean searched = isSearchable(folder);
+            for (Entry entry : listing) {
+                if (!entry.directory && searched) {
+                    putFile(entry);
+                } else if (entry.directory && searched && isSearchable(entry.relativePath)
+                        && !listings.containsKey(entry.relativePath)) {
+                    newFolders.add(entry);
+                }
+            }
+            listings.put(folder, listing);
+        }
+        for (Entry created : newFolders) {
+            folders.addAll(rescan(resolve(created)));
+        }
+        return folders;
+    }
+
+    /**
+     * Walks a folder that appeared or overflowed and adds what is in it.
+     *
+     * @return The relative paths of cached folders that were listed again.
+     */
+    private Set<String> rescan(Path folder) {
+        FileIndex part = new FileIndex(root);
+        Set<String> folders = new HashSet<>();
+        try {
+            part.walkInto(folder);
+        } catch (IOException e) {
+            return folders;
+        }
+        synchronized (this) {
+            for (Entry file : part.files.values()) {
+                putFile(file);
+            }
+            for (Map.Entry<String, List<Entry>> listing : part.listings.entrySet()) {
+                if (listings.containsKey(listing.getKey())) {
+                    folders.add(listing.getKey());
+                }
+                listings.put(listing.getKey(), listing.getValue());
+            }
+        }
+        return folders;
+    }
+
+    /**
+     * Walks one folder of the project into this (empty) index.
+     */
+    private void walkInto(Path folder) throws IOException {
+        FileIndex walked = new FileIndex(folder);
+        walked.build();
+        String prefix = relativize(folder);
+        for (Entry file : walked.files.values()) {
+            Entry moved = moveTo(prefix, file);
+            files.put(moved.relativePath, moved);
+        }
+        for (Map.Entry<String, List<Entry>> listing : walked.listings.entrySet()) {
+            List<Entry> moved = new ArrayList<>(listing.getValue().size());
+            for (Entry entry : listing.getValue()) {
+                moved.add(moveTo(prefix, entry));
+            }
+            listings.put(join(prefix, listing.getKey()), moved);
+        }
+    }
+
+    private static Entry moveTo(String prefix, Entry entry) {
+        return new Entry(join(prefix, entry.relativePath), entry.name, entry.directory, entry.size, entry.modified);
+    }
+
+    private static String join(String prefix, String relative) {
+        return prefix.isEmpty() ? relative : relative.isEmpty() ? prefix : prefix + "/" + relative;
+    }
+
+    /**
+     * Drops a path and everything below it. Caller holds the lock.
+     */
+    private void removeUnder(String relative) {
+        if (files.remove(relative) != null) {
+            trie.remove(relative);
+        }
+        for (Entry removed : trie.removeFolder(relative)) {
+            files.remove(removed.relativePath);
+        }
+        String prefix = relative.isEmpty() ? "" : relative + "/";
+        for (Iterator<String> it = listings.keySet().iterator(); it.hasNext();) {
+            String folder = it.next();
+            if (folder.equals(relative) || folder.startsWith(prefix)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces a searchable file. Caller holds the lock.
+     */
+    private void putFile(Entry file) {
+        files.put(file.relativePath, file);
+        trie.add(file);
+    }
+
+    private List<Entry> readListing(String folder) throws IOException {
+        List<Entry> listing = new ArrayList<>();
+        Path dir = folder.isEmpty() ? root : root.resolve(folder);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                BasicFileAttributes attrs = readAttributes(child);
+                if (attrs != null) {
+                    listing.add(entry(child, attrs));
+                }
+            }
+        }
+        listing.sort(LISTING_ORDER);
+        return listing;
+    }
+
+    private Entry entry(Path path, BasicFileAttributes attrs) {
+        Path name = path.getFileName();
+        return new Entry(relativize(path), name == null ? path.toString() : name.toString(),
+                attrs.isDirectory(), attrs.size(), attrs.lastModifiedTime().toMillis());
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null; // deleted
+        }
+    }
+
+    private String relativize(Path path) {
+        String relative = root.relativize(path.toAbsolutePath().normalize()).toString();
+        return File.separatorChar == '/' ? relative : relative.replace(File.separatorChar, '/');
+    }
+
+    private static String parentOf(String relative) {
+        int slash = relative.lastIndexOf('/');
+        return slash < 0 ? "" : relative.substring(0, slash);
+    }
+
+    private static boolean isSearchable(String relative) {
+        for (String part : relative.split("/")) {
+            if (ProjectSearcher.SKIPPED_DIRECTORIES.contains(part)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,270 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Write-behind queue that saves files off the EDT.
+ *
+ * Responsibilities:
+ * - Writing each save to a temporary file next to the target, forcing it to
+ *   disk according to the fsync policy, and atomically renaming it over the
+ *   target, so a crash never leaves a truncated file. The temporary file
+ *   gets the target's permissions and owner first.
+ * - Coalescing saves of the same file: if a file is saved again before its
+ *   earlier save was written, only the newest text is written and every
+ *   caller is notified when it lands.
+ * - Draining the queues of all savers before the JVM exits, from one
+ *   shutdown hook.
+ *
+ * Usage:
+ * ```java
+ * FileSaver saver = new FileSaver(FileSaver.Fsync.ALWAYS);
+ * saver.save(path, codePanel.snapshot().getText(), codePanel.getTextFormat())
+ *      .whenComplete((ignored, error) -> ...);
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class FileSaver {
+
+    /** Longest time the JVM waits at exit for queued saves. */
+    private static final long EXIT_TIMEOUT_MILLIS = 5000;
+
+    /** Every saver, drained by one shutdown hook; weak, so a saver can still be collected. */
+    private static final Set<FileSaver> SAVERS = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<FileSaver, Boolean>()));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(FileSaver::drainAll, "file-saver-drain"));
+    }
+
+    /**
+     * When written data is forced to the storage device.
+     */
+    public enum Fsync {
+        /** Force the file and its folder before the rename; survives power loss. */
+        ALWAYS,
+        /** Leave flushing to the operating system; faster on network drives. */
+        NEVER;
+
+        /**
+         * Parses a policy name, falling back to ALWAYS.
+         *
+         * @param name The policy name, for example from App.properties.
+         * @return The policy.
+         */
+        public static Fsync fromName(String name) {
+            return name != null && name.trim().toUpperCase(Locale.ROOT).equals("NEVER") ? NEVER : ALWAYS;
+        }
+    }
+
+    /**
+     * The newest unwritten text for one file and everyone waiting for it.
+     */
+    private static final class Pending {
+        CharSequence text;
+        TextFormat format;
+        final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+    }
+
+    private final Fsync fsync;
+    private final Map<Path, Pending> queue = new LinkedHashMap<>();
+    private boolean writing = false;
+    private Thread worker;
+
+    /**
+     * Constructor for FileSaver.
+     *
+     * @param fsync The fsync policy.
+     */
+    public FileSaver(Fsync fsync) {
+        this.fsync = fsync;
+        SAVERS.add(this);
+    }
+
+    /**
+     * Queues a save. The text must not change afterwards; pass a snapshot.
+     *
+     * @param target The file to write.
+     * @param text   The content to write.
+     * @param format The charset, BOM and line endings to write.
+     * @return A future completed when this text, or newer text for the same
+     *         file, is on disk; completed exceptionally if the write failed.
+     */
+    public CompletableFuture<Void> save(Path target, CharSequence text, TextFormat format) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Path key = target.toAbsolutePath().normalize();
+        synchronized (queue) {
+            Pending pending = queue.computeIfAbsent(key, k -> new Pending());
+            pending.text = text; // an earlier unwritten text for this file is superseded
+            pending.format = format;
+            pending.waiters.add(future);
+            if (worker == null) {
+                worker = new Thread(this::drain, "file-saver");
+                worker.setDaemon(true);
+                worker.start();
+            }
+            queue.notifyAll();
+        }
+        return future;
+    }
+
+    /**
+     * Waits until every queued save has been written.
+     *
+     * @param timeoutMillis The longest time to wait.
+     * @return true if the queue drained in time.
+     */
+    public boolean awaitIdle(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (queue) {
+            while (!queue.isEmpty() || writing) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    queue.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits at exit, up to EXIT_TIMEOUT_MILLIS in total, for every saver's
+     * queued saves.
+     */
+    private static void drainAll() {
+        List<FileSaver> savers;
+        synchronized (SAVERS) {
+            savers = new ArrayList<>(SAVERS);
+        }
+        long deadline = System.currentTimeMillis() + EXIT_TIMEOUT_MILLIS;
+        for (FileSaver saver : savers) {
+            saver.awaitIdle(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Worker loop: writes queued files one at a time, oldest first.
+     */
+    private void drain() {
+        while (true) {
+            Path target;
+            Pending pending;
+            synchronized (queue) {
+                writing = false;
+                queue.notifyAll();
+                while (queue.isEmpty()) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                Map.Entry<Path, Pending> next = queue.entrySet().iterator().next();
+                target = next.getKey();
+                pending = next.getValue();
+                queue.remove(target);
+                writing = true;
+            }
+            try {
+                writeAtomically(target, pending.text, pending.format, fsync);
+                pending.waiters.forEach(waiter -> waiter.complete(null));
+            } catch (IOException | RuntimeException e) {
+                pending.waiters.forEach(waiter -> waiter.completeExceptionally(e));
+            }
+        }
+    }
+
+    /**
+     * Writes text to a temporary file in the target's folder and renames it
+     * over the target.
+     *
+     * @param target  The file to replace.
+     * @param text    The content.
+     * @param format  The charset, BOM and line endings to encode with.
+     * @param fsync   Whether to force data to disk before the rename.
+     * @throws IOException If writing or renaming fails; the target is untouched.
+     */
+    static void writeAtomically(Path target, CharSequence text, TextFormat format, Fsync fsync) throws IOException {
+        if (Files.isSymbolicLink(target)) {
+            target = target.toRealPath(); // replace the linked file, not the link
+        }
+        Path folder = target.getParent();
+        Path temp = folder.resolve("." + target.getFileName() + ".saving");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                copyPermissions(target, temp);
+                // Encoded in blocks so the text is never materialized as one String
+                TextCodec.write(text, format, channel);
+                if (fsync == Fsync.ALWAYS) {
+                    channel.force(true);
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (fsync == Fsync.ALWAYS) {
+            // Persist the rename itself; not every platform can open a folder
+            try (FileChannel directory = FileChannel.open(folder, StandardOpenOption.READ)) {
+                directory.force(true);
+            } catch (IOException e) {
+                // The file data is already on disk
+            }
+        }
+    }
+
+    /**
+     * Gives the temporary file the target's permissions, owner and group, so
+     * the rename does not reset them to the defaults of a new file. Without
+     * POSIX attributes, as on Windows, the new file inherits the folder's
+     * permissions anyway. An owner or group the user cannot assign is left
+     * as it is.
+     */
+    private static void copyPermissions(Path target, Path temp) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (view == null || !Files.exists(target)) {
+            return;
+        }
+        PosixFileAttributes attributes = view.readAttributes();
+        PosixFileAttributeView tempView = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+        tempView.setPermissions(attributes.permissions());
+        try {
+            tempView.setGroup(attributes.group());
+            tempView.setOwner(attributes.owner());
+        } catch (IOException e) {
+            // Only root may give files away; the saved file then belongs to the user
+        }
+    }
+}
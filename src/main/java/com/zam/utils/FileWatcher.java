@@ -0,0 +1,287 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches folders for changes made outside the editor with one WatchService
+ * and one thread, however many folders are watched.
+ *
+ * Responsibilities:
+ * - Watching single folders (those of open files) and whole trees (the
+ *   project), registering folders created inside a tree as they appear and
+ *   skipping VCS, build, and index folders.
+ * - Debouncing: changes are collected until the file system has been quiet
+ *   for DEBOUNCE_MS, or for at most MAX_DELAY_MS during a long storm such as
+ *   a checkout, and then reported once as a set of paths.
+ * - Reporting a folder path when events for it were lost (overflow), so the
+ *   listener can rescan it.
+ *
+ * Usage:
+ * ```java
+ * FileWatcher watcher = new FileWatcher(changed -> ...);   // called on the watcher thread
+ * watcher.update(openFileFolders, projectRoot);            // off the EDT; walks the tree
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class FileWatcher {
+
+    static final long DEBOUNCE_MS = 300;
+    static final long MAX_DELAY_MS = 2000;
+
+    /**
+     * Receives batches of changed paths on the watcher thread.
+     */
+    public interface Listener {
+        /**
+         * Called once per burst of changes.
+         *
+         * @param changed Changed, created, or deleted files; or folders whose
+         *                events overflowed and must be rescanned.
+         */
+        void filesChanged(Set<Path> changed);
+    }
+
+    private final Listener listener;
+    private final WatchService service;
+    /** Watched folders, guarded by this. */
+    private final Map<Path, WatchKey> keys = new HashMap<>();
+    private final Map<WatchKey, Path> folders = new HashMap<>();
+    private Set<Path> requestedFolders = new HashSet<>();
+    private Path requestedTree;
+    private Path tree;
+    private Set<Path> treeFolders = new HashSet<>();
+    private final Object registration = new Object();
+    private Thread thread;
+
+    /**
+     * Constructor for FileWatcher.
+     *
+     * @param listener Receives the changes.
+     * @throws IOException If the platform has no watch service.
+     */
+    public FileWatcher(Listener listener) throws IOException {
+        this.listener = listener;
+        this.service = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Sets the watched folders. Folders no longer requested stop being watched.
+     * May walk the tree, so call it off the EDT; concurrent calls are safe and
+     * the last request wins.
+     *
+     * @param directories Folders to watch without their subfolders.
+     * @param root        A folder to watch with all its subfolders, or null.
+     */
+    public void update(Set<Path> directories, Path root) {
+        synchronized (this) {
+            requestedFolders = new HashSet<>();
+            for (Path directory : directories) {
+                requestedFolders.add(directory.toAbsolutePath().normalize());
+            }
+            requestedTree = root == null ? null : root.toAbsolutePath().normalize();
+        }
+        synchronized (registration) {
+            Set<Path> wanted;
+            Path wantedTree;
+            synchronized (this) {
+                wanted = new HashSet<>(requestedFolders);
+                wantedTree = requestedTree;
+            }
+            Set<Path> wantedTreeFolders;
+            synchronized (this) {
+                wantedTreeFolders = wantedTree != null && wantedTree.equals(tree) ? new HashSet<>(treeFolders) : null;
+            }
+            if (wantedTreeFolders == null) {
+                // Walked only when the tree changes; folders created later are added as they appear
+                wantedTreeFolders = wantedTree == null ? new HashSet<>() : walkFolders(wantedTree);
+            }
+            wanted.addAll(wantedTreeFolders);
+            synchronized (this) {
+                tree = wantedTree;
+                treeFolders = wantedTreeFolders;
+                for (Path folder : new HashSet<>(keys.keySet())) {
+                    if (!wanted.contains(folder)) {
+                        WatchKey key = keys.remove(folder);
+                        folders.remove(key);
+                        key.cancel();
+                    }
+                }
+            }
+            for (Path folder : wanted) {
+                register(folder);
+            }
+        }
+        start();
+    }
+
+    /**
+     * Returns the number of watched folders.
+     *
+     * @return The folder count.
+     */
+    public synchronized int watchedFolderCount() {
+        return keys.size();
+    }
+
+    /**
+     * Stops watching and ends the watcher thread.
+     */
+    public void close() {
+        try {
+            service.close();
+        } catch (IOException e) {
+            System.out.println("Error closing file watcher: " + e.getMessage());
+        }
+    }
+
+    private synchronized void start() {
+        if (thread == null) {
+            thread = new Thread(this::watchLoop, "file-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void register(Path folder) {
+        synchronized (this) {
+            if (keys.containsKey(folder)) {
+                return;
+            }
+        }
+        try {
+            WatchKey key = folder.register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            synchronized (this) {
+                keys.put(folder, key);
+                folders.put(key, folder);
+            }
+        } catch (IOException | ClosedWatchServiceException e) {
+            // Deleted meanwhile, not accessible, or the watcher was closed
+        }
+    }
+
+    /**
+     * Lists a folder and its subfolders, skipping the folders project search skips.
+     */
+    private static Set<Path> walkFolders(Path root) {
+        Set<Path> found = new HashSet<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(root) && ProjectSearcher.SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    found.add(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("Error walking " + root + ": " + e.getMessage());
+        }
+        return found;
+    }
+
+    /**
+     * Waits for a first event, then keeps collecting until the burst is over.
+     */
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                long deadline = System.currentTimeMillis() + MAX_DELAY_MS;
+                while (key != null) {
+                    collect(key, changed);
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    key = service.poll(Math.min(DEBOUNCE_MS, remaining), TimeUnit.MILLISECONDS);
+                }
+                if (!changed.isEmpty()) {
+                    try {
+                        listener.filesChanged(changed);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Closed; the thread ends
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path folder;
+        Path root;
+        synchronized (this) {
+            folder = folders.get(key);
+            root = tree;
+        }
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (folder == null) {
+                continue; // no longer watched
+            }
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.add(folder);
+                continue;
+            }
+            Path path = folder.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && root != null && path.startsWith(root)
+                    && Files.isDirectory(path)
+                    && !ProjectSearcher.SKIPPED_DIRECTORIES.contains(path.getFileName().toString())) {
+                // A new folder inside the project, perhaps with files already in it
+                synchronized (registration) {
+                    for (Path created : walkFolders(path)) {
+                        register(created);
+                        synchronized (this) {
+                            treeFolders.add(created);
+                        }
+                    }
+                }
+                changed.add(path);
+                continue;
+            }
+            changed.add(path);
+        }
+        if (!key.reset()) {
+            synchronized (this) {
+                Path gone = folders.remove(key);
+                if (gone != null) {
+                    keys.remove(gone);
+                    treeFolders.remove(gone);
+                }
+            }
+        }
+    }
+}
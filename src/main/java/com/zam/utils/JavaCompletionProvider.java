@@ -1,8 +1,19 @@
 package com.zam.utils;
 
+import java.awt.Point;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.text.JTextComponent;
+
 import org.fife.ui.autocomplete.BasicCompletion;
+import org.fife.ui.autocomplete.Completion;
+import org.fife.ui.autocomplete.CompletionCellRenderer;
 import org.fife.ui.autocomplete.DefaultCompletionProvider;
-import org.fife.ui.autocomplete.TemplateCompletion;
+import org.fife.ui.autocomplete.ParameterizedCompletion;
 import org.fife.ui.autocomplete.VariableCompletion;
 
 /**
@@ -11,17 +22,72 @@ import org.fife.ui.autocomplete.VariableCompletion;
  *
  * Responsibilities:
  * - Adding basic Java keywords and variable types for code completion.
- * - Including templates for common Java programming constructs.
+ * - Including templates from the built-in and user snippet library.
+ * - Serving as a single shared, thread-safe provider for every editor tab.
+ *
+ * Usage:
+ * - Call `JavaCompletionProvider.getSharedInstance()` instead of constructing a
+ *   provider per tab; only the `AutoCompletion` wrapper is created per text area.
+ *
+ * Example:
+ * ```java
+ * AutoCompletion ac = new AutoCompletion(JavaCompletionProvider.getSharedInstance());
+ * ac.install(textArea);
+ * ```
  *
  * @author Muhammed Zohaib
- * @version 1.0.2
+ * @version 1.0.4
  * @since 2024-01-07
  */
 public class JavaCompletionProvider extends DefaultCompletionProvider {
 
+    /**
+     * The user snippets folder. It is in the user's application data folder,
+     * %APPDATA%\BitCode on Windows and ~/.bitcode elsewhere, not in the working
+     * directory, which depends on how the IDE was started.
+     */
+    public static final Path USER_SNIPPETS_DIRECTORY = dataDirectory().resolve("Snippets");
+
+    private final SnippetLibrary snippets;
+
+    /**
+     * Lazily initialized holder for the shared provider instance.
+     * The JVM guarantees the instance is created once and safely published.
+     */
+    private static final class Holder {
+        private static final JavaCompletionProvider INSTANCE = new JavaCompletionProvider();
+        static {
+            INSTANCE.snippets.startWatching();
+        }
+    }
+
+    /**
+     * Returns the provider shared by all editor tabs. Must be called on the EDT.
+     *
+     * @return The shared JavaCompletionProvider instance.
+     */
+    public static JavaCompletionProvider getSharedInstance() {
+        JavaCompletionProvider provider = Holder.INSTANCE;
+        if (provider.getListCellRenderer() == null) {
+            // The renderer is a Swing component, so it is created here rather than by preload
+            provider.setListCellRenderer(new CompletionCellRenderer());
+        }
+        return provider;
+    }
+
+    /**
+     * Builds the shared provider, reading the snippet files, without creating
+     * anything Swing. Safe on a background thread at startup.
+     *
+     * @return The shared provider, not yet usable by editors.
+     */
+    public static JavaCompletionProvider preload() {
+        return Holder.INSTANCE;
+    }
+
     /**
      * Constructor for the JavaCompletionProvider.
-     * Initializes the code completion provider with Java keywords, variable types, and templates.
+     * Initializes the code completion provider with Java keywords, variable types, and snippets.
      */
     public JavaCompletionProvider() {
         // Basic Java keywords
@@ -41,26 +107,82 @@ public class JavaCompletionProvider extends DefaultCompletionProvider {
         addCompletion(new VariableCompletion(this, "String ", "string"));
         addCompletion(new VariableCompletion(this, "float ", "float"));
 
-        // Useful templates for Java programming
-        addCompletion(new TemplateCompletion(this, "sout", "standard print", "System.out.println(${cursor});"));
-        addCompletion(new TemplateCompletion(this, "main", "main method", "public static void main(String[] args){\n\t${cursor}\n}"));
-        addCompletion(new TemplateCompletion(this, "public", "public method", "public ${type} ${name}() {\n\t${cursor}\n}"));
-        addCompletion(new TemplateCompletion(this, "protected", "protected method", "protected ${type} ${name}() {\n\t${cursor}\n}"));
-        addCompletion(new TemplateCompletion(this, "private", "private method", "private ${type} ${name}() {\n\t${cursor}\n}"));
-
-        // Control flow and loop constructs
-        addCompletion(new TemplateCompletion(this, "for", "for loop", "for (int ${i} = 0; ${i} < ${array}.length; ${i}++) {\n\t${cursor}\n}"));
-        addCompletion(new TemplateCompletion(this, "for_each", "for each loop", "for (int ${i} = 0; ${i} < ${10}; ${i}++) {\n\t${cursor}\n}"));
-        addCompletion(new TemplateCompletion(this, "if", "if statement", "if (${condition}) {\n\t${cursor}\n}"));
-        addCompletion(new TemplateCompletion(this, "if_else", "if-else statement", "if (${condition}) {\n\t${cursor}\n}\nelse {\n\t\n}"));
-        addCompletion(new TemplateCompletion(this, "do", "do-while loop", "do {\n\t${cursor}\n} while (${condition});"));
-        addCompletion(new TemplateCompletion(this, "while", "while loop", "while (${condition}) {\n\t${cursor}\n}"));
-
-        // Switch-case and exception handling constructs
-        addCompletion(new TemplateCompletion(this, "switch", "switch-case", "switch (${key}) {\n\tcase ${value}:\n\t\t${cursor}\n\t\tbreak;\n\tdefault:\n\t\tbreak;\n}"));
-        addCompletion(new TemplateCompletion(this, "try", "try-catch", "try {\n\t ${cursor} \n} catch (${err}) {\n\t\n}"));
-
-        // Class template
-        addCompletion(new TemplateCompletion(this, "class", "class", "class ${name} {\n\t${cursor}}\n"));
+        // Templates are loaded from snippet files instead of being hardcoded
+        snippets = new SnippetLibrary(this, USER_SNIPPETS_DIRECTORY);
+        snippets.load();
+    }
+
+    private static Path dataDirectory() {
+        String appData = System.getenv("APPDATA");
+        if (appData != null && !appData.isEmpty()) {
+            return Paths.get(appData, "BitCode");
+        }
+        return Paths.get(System.getProperty("user.home"), ".bitcode");
+    }
+
+    /**
+     * Returns the snippet library backing the template completions.
+     *
+     * @return The snippet library.
+     */
+    public SnippetLibrary getSnippetLibrary() {
+        return snippets;
+    }
+
+    /**
+     * Merges keyword completions with snippets whose trigger matches the entered text.
+     */
+    @Override
+    protected List<Completion> getCompletionsImpl(JTextComponent comp) {
+        List<Completion> result = super.getCompletionsImpl(comp);
+        List<Completion> matches = snippets.findByPrefix(getAlreadyEnteredText(comp));
+        if (!matches.isEmpty()) {
+            result.addAll(matches);
+            Collections.sort(result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Completion> getCompletionByInputText(String inputText) {
+        List<Completion> result = super.getCompletionByInputText(inputText);
+        Completion snippet = snippets.get(inputText);
+        if (snippet != null) {
+            // The superclass may return a view of its own completion list; never add to that
+            result = result == null ? new ArrayList<>(1) : new ArrayList<>(result);
+            result.add(snippet);
+        }
+        return result;
+    }
+
+    /*
+     * DefaultCompletionProvider reuses a Segment and caches the last lookup in
+     * instance fields, so the entry points below are synchronized to keep the
+     * shared instance safe when several text areas query it.
+     */
+
+    @Override
+    public synchronized String getAlreadyEnteredText(JTextComponent comp) {
+        return super.getAlreadyEnteredText(comp);
+    }
+
+    @Override
+    public synchronized List<Completion> getCompletions(JTextComponent comp) {
+        return super.getCompletions(comp);
+    }
+
+    @Override
+    public synchronized List<Completion> getCompletionsAt(JTextComponent comp, Point p) {
+        return super.getCompletionsAt(comp, p);
+    }
+
+    @Override
+    public synchronized List<ParameterizedCompletion> getParameterizedCompletions(JTextComponent comp) {
+        return super.getParameterizedCompletions(comp);
+    }
+
+    @Override
+    public synchronized boolean isAutoActivateOkay(JTextComponent comp) {
+        return super.isAutoActivateOkay(comp);
     }
 }
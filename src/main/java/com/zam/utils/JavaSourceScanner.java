@@ -0,0 +1,231 @@
+package com.zam.utils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Lightweight lexical scanner for Java source used by the reference index.
+ *
+ * Responsibilities:
+ * - Walking Java source text while skipping comments, strings, and char literals.
+ * - Reporting every identifier occurrence with its line and column.
+ * - Recognizing likely declarations (types, methods, variables) from the
+ *   surrounding tokens without building a syntax tree.
+ *
+ * Usage:
+ * - Implement `Listener` and call `scan` with the source text.
+ *
+ * Example:
+ * ```java
+ * JavaSourceScanner.scan(source, new JavaSourceScanner.Listener() {
+ *     public void identifier(String name, int line, int column) { ... }
+ *     public void declaration(String name, char kind, int line, int column) { ... }
+ * });
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class JavaSourceScanner {
+
+    public static final char KIND_TYPE = 'T';
+    public static final char KIND_METHOD = 'M';
+    public static final char KIND_VARIABLE = 'V';
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+        "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+        "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+        "for", "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native",
+        "new", "package", "private", "protected", "public", "return", "short", "static", "strictfp",
+        "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void",
+        "volatile", "while", "true", "false", "null", "var", "record", "yield"));
+
+    /** Keywords that may stand where a type name would, e.g. `int x` or `public Foo(`. */
+    private static final Set<String> TYPE_LIKE = new HashSet<>(Arrays.asList(
+        "boolean", "byte", "char", "double", "float", "int", "long", "short", "void", "var",
+        "public", "private", "protected", "static", "final", "abstract", "synchronized", "native"));
+
+    private static final Set<String> TYPE_DECLARATORS = new HashSet<>(Arrays.asList(
+        "class", "interface", "enum", "record"));
+
+    /**
+     * Receives scanner callbacks.
+     */
+    public interface Listener {
+        /**
+         * Called for every identifier that is not a keyword.
+         *
+         * @param name   The identifier.
+         * @param line   The 1-based line.
+         * @param column The 1-based column.
+         */
+        void identifier(String name, int line, int column);
+
+        /**
+         * Called when an identifier looks like it declares a symbol.
+         *
+         * @param name   The declared name.
+         * @param kind   One of the KIND_ constants.
+         * @param line   The 1-based line.
+         * @param column The 1-based column.
+         */
+        void declaration(String name, char kind, int line, int column);
+    }
+
+    private JavaSourceScanner() {
+    }
+
+    /**
+     * Scans the given source text.
+     *
+     * @param text     The Java source.
+     * @param listener The callback receiver.
+     */
+    public static void scan(CharSequence text, Listener listener) {
+        final int length = text.length();
+        int i = 0;
+        int line = 1;
+        int lineStart = 0;
+
+        // Previous significant token: an identifier/keyword string, or a single punctuation char
+        String prevWord = null;
+        char prevPunct = 0;
+
+        // A pending identifier whose role depends on the next significant character
+        String pending = null;
+        int pendingLine = 0;
+        int pendingColumn = 0;
+        String pendingPrevWord = null;
+        char pendingPrevPunct = 0;
+
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                line++;
+                lineStart = ++i;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            // Comments
+            if (c == '/' && i + 1 < length) {
+                char n = text.charAt(i + 1);
+                if (n == '/') {
+                    while (i < length && text.charAt(i) != '\n') {
+                        i++;
+                    }
+                    continue;
+                }
+                if (n == '*') {
+                    i += 2;
+                    while (i < length && !(text.charAt(i) == '*' && i + 1 < length && text.charAt(i + 1) == '/')) {
+                        if (text.charAt(i) == '\n') {
+                            line++;
+                            lineStart = i + 1;
+                        }
+                        i++;
+                    }
+                    i += 2;
+                    continue;
+                }
+            }
+            if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(text.charAt(i))) {
+                    i++;
+                }
+                String word = text.subSequence(start, i).toString();
+                if (pending != null) {
+                    resolvePending(listener, pending, pendingLine, pendingColumn, pendingPrevWord, pendingPrevPunct, 'w');
+                    pending = null;
+                }
+                if (!KEYWORDS.contains(word)) {
+                    int column = start - lineStart + 1;
+                    listener.identifier(word, line, column);
+                    if (prevWord != null && TYPE_DECLARATORS.contains(prevWord)) {
+                        listener.declaration(word, KIND_TYPE, line, column);
+                    } else {
+                        pending = word;
+                        pendingLine = line;
+                        pendingColumn = column;
+                        pendingPrevWord = prevWord;
+                        pendingPrevPunct = prevPunct;
+                    }
+                }
+                prevWord = word;
+                prevPunct = 0;
+                continue;
+            }
+            // Literals
+            if (c == '"' || c == '\'') {
+                if (c == '"' && i + 2 < length && text.charAt(i + 1) == '"' && text.charAt(i + 2) == '"') {
+                    i += 3;
+                    while (i < length && !(text.charAt(i) == '"' && i + 2 < length
+                            && text.charAt(i + 1) == '"' && text.charAt(i + 2) == '"')) {
+                        if (text.charAt(i) == '\\') {
+                            i++;
+                        } else if (text.charAt(i) == '\n') {
+                            line++;
+                            lineStart = i + 1;
+                        }
+                        i++;
+                    }
+                    i += 3;
+                } else {
+                    i++;
+                    while (i < length && text.charAt(i) != c && text.charAt(i) != '\n') {
+                        if (text.charAt(i) == '\\') {
+                            i++;
+                        }
+                        i++;
+                    }
+                    i++;
+                }
+                if (pending != null) {
+                    resolvePending(listener, pending, pendingLine, pendingColumn, pendingPrevWord, pendingPrevPunct, '"');
+                    pending = null;
+                }
+                prevWord = null;
+                prevPunct = '"';
+                continue;
+            }
+            // Punctuation
+            if (pending != null) {
+                resolvePending(listener, pending, pendingLine, pendingColumn, pendingPrevWord, pendingPrevPunct, c);
+                pending = null;
+            }
+            prevWord = null;
+            prevPunct = c;
+            i++;
+        }
+        if (pending != null) {
+            resolvePending(listener, pending, pendingLine, pendingColumn, pendingPrevWord, pendingPrevPunct, (char) 0);
+        }
+    }
+
+    /**
+     * Decides whether a pending identifier is a declaration, using the token
+     * before it and the first significant character after it.
+     */
+    private static void resolvePending(Listener listener, String name, int line, int column,
+                                       String prevWord, char prevPunct, char next) {
+        boolean afterType = (prevWord != null && (!KEYWORDS.contains(prevWord) || TYPE_LIKE.contains(prevWord)))
+                || prevPunct == ']';
+        // `List<String> names =` declares, but `a > b)` is a comparison
+        if (prevPunct == '>') {
+            afterType = next == '=' || next == ';' || next == '(';
+        }
+        if (!afterType) {
+            return;
+        }
+        if (next == '(') {
+            listener.declaration(name, KIND_METHOD, line, column);
+        } else if (next == '=' || next == ';' || next == ',' || next == ')' || next == ':') {
+            listener.declaration(name, KIND_VARIABLE, line, column);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.zam.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the JDKs installed on this machine.
+ *
+ * Responsibilities:
+ * - Looking in the bundled ./JDK folder, JAVA_HOME, the folders on PATH,
+ *   the JDK running the IDE, and the usual install folders of Windows,
+ *   Linux and macOS, each on its own thread.
+ * - Accepting a folder only if it has a `release` file naming its version
+ *   and a javac, so JREs and broken installs are left out.
+ * - Caching the result in ./JdkCache.properties. The cache is used while
+ *   JAVA_HOME and PATH are unchanged, no folder that was searched has been
+ *   modified, and no JDK's release file has changed, so a warm start costs
+ *   a few file timestamps instead of a search.
+ *
+ * JDKs are listed in the order of their sources, bundled first; JDKs in
+ * the same folder are listed newest first. The first is the default.
+ *
+ * Usage:
+ * ```java
+ * JdkDiscovery.Jdk jdk = JdkDiscovery.getSharedInstance().getDefault();
+ * String binPath = jdk == null ? null : jdk.binPath();
+ * for (JdkDiscovery.Jdk each : JdkDiscovery.getSharedInstance().find()) {
+ *     System.out.println(each);   // "21.0.1 (Eclipse Adoptium), JAVA_HOME: C:\Program Files\..."
+ * }
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-19
+ */
+public class JdkDiscovery {
+
+    public static final String CACHE_FILE = "./JdkCache.properties";
+    public static final String BUNDLED_FOLDER = "./JDK";
+
+    private static final String JAVAC = File.separatorChar == '\\' ? "javac.exe" : "javac";
+
+    /**
+     * A JDK that was found.
+     */
+    public static final class Jdk {
+        public final Path home;
+        public final String version;
+        public final String implementor;
+        /** Where it was found, such as "bundled" or "PATH". */
+        public final String source;
+
+        public Jdk(Path home, String version, String implementor, String source) {
+            this.home = home;
+            this.version = version;
+            this.implementor = implementor;
+            this.source = source;
+        }
+
+        /**
+         * Returns the JDK's bin directory, as used to compile and run programs.
+         *
+         * @return The bin directory's path.
+         */
+        public String binPath() {
+            return home.resolve("bin").toString();
+        }
+
+        @Override
+        public String toString() {
+            return version + (implementor.isEmpty() ? "" : " (" + implementor + ")") + ", " + source + ": " + home;
+        }
+    }
+
+    /**
+     * A folder to search: either one JDK (its home or bin folder), or a
+     * folder whose subfolders are JDKs.
+     */
+    static final class Source {
+        final String name;
+        final Path folder;
+        final boolean containsJdks;
+
+        Source(String name, Path folder, boolean containsJdks) {
+            this.name = name;
+            this.folder = folder.toAbsolutePath().normalize();
+            this.containsJdks = containsJdks;
+        }
+
+        @Override
+        public String toString() {
+            return name + "|" + folder + "|" + containsJdks;
+        }
+    }
+
+    private static final class Holder {
+        private static final JdkDiscovery INSTANCE = new JdkDiscovery(Paths.get(CACHE_FILE), standardSources());
+    }
+
+    private final Path cacheFile;
+    private final List<Source> sources;
+    private List<Jdk> jdks;
+    /** Whether the last find() searched the disk rather than trusting the cache. */
+    boolean scanned;
+
+    /**
+     * Constructor for JdkDiscovery.
+     *
+     * @param cacheFile The cache file.
+     * @param sources   The folders to search, in order of preference.
+     */
+    JdkDiscovery(Path cacheFile, List<Source> sources) {
+        this.cacheFile = cacheFile;
+        this.sources = sources;
+    }
+
+    /**
+     * Returns the discovery over this machine's usual JDK locations.
+     *
+     * @return The shared instance.
+     */
+    public static JdkDiscovery getSharedInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the JDKs, from the cache if it is still current and otherwise
+     * by searching again. May be called from any thread.
+     *
+     * @return The JDKs in order of preference; empty if there are none.
+     */
+    public synchronized List<Jdk> find() {
+        String key = sourcesKey();
+        List<Jdk> cached = loadCache(key);
+        scanned = cached == null;
+        if (cached != null) {
+            jdks = cached;
+        } else {
+            jdks = scan();
+            saveCache(key, jdks);
+        }
+        return jdks;
+    }
+
+    /**
+     * Returns the JDK to use when none was picked.
+     *
+     * @return The first JDK found, or null if there is none.
+     */
+    public synchronized Jdk getDefault() {
+        List<Jdk> found = jdks != null ? jdks : find();
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Reads a folder as a JDK home.
+     *
+     * @param home   The folder.
+     * @param source Where it was found.
+     * @return The JDK, or null if the folder has no release file with a
+     *         version or no javac.
+     */
+    public static Jdk read(Path home, String source) {
+        Path release = home.resolve("release");
+        if (!Files.isRegularFile(home.resolve("bin").resolve(JAVAC)) || !Files.isRegularFile(release)) {
+            return null;
+        }
+        Properties values = new Properties();
+        try (InputStream in = Files.newInputStream(release)) {
+            values.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        String version = unquote(values.getProperty("JAVA_VERSION"));
+        if (version.isEmpty()) {
+            return null;
+        }
+        return new Jdk(home, version, unquote(values.getProperty("IMPLEMENTOR")), source);
+    }
+
+    private List<Jdk> scan() {
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(sources.size(), 8)), work -> {
+            Thread thread = new Thread(work, "jdk-discovery-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<List<Jdk>>> searches = new ArrayList<>();
+            for (Source source : sources) {
+                searches.add(CompletableFuture.supplyAsync(() -> search(source), pool));
+            }
+            // Keep the sources' order, and each JDK once, under the first source that found it
+            Map<Path, Jdk> found = new LinkedHashMap<>();
+            for (CompletableFuture<List<Jdk>> search : searches) {
+                for (Jdk jdk : search.join()) {
+                    found.putIfAbsent(realPath(jdk.home), jdk);
+                }
+            }
+            return Collections.unmodifiableList(new ArrayList<>(found.values()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Jdk> search(Source source) {
+        List<Jdk> found = new ArrayList<>();
+        if (!Files.isDirectory(source.folder)) {
+            return found;
+        }
+        if (!source.containsJdks) {
+            addIfJdk(found, home(source.folder), source.name);
+            return found;
+        }
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(source.folder, Files::isDirectory)) {
+            for (Path child : children) {
+                // macOS keeps the home inside a bundle
+                Path bundleHome = child.resolve("Contents").resolve("Home");
+                addIfJdk(found, Files.isDirectory(bundleHome) ? bundleHome : child, source.name);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not search " + source.folder + " for JDKs: " + e.getMessage());
+        }
+        found.sort(Comparator.comparing((Jdk jdk) -> jdk.version, JdkDiscovery::compareVersions).reversed());
+        return found;
+    }
+
+    private static void addIfJdk(List<Jdk> found, Path home, String source) {
+        Jdk jdk = home == null ? null : read(home, source);
+        if (jdk != null) {
+            found.add(jdk);
+        }
+    }
+
+    /** The home of a JDK given its home or its bin folder, following links such as /usr/bin/javac. */
+    private static Path home(Path folder) {
+        Path javac = folder.resolve(JAVAC);
+        if (!Files.isRegularFile(javac)) {
+            return folder;
+        }
+        Path bin = realPath(javac).getParent();
+        return bin == null ? null : bin.getParent();
+    }
+
+    /**
+     * Loads the cached JDKs if nothing they were found from has changed.
+     *
+     * @param key The sources searched, which must match those of the cache.
+     * @return The JDKs, or null if the cache is missing or out of date.
+     */
+    private List<Jdk> loadCache(String key) {
+        Properties cache = new Properties();
+        try (InputStream in = Files.newInputStream(cacheFile)) {
+            cache.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!key.equals(cache.getProperty("sources"))) {
+            return null;
+        }
+        for (int i = 0; i < sources.size(); i++) {
+            if (!Long.toString(modified(sources.get(i).folder)).equals(cache.getProperty("source." + i + ".modified"))) {
+                return null;
+            }
+        }
+        List<Jdk> cached = new ArrayList<>();
+        int count = parse(cache.getProperty("jdk.count"));
+        for (int i = 0; i < count; i++) {
+            String home = cache.getProperty("jdk." + i + ".home");
+            String version = cache.getProperty("jdk." + i + ".version");
+            if (home == null || version == null || !Long.toString(modified(Paths.get(home).resolve("release")))
+                    .equals(cache.getProperty("jdk." + i + ".modified"))) {
+                return null;
+            }
+            cached.add(new Jdk(Paths.get(home), version, cache.getProperty("jdk." + i + ".implementor", ""),
+                    cache.getProperty("jdk." + i + ".source", "")));
+        }
+        return count < 0 ? null : Collections.unmodifiableList(cached);
+    }
+
+    private void saveCache(String key, List<Jdk> found) {
+        Properties cache = new Properties();
+        cache.setProperty("sources", key);
+        for (int i = 0; i < sources.size(); i++) {
+            cache.setProperty("source." + i + ".modified", Long.toString(modified(sources.get(i).folder)));
+        }
+        cache.setProperty("jdk.count", Integer.toString(found.size()));
+        for (int i = 0; i < found.size(); i++) {
+            Jdk jdk = found.get(i);
+            cache.setProperty("jdk." + i + ".home", jdk.home.toString());
+            cache.setProperty("jdk." + i + ".version", jdk.version);
+            cache.setProperty("jdk." + i + ".implementor", jdk.implementor);
+            cache.setProperty("jdk." + i + ".source", jdk.source);
+            cache.setProperty("jdk." + i + ".modified", Long.toString(modified(jdk.home.resolve("release"))));
+        }
+        Path temp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                cache.store(out, "JDKs found on this machine; delete to search again");
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Could not save the JDK cache: " + e.getMessage());
+        }
+    }
+
+    private String sourcesKey() {
+        StringBuilder key = new StringBuilder();
+        for (Source source : sources) {
+            key.append(source).append('\n');
+        }
+        return key.toString();
+    }
+
+    /**
+     * The folders searched on this machine, most preferred first.
+     */
+    static List<Source> standardSources() {
+        List<Source> list = new ArrayList<>();
+        list.add(new Source("bundled", Paths.get(BUNDLED_FOLDER), true));
+        String javaHome = System.getenv("JAVA_HOME");
+        if (javaHome != null && !javaHome.trim().isEmpty()) {
+            list.add(new Source("JAVA_HOME", Paths.get(javaHome.trim()), false));
+        }
+        String path = System.getenv("PATH");
+        if (path != null) {
+            for (String entry : path.split(File.pathSeparator)) {
+                if (!entry.trim().isEmpty()) {
+                    list.add(new Source("PATH", Paths.get(entry.trim()), false));
+                }
+            }
+        }
+        list.add(new Source("running IDE", Paths.get(System.getProperty("java.home")), false));
+        String userHome = System.getProperty("user.home");
+        if (File.separatorChar == '\\') {
+            for (String programFiles : new String[] { System.getenv("ProgramFiles"), "C:\\Program Files" }) {
+                if (programFiles != null) {
+                    for (String vendor : new String[] { "Java", "Eclipse Adoptium", "Microsoft", "Zulu", "Amazon Corretto", "BellSoft" }) {
+                        list.add(new Source("installed", Paths.get(programFiles, vendor), true));
+                    }
+                }
+            }
+        } else {
+            list.add(new Source("installed", Paths.get("/usr/lib/jvm"), true));
+            list.add(new Source("installed", Paths.get("/usr/java"), true));
+            list.add(new Source("installed", Paths.get("/opt/java"), true));
+            list.add(new Source("installed", Paths.get("/Library/Java/JavaVirtualMachines"), true));
+        }
+        list.add(new Source("installed", Paths.get(userHome, ".sdkman", "candidates", "java"), true));
+        list.add(new Source("installed", Paths.get(userHome, ".jdks"), true));
+        // The same folder can come from several places, such as PATH and JAVA_HOME
+        Map<Path, Source> unique = new LinkedHashMap<>();
+        for (Source source : list) {
+            unique.putIfAbsent(source.folder, source);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    /**
+     * Compares version strings such as "21.0.1" and "1.8.0_392" number by number.
+     */
+    static int compareVersions(String a, String b) {
+        String[] left = a.split("[^0-9]+");
+        String[] right = b.split("[^0-9]+");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            int difference = Long.compare(number(left, i), number(right, i));
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    private static long number(String[] parts, int index) {
+        try {
+            return index < parts.length ? Long.parseLong(parts[index]) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long modified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1; // missing; its creation invalidates the cache
+        }
+    }
+
+    private static Path realPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    private static String unquote(String value) {
+        return value == null ? "" : value.replace("\"", "").trim();
+    }
+
+    private static int parse(String value) {
+        try {
+            return value == null ? -1 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
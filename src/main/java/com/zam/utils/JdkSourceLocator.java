@@ -0,0 +1,100 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Locates JDK class sources inside the bundled JDK's `lib/src.zip`.
+ *
+ * Responsibilities:
+ * - Opening `src.zip` as a read-only zip file system on first use only.
+ * - Building a simple-name to entry map from the zip directory, without
+ *   reading or extracting any source file.
+ * - Resolving a type name to the zip entries that define it.
+ *
+ * Usage:
+ * ```java
+ * JdkSourceLocator jdk = new JdkSourceLocator(mainApp.jdkPath);
+ * List<Path> sources = jdk.findType("String"); // e.g. java.base/java/lang/String.java
+ * String text = Files.readString(sources.get(0));
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class JdkSourceLocator {
+
+    private final Path sourceZip;
+    private FileSystem zipFileSystem;
+    private Map<String, List<Path>> typesByName;
+
+    /**
+     * Constructor for JdkSourceLocator.
+     *
+     * @param jdkBinPath The JDK bin directory used to compile and run programs.
+     */
+    public JdkSourceLocator(String jdkBinPath) {
+        Path bin = Paths.get(jdkBinPath == null ? "." : jdkBinPath).toAbsolutePath();
+        Path home = bin.getParent() == null ? bin : bin.getParent();
+        this.sourceZip = home.resolve("lib").resolve("src.zip");
+    }
+
+    /**
+     * Tells whether the JDK ships its sources.
+     *
+     * @return true if `lib/src.zip` exists.
+     */
+    public boolean isAvailable() {
+        return Files.isRegularFile(sourceZip);
+    }
+
+    /**
+     * Finds the source files declaring a top-level type with the given simple name.
+     *
+     * @param simpleName The type name, e.g. "ArrayList".
+     * @return Paths inside the zip file system, empty if none or no sources.
+     */
+    public synchronized List<Path> findType(String simpleName) {
+        if (!isAvailable()) {
+            return Collections.emptyList();
+        }
+        try {
+            ensureIndexed();
+        } catch (IOException e) {
+            System.out.println("Error reading JDK sources: " + e.getMessage());
+            return Collections.emptyList();
+        }
+        return typesByName.getOrDefault(simpleName, Collections.emptyList());
+    }
+
+    private void ensureIndexed() throws IOException {
+        if (typesByName != null) {
+            return;
+        }
+        zipFileSystem = FileSystems.newFileSystem(sourceZip);
+        Map<String, List<Path>> map = new HashMap<>();
+        for (Path zipRoot : zipFileSystem.getRootDirectories()) {
+            try (Stream<Path> walk = Files.walk(zipRoot)) {
+                walk.forEach(p -> {
+                    String name = p.getFileName() == null ? "" : p.getFileName().toString();
+                    if (name.endsWith(".java") && !name.equals("module-info.java") && !name.equals("package-info.java")) {
+                        String simple = name.substring(0, name.length() - 5);
+                        map.computeIfAbsent(simple, k -> new ArrayList<>(1)).add(p);
+                    }
+                });
+            }
+        }
+        typesByName = map;
+    }
+}
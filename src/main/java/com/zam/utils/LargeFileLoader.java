@@ -0,0 +1,193 @@
+package com.zam.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+
+import com.zam.components.editor.CodeTextArea;
+import com.zam.ui.App;
+
+/**
+ * Loads a large file into an editor tab progressively, off the EDT.
+ *
+ * Responsibilities:
+ * - Memory-mapping the file so its bytes never live on the Java heap.
+ * - Decoding fixed-size slices with a streaming CharsetDecoder in the
+ *   charset TextCodec guesses from the start of the file, so no full-size
+ *   byte[] or String copy of the file is created. If a guessed UTF-8 meets
+ *   invalid bytes later on, the load starts over in the legacy charset.
+ * - Appending each decoded slice to the document on the EDT, one slice at a
+ *   time, so input and painting are handled between slices.
+ * - Reporting progress in the terminal progress bar.
+ *
+ * Usage:
+ * - Create the tab with empty content, switch it to large-file mode, then
+ *   call `execute()`.
+ *
+ * Example:
+ * ```java
+ * LargeFileLoader loader = new LargeFileLoader(mainApp, codePanel, file);
+ * loader.execute();
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class LargeFileLoader extends SwingWorker<Void, Void> {
+
+    /** Bytes decoded and appended per EDT round trip. */
+    private static final int SLICE_SIZE = 1024 * 1024;
+
+    private final App mainApp;
+    private final CodeTextArea codePanel;
+    private final File file;
+
+    /**
+     * Constructor for LargeFileLoader.
+     *
+     * @param parent    The main App instance.
+     * @param codePanel The tab to load into; its document should be empty.
+     * @param file      The file to load.
+     */
+    public LargeFileLoader(App parent, CodeTextArea codePanel, File file) {
+        this.mainApp = parent;
+        this.codePanel = codePanel;
+        this.file = file;
+        addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                mainApp.terminalArea.showProgress((Integer) e.getNewValue());
+            }
+        });
+    }
+
+    @Override
+    protected Void doInBackground() throws IOException, InterruptedException, InvocationTargetException {
+        // Guessed from the start of the file; reading it all first would double the time to open it
+        TextFormat detected = TextCodec.detectFromStart(file.toPath());
+        // Line endings are kept verbatim; normalizing them needs the whole file up front
+        TextFormat format = new TextFormat(detected.charset, detected.bom, null);
+        boolean strict = !format.bom && format.charset.equals(StandardCharsets.UTF_8);
+        while (true) {
+            final TextFormat loading = format;
+            SwingUtilities.invokeAndWait(() -> {
+                codePanel.codeTextArea.setEditable(false);
+                codePanel.setTextFormat(loading);
+            });
+            try {
+                load(format, strict);
+                return null;
+            } catch (CharacterCodingException e) {
+                // Not UTF-8 after all: start over in the legacy charset
+                format = new TextFormat(TextCodec.fallbackCharset(), false, null);
+                strict = false;
+                SwingUtilities.invokeAndWait(() -> codePanel.codeTextArea.setText(""));
+            }
+        }
+    }
+
+    /**
+     * Decodes the file slice by slice and appends each slice to the tab.
+     *
+     * @param format The charset and BOM to decode with.
+     * @param strict Whether invalid bytes fail the load instead of being replaced.
+     * @throws CharacterCodingException If strict and the file is not valid in the charset.
+     */
+    private void load(TextFormat format, boolean strict)
+            throws IOException, InterruptedException, InvocationTargetException {
+        CodingErrorAction onError = strict ? CodingErrorAction.REPORT : CodingErrorAction.REPLACE;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            CharsetDecoder decoder = format.charset.newDecoder()
+                    .onMalformedInput(onError)
+                    .onUnmappableCharacter(onError);
+            CharBuffer chars = CharBuffer.allocate(SLICE_SIZE + 16);
+            ByteBuffer carry = ByteBuffer.allocate(16); // bytes of a character split across slices
+            long position = format.bomLength();
+            while (position < size && !isCancelled()) {
+                long length = Math.min(SLICE_SIZE, size - position);
+                MappedByteBuffer slice = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                position += length;
+                boolean last = position >= size;
+
+                chars.clear();
+                // Finish a character whose bytes were split across slices
+                while (carry.position() > 0 && slice.hasRemaining()) {
+                    carry.put(slice.get());
+                    carry.flip();
+                    check(decoder.decode(carry, chars, false));
+                    carry.compact();
+                }
+                check(decoder.decode(slice, chars, last));
+                carry.put(slice); // at most the first bytes of one character
+                if (last) {
+                    carry.flip();
+                    check(decoder.decode(carry, chars, true));
+                    decoder.flush(chars);
+                }
+                chars.flip();
+
+                final String text = chars.toString();
+                SwingUtilities.invokeAndWait(() -> {
+                    if (mainApp.codeAreaPanes.contains(codePanel)) {
+                        append(text);
+                    } else {
+                        cancel(false); // the tab was closed while loading
+                    }
+                });
+                setProgress((int) (position * 100 / Math.max(1, size)));
+            }
+        }
+    }
+
+    private static void check(CoderResult result) throws CharacterCodingException {
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+    private void append(String text) {
+        Document document = codePanel.codeTextArea.getDocument();
+        try {
+            document.insertString(document.getLength(), text, null);
+        } catch (BadLocationException e) {
+            e.printStackTrace(); // appending at the end cannot fail
+        }
+    }
+
+    @Override
+    protected void done() {
+        mainApp.terminalArea.hideProgressBar();
+        codePanel.codeTextArea.setEditable(true);
+        codePanel.codeTextArea.discardAllEdits();
+        codePanel.codeTextArea.setCaretPosition(0);
+        int tabIndex = mainApp.codeAreaPanes.indexOf(codePanel);
+        if (tabIndex >= 0) {
+            // Appending fired the "modified" listener; the content matches the file
+            mainApp.tabbedEditorPane.setIconAt(tabIndex, App.jBlueImage);
+        }
+        try {
+            get();
+        } catch (Exception e) {
+            if (!isCancelled()) {
+                mainApp.terminalArea.consolArea.append("Failed to load " + file + ": " + e.getCause() + "\n");
+                mainApp.tabbedEditorPane.detachFromFile(codePanel);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM options for the javac and java processes the IDE starts to compile
+ * and run the user's programs.
+ *
+ * Responsibilities:
+ * - Giving javac a dynamic class data sharing (CDS) archive, so the compiler
+ *   classes loaded by one compile are mapped by the next instead of being
+ *   loaded and verified again. The JVM writes the archive at the end of the
+ *   first compile (-XX:+AutoCreateSharedArchive, JDK 19 and later) and
+ *   rewrites it if it is damaged. There is one archive per JDK version,
+ *   under ./cds, so changing the JDK never leaves a stale one in use.
+ * - Adding the "fast start" flags when the FAST_START setting is on:
+ *   C1-only compilation (-XX:TieredStopAtLevel=1) and the serial collector,
+ *   which start sooner and suit short programs on small heaps. Programs
+ *   that compute for a long time run faster with the setting off.
+ *
+ * User programs get no archive: they run from a class folder, and the JVM
+ * cannot archive classes from a folder.
+ *
+ * Usage:
+ * ```java
+ * List<String> command = new ArrayList<>();
+ * command.add(Paths.get(jdkBinPath, "javac").toString());
+ * command.addAll(LaunchFlags.javac(jdkBinPath, settings.get(Settings.FAST_START)));
+ * command.add(sourceFile.getAbsolutePath());
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-19
+ */
+public final class LaunchFlags {
+
+    public static final String ARCHIVE_DIRECTORY = "./cds";
+
+    private static final Map<String, String> JDK_VERSIONS = new ConcurrentHashMap<>();
+
+    private LaunchFlags() {
+    }
+
+    /**
+     * Returns the options to pass to javac, each prefixed with -J so that
+     * javac hands them to its JVM.
+     *
+     * @param jdkBinPath The JDK's bin directory.
+     * @param fastStart  Whether to add the fast start flags.
+     * @return The options, in order.
+     */
+    public static List<String> javac(String jdkBinPath, boolean fastStart) {
+        return javac(jdkBinPath, fastStart, Paths.get(ARCHIVE_DIRECTORY));
+    }
+
+    /**
+     * Returns the options to pass to javac, keeping its archive in a given
+     * folder.
+     *
+     * @param jdkBinPath The JDK's bin directory.
+     * @param fastStart  Whether to add the fast start flags.
+     * @param archiveDirectory The folder for the archive.
+     * @return The options, in order.
+     */
+    static List<String> javac(String jdkBinPath, boolean fastStart, Path archiveDirectory) {
+        List<String> options = new ArrayList<>();
+        Path archive = javacArchive(jdkBinPath, archiveDirectory);
+        if (archive != null) {
+            options.add("-XX:SharedArchiveFile=" + archive);
+            options.add("-XX:+AutoCreateSharedArchive");
+        }
+        if (fastStart) {
+            options.addAll(fastStartFlags());
+        }
+        List<String> javacOptions = new ArrayList<>(options.size());
+        for (String option : options) {
+            javacOptions.add("-J" + option);
+        }
+        return javacOptions;
+    }
+
+    /**
+     * Returns the JVM options for running a user program.
+     *
+     * @param fastStart Whether to add the fast start flags.
+     * @return The options, in order.
+     */
+    public static List<String> java(boolean fastStart) {
+        return fastStart ? fastStartFlags() : Collections.<String>emptyList();
+    }
+
+    /**
+     * Returns the javac archive for a JDK, creating its folder.
+     *
+     * @param jdkBinPath The JDK's bin directory.
+     * @param archiveDirectory The folder for the archive.
+     * @return The archive's absolute path, or null if the JDK cannot create
+     *         archives by itself or the folder cannot be written.
+     */
+    private static Path javacArchive(String jdkBinPath, Path archiveDirectory) {
+        String version = jdkVersion(jdkBinPath);
+        if (featureVersion(version) < 19) {
+            return null;
+        }
+        Path directory = archiveDirectory.toAbsolutePath().normalize();
+        try {
+            // The JVM fails the whole compile if it cannot write the archive
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.out.println("Could not create the CDS folder " + directory + ": " + e.getMessage());
+            return null;
+        }
+        if (!Files.isWritable(directory)) {
+            return null;
+        }
+        return directory.resolve("javac-" + version.replaceAll("[^0-9A-Za-z.+-]", "_") + ".jsa");
+    }
+
+    /**
+     * Reads JAVA_VERSION from the release file of the JDK above a bin
+     * directory, once per JDK.
+     *
+     * @param jdkBinPath The JDK's bin directory.
+     * @return The version, such as "21.0.1", or "" if it is unknown.
+     */
+    static String jdkVersion(String jdkBinPath) {
+        return JDK_VERSIONS.computeIfAbsent(jdkBinPath, bin -> {
+            Path release = Paths.get(bin).toAbsolutePath().normalize().resolveSibling("release");
+            try {
+                for (String line : Files.readAllLines(release, StandardCharsets.ISO_8859_1)) {
+                    if (line.startsWith("JAVA_VERSION=")) {
+                        return line.substring("JAVA_VERSION=".length()).replace("\"", "").trim();
+                    }
+                }
+            } catch (IOException e) {
+                // No release file: an unknown JDK gets no archive
+            }
+            return "";
+        });
+    }
+
+    /**
+     * Returns the feature release of a Java version string.
+     *
+     * @param version A version such as "21.0.1", "17", or "1.8.0_392".
+     * @return The feature release, such as 21 or 8; 0 if it cannot be read.
+     */
+    static int featureVersion(String version) {
+        String[] parts = version.split("[^0-9]+");
+        try {
+            int first = Integer.parseInt(parts[0]);
+            return first == 1 && parts.length > 1 ? Integer.parseInt(parts[1]) : first;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
+
+    private static List<String> fastStartFlags() {
+        List<String> flags = new ArrayList<>();
+        flags.add("-XX:TieredStopAtLevel=1");
+        flags.add("-XX:+UseSerialGC");
+        return flags;
+    }
+}
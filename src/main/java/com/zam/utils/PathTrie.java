@@ -0,0 +1,263 @@
+package com.zam.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A tree of folders holding the files of a FileIndex, used to find the
+ * files whose path contains a query's characters in order.
+ *
+ * Responsibilities:
+ * - Storing each folder name once, however many files are below it.
+ * - Matching a query against a folder's path once for all its files: the
+ *   walk carries how much of the query the folders above have matched, so
+ *   only file names are compared per file.
+ * - Adding and removing single files and whole folders as the project
+ *   changes.
+ *
+ * Each folder keeps its file names packed into one array, so a walk reads
+ * memory in order instead of following a pointer per file, and allocates
+ * nothing unless files changed since the last walk.
+ *
+ * Usage:
+ * - Not thread-safe; FileIndex guards it with its own lock.
+ *
+ * Example:
+ * ```java
+ * PathTrie trie = new PathTrie();
+ * trie.add(entry);                                 // "src/main/App.java"
+ * trie.match("smapp".toCharArray(), visitor);      // visits the entry
+ * trie.removeFolder("src");                        // returns the entry
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class PathTrie {
+
+    /**
+     * Receives the files a walk matched.
+     */
+    public interface Visitor {
+        void visit(FileIndex.Entry file);
+    }
+
+    /**
+     * A folder with its subfolders and files.
+     */
+    private static final class Folder {
+        /** The lower-cased name followed by '/'; empty for the root. */
+        final char[] lower;
+        final Folder parent;
+        final String name;
+        final Map<String, Folder> folderByName = new HashMap<>(4);
+        final List<Folder> folders = new ArrayList<>(4);
+        final Map<String, Integer> fileSlots = new HashMap<>(8);
+        final List<FileIndex.Entry> files = new ArrayList<>(8);
+        /** The lower-cased file names back to back, or null after a change. */
+        char[] names;
+        /** Where each file's name ends in names. */
+        int[] nameEnds;
+
+        Folder(Folder parent, String name) {
+            this.parent = parent;
+            this.name = name;
+            this.lower = name.isEmpty() ? new char[0] : (name.toLowerCase(Locale.ROOT) + "/").toCharArray();
+        }
+    }
+
+    private Folder root = new Folder(null, "");
+    private int size = 0;
+
+    /**
+     * Adds a file, replacing a file with the same path.
+     *
+     * @param file The file; its relative path decides its folder.
+     */
+    public void add(FileIndex.Entry file) {
+        Folder folder = root;
+        String path = file.relativePath;
+        int start = 0;
+        for (int slash = path.indexOf('/'); slash >= 0; slash = path.indexOf('/', start)) {
+            String name = path.substring(start, slash);
+            Folder child = folder.folderByName.get(name);
+            if (child == null) {
+                child = new Folder(folder, name);
+                folder.folderByName.put(name, child);
+                folder.folders.add(child);
+            }
+            folder = child;
+            start = slash + 1;
+        }
+        folder.names = null;
+        Integer slot = folder.fileSlots.get(file.name);
+        if (slot != null) {
+            folder.files.set(slot, file);
+        } else {
+            folder.fileSlots.put(file.name, folder.files.size());
+            folder.files.add(file);
+            size++;
+        }
+    }
+
+    /**
+     * Removes a file.
+     *
+     * @param relativePath The file's relative path.
+     * @return The removed file, or null if there was none.
+     */
+    public FileIndex.Entry remove(String relativePath) {
+        int slash = relativePath.lastIndexOf('/');
+        Folder folder = slash < 0 ? root : find(relativePath.substring(0, slash));
+        if (folder == null) {
+            return null;
+        }
+        Integer slot = folder.fileSlots.remove(relativePath.substring(slash + 1));
+        if (slot == null) {
+            return null;
+        }
+        folder.names = null;
+        // Fill the gap with the last file so removal does not shift the list
+        FileIndex.Entry removed = folder.files.get(slot);
+        FileIndex.Entry last = folder.files.remove(folder.files.size() - 1);
+        if (last != removed) {
+            folder.files.set(slot, last);
+            folder.fileSlots.put(last.name, slot);
+        }
+        size--;
+        prune(folder);
+        return removed;
+    }
+
+    /**
+     * Removes a folder with everything below it.
+     *
+     * @param relativePath The folder's relative path; "" clears the trie.
+     * @return The removed files.
+     */
+    public List<FileIndex.Entry> removeFolder(String relativePath) {
+        List<FileIndex.Entry> removed = new ArrayList<>();
+        Folder folder = relativePath.isEmpty() ? root : find(relativePath);
+        if (folder == null) {
+            return removed;
+        }
+        collect(folder, removed);
+        size -= removed.size();
+        if (folder == root) {
+            root = new Folder(null, "");
+        } else {
+            folder.parent.folderByName.remove(folder.name);
+            folder.parent.folders.remove(folder);
+            prune(folder.parent);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of files.
+     *
+     * @return The file count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits every file whose lower-cased path contains the pattern's
+     * characters in order.
+     *
+     * @param pattern The lower-cased query.
+     * @param visitor Receives the matching files.
+     */
+    public void match(char[] pattern, Visitor visitor) {
+        match(root, 0, pattern, visitor);
+    }
+
+    private static void match(Folder folder, int matched, char[] pattern, Visitor visitor) {
+        matched = advance(folder.lower, 0, folder.lower.length, matched, pattern);
+        List<FileIndex.Entry> files = folder.files;
+        if (folder.names == null) {
+            pack(folder);
+        }
+        char[] names = folder.names;
+        int[] nameEnds = folder.nameEnds;
+        int start = 0;
+        for (int i = 0; i < nameEnds.length; i++) {
+            if (matched == pattern.length || advance(names, start, nameEnds[i], matched, pattern) == pattern.length) {
+                visitor.visit(files.get(i));
+            }
+            start = nameEnds[i];
+        }
+        List<Folder> folders = folder.folders;
+        for (int i = 0; i < folders.size(); i++) {
+            match(folders.get(i), matched, pattern, visitor);
+        }
+    }
+
+    /**
+     * Greedily matches more of the pattern against text.
+     *
+     * @return How many pattern characters are matched afterwards.
+     */
+    private static int advance(char[] text, int from, int to, int matched, char[] pattern) {
+        for (int i = from; i < to && matched < pattern.length; i++) {
+            if (text[i] == pattern[matched]) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private static void pack(Folder folder) {
+        int length = 0;
+        for (FileIndex.Entry file : folder.files) {
+            length += file.lower.length - file.nameStart;
+        }
+        char[] names = new char[length];
+        int[] nameEnds = new int[folder.files.size()];
+        int end = 0;
+        for (int i = 0; i < nameEnds.length; i++) {
+            FileIndex.Entry file = folder.files.get(i);
+            int nameLength = file.lower.length - file.nameStart;
+            System.arraycopy(file.lower, file.nameStart, names, end, nameLength);
+            end += nameLength;
+            nameEnds[i] = end;
+        }
+        folder.names = names;
+        folder.nameEnds = nameEnds;
+    }
+
+    private Folder find(String relativePath) {
+        Folder folder = root;
+        int start = 0;
+        while (folder != null && start <= relativePath.length()) {
+            int slash = relativePath.indexOf('/', start);
+            int end = slash < 0 ? relativePath.length() : slash;
+            folder = folder.folderByName.get(relativePath.substring(start, end));
+            start = end + 1;
+        }
+        return folder;
+    }
+
+    private static void collect(Folder folder, List<FileIndex.Entry> into) {
+        into.addAll(folder.files);
+        for (Folder child : folder.folders) {
+            collect(child, into);
+        }
+    }
+
+    /**
+     * Drops folders left empty.
+     */
+    private void prune(Folder folder) {
+        while (folder != root && folder.files.isEmpty() && folder.folders.isEmpty()) {
+            folder.parent.folderByName.remove(folder.name);
+            folder.parent.folders.remove(folder);
+            folder = folder.parent;
+        }
+    }
+}
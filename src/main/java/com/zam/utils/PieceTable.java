@@ -0,0 +1,401 @@
+package com.zam.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable piece-table text model.
+ *
+ * Responsibilities:
+ * - Describing text as a sequence of pieces that point either into the
+ *   original text or into an append-only buffer of inserted text.
+ * - Inserting and deleting in O(log n) expected time; pieces are kept in a
+ *   randomized balanced tree (a treap) ordered by position.
+ * - Returning a new PieceTable for every edit while sharing all untouched
+ *   nodes and both buffers, so every version is a cheap, thread-safe
+ *   snapshot and keeping an old version costs only the nodes that changed.
+ *
+ * The original text is never copied: any CharSequence can back it, such as
+ * the String a file was loaded into. Consecutive typed characters extend the
+ * last piece instead of adding new ones.
+ *
+ * Usage:
+ * ```java
+ * PieceTable v1 = PieceTable.of(fileContent);
+ * PieceTable v2 = v1.insert(10, "hello").delete(0, 3);
+ * String text = v1.toString();  // v1 is unchanged
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class PieceTable implements CharSequence {
+
+    /** Below this many inserted characters compact never copies. */
+    private static final int MIN_COMPACT_LENGTH = 64 * 1024;
+
+    private final CharSequence original;
+    private final AddBuffer added;
+    private final Node root;
+    private Leaf lastLeaf; // cache for sequential charAt; racy but immutable, like String.hash
+
+    /**
+     * Append-only storage for inserted text, shared by every version derived
+     * from the same original. Ranges handed out are never modified again, so
+     * versions read them without locking.
+     */
+    private static final class AddBuffer {
+        private volatile char[] chars = new char[1024];
+        private volatile int length;
+
+        /**
+         * Appends text and returns the offset it was stored at.
+         */
+        synchronized int append(CharSequence text) {
+            int start = length;
+            int end = start + text.length();
+            char[] buffer = chars;
+            if (end > buffer.length) {
+                char[] grown = new char[Math.max(end, buffer.length * 2)];
+                System.arraycopy(buffer, 0, grown, 0, start);
+                buffer = grown;
+            }
+            if (text instanceof String) {
+                ((String) text).getChars(0, text.length(), buffer, start);
+            } else {
+                for (int i = 0; i < text.length(); i++) {
+                    buffer[start + i] = text.charAt(i);
+                }
+            }
+            chars = buffer;
+            length = end; // publishes the new characters
+            return start;
+        }
+    }
+
+    /**
+     * A tree node holding one piece. Nodes are never modified after creation.
+     */
+    private static final class Node {
+        final boolean fromAdd;
+        final int start;
+        final int length;
+        final int priority;
+        final Node left;
+        final Node right;
+        final int size;  // characters in this subtree
+        final int count; // pieces in this subtree
+
+        Node(boolean fromAdd, int start, int length, int priority, Node left, Node right) {
+            this.fromAdd = fromAdd;
+            this.start = start;
+            this.length = length;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + length + size(right);
+            this.count = count(left) + 1 + count(right);
+        }
+
+        Node with(Node newLeft, Node newRight) {
+            return new Node(fromAdd, start, length, priority, newLeft, newRight);
+        }
+    }
+
+    /**
+     * A piece together with its offset in the text.
+     */
+    private static final class Leaf {
+        final Node node;
+        final int offset;
+
+        Leaf(Node node, int offset) {
+            this.node = node;
+            this.offset = offset;
+        }
+    }
+
+    private PieceTable(CharSequence original, AddBuffer added, Node root) {
+        this.original = original;
+        this.added = added;
+        this.root = root;
+    }
+
+    /**
+     * Creates a piece table over the given text without copying it.
+     *
+     * @param original The initial text; it must not change afterwards.
+     * @return A piece table holding the text.
+     */
+    public static PieceTable of(CharSequence original) {
+        Node root = original.length() == 0 ? null : leaf(false, 0, original.length());
+        return new PieceTable(original, new AddBuffer(), root);
+    }
+
+    /**
+     * Returns a new version with text inserted.
+     *
+     * @param offset The offset to insert at.
+     * @param text   The text to insert.
+     * @return The new version; this version is unchanged.
+     */
+    public PieceTable insert(int offset, CharSequence text) {
+        checkRange(offset, 0);
+        if (text.length() == 0) {
+            return this;
+        }
+        int start = added.append(text);
+        Node[] halves = split(root, offset);
+        Node last = rightmost(halves[0]);
+        Node left;
+        if (last != null && last.fromAdd && last.start + last.length == start) {
+            // Typing at the end of the previous insertion: grow that piece
+            left = extendRightmost(halves[0], text.length());
+        } else {
+            left = merge(halves[0], leaf(true, start, text.length()));
+        }
+        return new PieceTable(original, added, merge(left, halves[1]));
+    }
+
+    /**
+     * Returns a new version with a range removed.
+     *
+     * @param offset The start of the range.
+     * @param length The number of characters to remove.
+     * @return The new version; this version is unchanged.
+     */
+    public PieceTable delete(int offset, int length) {
+        checkRange(offset, length);
+        if (length == 0) {
+            return this;
+        }
+        Node[] head = split(root, offset);
+        Node[] tail = split(head[1], length);
+        return new PieceTable(original, added, merge(head[0], tail[1]));
+    }
+
+    @Override
+    public int length() {
+        return size(root);
+    }
+
+    /**
+     * Returns the character at an offset in O(log n), or O(1) when the offset
+     * is in the same piece as the previous call, so scanning the text in order
+     * (for example with a regex Matcher) stays cheap.
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+        }
+        Leaf leaf = lastLeaf;
+        if (leaf == null || index < leaf.offset || index >= leaf.offset + leaf.node.length) {
+            Node node = root;
+            int base = 0;
+            while (true) {
+                int leftSize = size(node.left);
+                if (index < base + leftSize) {
+                    node = node.left;
+                } else if (index < base + leftSize + node.length) {
+                    break;
+                } else {
+                    base += leftSize + node.length;
+                    node = node.right;
+                }
+            }
+            leaf = new Leaf(node, base + size(node.left));
+            lastLeaf = leaf;
+        }
+        int at = leaf.node.start + index - leaf.offset;
+        return leaf.node.fromAdd ? added.chars[at] : original.charAt(at);
+    }
+
+    /**
+     * Returns a range as another piece table sharing this one's buffers. No
+     * text is copied.
+     */
+    @Override
+    public PieceTable subSequence(int start, int end) {
+        checkRange(start, end - start);
+        Node[] head = split(root, start);
+        Node[] tail = split(head[1], end - start);
+        return new PieceTable(original, added, tail[0]);
+    }
+
+    /**
+     * Copies a range of characters into an array.
+     *
+     * @param srcBegin The first offset to copy.
+     * @param srcEnd   The offset after the last one to copy.
+     * @param dst      The destination array.
+     * @param dstBegin The position in dst to copy to.
+     */
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        checkRange(srcBegin, srcEnd - srcBegin);
+        copy(root, srcBegin, srcEnd, dst, dstBegin - srcBegin);
+    }
+
+    /**
+     * Returns a range of the text as a String.
+     *
+     * @param offset The start of the range.
+     * @param length The number of characters.
+     * @return The text.
+     */
+    public String getText(int offset, int length) {
+        char[] chars = new char[length];
+        getChars(offset, offset + length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Returns how many characters the buffer of inserted text holds. It keeps
+     * every character ever inserted, also the ones deleted again.
+     *
+     * @return The buffer length, shared by all versions of this text.
+     */
+    public int addedLength() {
+        return added.length;
+    }
+
+    /**
+     * Returns this text with a fresh buffer once the buffer of inserted text
+     * has outgrown the text itself; otherwise returns this version. Copying
+     * the text costs O(n), but happens only after as many characters were
+     * inserted, so it adds O(1) per inserted character. Older versions keep
+     * the old buffer.
+     *
+     * @return An equal version whose buffers hold no more than needed.
+     */
+    public PieceTable compact() {
+        if (added.length <= Math.max(length(), MIN_COMPACT_LENGTH)) {
+            return this;
+        }
+        return of(toString());
+    }
+
+    /**
+     * Returns the number of pieces, useful to judge fragmentation.
+     *
+     * @return The piece count.
+     */
+    public int pieceCount() {
+        return count(root);
+    }
+
+    @Override
+    public String toString() {
+        return getText(0, length());
+    }
+
+    /**
+     * Copies the part of a subtree that overlaps [from, to). The shift maps
+     * document offsets to positions in dst.
+     */
+    private void copy(Node node, int from, int to, char[] dst, int shift) {
+        // Offsets are relative to the start of this subtree
+        while (node != null && from < to) {
+            int leftSize = size(node.left);
+            if (from < leftSize) {
+                copy(node.left, from, Math.min(to, leftSize), dst, shift);
+            }
+            int pieceEnd = leftSize + node.length;
+            int copyFrom = Math.max(from, leftSize);
+            int copyTo = Math.min(to, pieceEnd);
+            if (copyFrom < copyTo) {
+                int src = node.start + copyFrom - leftSize;
+                int count = copyTo - copyFrom;
+                if (node.fromAdd) {
+                    System.arraycopy(added.chars, src, dst, copyFrom + shift, count);
+                } else if (original instanceof String) {
+                    ((String) original).getChars(src, src + count, dst, copyFrom + shift);
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        dst[copyFrom + shift + i] = original.charAt(src + i);
+                    }
+                }
+            }
+            // Continue in the right subtree without recursing
+            from = Math.max(0, from - pieceEnd);
+            to -= pieceEnd;
+            shift += pieceEnd;
+            node = node.right;
+        }
+    }
+
+    private void checkRange(int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > length()) {
+            throw new IndexOutOfBoundsException("range " + offset + "+" + length + ", length " + length());
+        }
+    }
+
+    private static Node leaf(boolean fromAdd, int start, int length) {
+        return new Node(fromAdd, start, length, ThreadLocalRandom.current().nextInt(), null, null);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int count(Node node) {
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * Splits a tree so the first half holds exactly pos characters. A piece
+     * that straddles pos is cut in two.
+     */
+    private static Node[] split(Node node, int pos) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int leftSize = size(node.left);
+        if (pos <= leftSize) {
+            Node[] halves = split(node.left, pos);
+            return new Node[] { halves[0], node.with(halves[1], node.right) };
+        }
+        int pieceEnd = leftSize + node.length;
+        if (pos >= pieceEnd) {
+            Node[] halves = split(node.right, pos - pieceEnd);
+            return new Node[] { node.with(node.left, halves[0]), halves[1] };
+        }
+        int cut = pos - leftSize;
+        Node head = new Node(node.fromAdd, node.start, cut, node.priority, node.left, null);
+        Node tail = new Node(node.fromAdd, node.start + cut, node.length - cut, node.priority, null, node.right);
+        return new Node[] { head, tail };
+    }
+
+    /**
+     * Concatenates two trees; every piece of a comes before every piece of b.
+     */
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority >= b.priority) {
+            return a.with(a.left, merge(a.right, b));
+        }
+        return b.with(merge(a, b.left), b.right);
+    }
+
+    private static Node rightmost(Node node) {
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    private static Node extendRightmost(Node node, int extra) {
+        if (node.right == null) {
+            return new Node(node.fromAdd, node.start, node.length + extra, node.priority, node.left, null);
+        }
+        return node.with(node.left, extendRightmost(node.right, extra));
+    }
+}
@@ -0,0 +1,375 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Parallel text search over the files of a project folder.
+ *
+ * Responsibilities:
+ * - Listing searchable text files under a project root.
+ * - Compiling literal or regular expression queries once into a Pattern.
+ * - Scanning files on virtual threads, a bounded number at a time, and
+ *   streaming each match to a callback as soon as it is found. Files are
+ *   decoded as the editor decodes them, so match offsets fit an open tab.
+ * - Narrowing literal queries to candidate files using an optional TrigramIndex.
+ *
+ * Usage:
+ * ```java
+ * ProjectSearcher searcher = new ProjectSearcher(root, trigramIndex);
+ * ProjectSearcher.Summary summary = searcher.search(ProjectSearcher.compile("counter", false, false),
+ *         openBuffers, match -> publish(match), cancelled);
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class ProjectSearcher {
+
+    /** Files larger than this are skipped by project search. */
+    public static final long MAX_FILE_SIZE = 8L * 1024 * 1024;
+    /** Files read and searched at the same time. */
+    private static final int MAX_FILES_IN_FLIGHT = 64;
+    /** Folders never searched or watched. */
+    static final Set<String> SKIPPED_DIRECTORIES = new HashSet<>(Arrays.asList(
+        ".git", ".svn", ".idea", ".vscode", "target", "build", "node_modules", ReferenceIndex.INDEX_DIRECTORY));
+
+    private final Path root;
+    private final TrigramIndex trigramIndex;
+
+    /**
+     * A single match inside a file.
+     */
+    public static final class Match {
+        public final Path file;
+        public final int line;
+        public final int column;
+        public final int offset;
+        public final int length;
+        public final String lineText;
+
+        public Match(Path file, int line, int column, int offset, int length, String lineText) {
+            this.file = file;
+            this.line = line;
+            this.column = column;
+            this.offset = offset;
+            this.length = length;
+            this.lineText = lineText;
+        }
+
+        @Override
+        public String toString() {
+            return file.getFileName() + ":" + line + ":" + column + "    " + lineText.trim();
+        }
+    }
+
+    /**
+     * Totals reported when a search finishes.
+     */
+    public static final class Summary {
+        public final int filesSearched;
+        public final int filesMatched;
+        public final int matches;
+        public final boolean usedIndex;
+
+        Summary(int filesSearched, int filesMatched, int matches, boolean usedIndex) {
+            this.filesSearched = filesSearched;
+            this.filesMatched = filesMatched;
+            this.matches = matches;
+            this.usedIndex = usedIndex;
+        }
+    }
+
+    /**
+     * Constructor for ProjectSearcher.
+     *
+     * @param root         The project folder.
+     * @param trigramIndex An index of the same folder, or null to scan every file.
+     */
+    public ProjectSearcher(Path root, TrigramIndex trigramIndex) {
+        this.root = root;
+        this.trigramIndex = trigramIndex;
+    }
+
+    /**
+     * Compiles a query into a Pattern.
+     *
+     * @param query     The text typed by the user.
+     * @param regex     Whether the query is a regular expression.
+     * @param matchCase Whether matching is case sensitive.
+     * @return The compiled pattern.
+     * @throws java.util.regex.PatternSyntaxException If the regular expression is invalid.
+     */
+    public static Pattern compile(String query, boolean regex, boolean matchCase) {
+        int flags = Pattern.MULTILINE;
+        if (!matchCase) {
+            flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        }
+        if (!regex) {
+            flags |= Pattern.LITERAL;
+        }
+        return Pattern.compile(query, flags);
+    }
+
+    /**
+     * Checks a replacement the way Matcher.appendReplacement reads it, so a
+     * bad one is reported before any text is changed.
+     *
+     * @param pattern     The compiled search pattern.
+     * @param replacement The replacement, using Matcher syntax such as `$1`.
+     * @throws IllegalArgumentException If the replacement ends in an escape or
+     *                                  names a group the pattern does not have.
+     */
+    public static void checkReplacement(Pattern pattern, String replacement) {
+        int groups = pattern.matcher("").groupCount();
+        int i = 0;
+        while (i < replacement.length()) {
+            char c = replacement.charAt(i++);
+            if (c == '\\') {
+                if (i == replacement.length()) {
+                    throw new IllegalArgumentException("nothing to escape after the final \\");
+                }
+                i++;
+            } else if (c == '$') {
+                if (i == replacement.length()) {
+                    throw new IllegalArgumentException("no group after the final $");
+                }
+                char next = replacement.charAt(i);
+                if (next == '{') {
+                    int close = replacement.indexOf('}', i);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("unclosed group name");
+                    }
+                    String name = replacement.substring(i + 1, close);
+                    if (!pattern.namedGroups().containsKey(name)) {
+                        throw new IllegalArgumentException("no group named " + name);
+                    }
+                    i = close + 1;
+                } else if (next >= '0' && next <= '9') {
+                    int group = next - '0';
+                    if (group > groups) {
+                        throw new IllegalArgumentException("no group " + group);
+                    }
+                    i++;
+                    // Like Matcher, further digits belong to the number while such a group exists
+                    while (i < replacement.length() && replacement.charAt(i) >= '0' && replacement.charAt(i) <= '9'
+                            && group * 10 + replacement.charAt(i) - '0' <= groups) {
+                        group = group * 10 + replacement.charAt(i++) - '0';
+                    }
+                } else {
+                    throw new IllegalArgumentException("$ must be followed by a group number or {name}");
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the files project search looks at, skipping VCS, build, and index folders.
+     *
+     * @param root The project folder.
+     * @return Regular files small enough to search.
+     * @throws IOException If the folder cannot be walked.
+     */
+    public static List<Path> listFiles(Path root) throws IOException {
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                boolean skipped = !dir.equals(root) && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString());
+                return skipped ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && attrs.size() <= MAX_FILE_SIZE) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE; // an unreadable folder is left out
+            }
+        });
+        return files;
+    }
+
+    /**
+     * Searches the project, calling the sink from worker threads for every match.
+     *
+     * @param pattern     The compiled query.
+     * @param literal     The literal query text when not a regex, used for the
+     *                    trigram lookup; null for regex queries.
+     * @param openBuffers Unsaved editor contents keyed by absolute path; these are
+     *                    searched instead of the file on disk.
+     * @param sink        Receives matches; must be thread-safe.
+     * @param cancelled   Set to true to stop the search early.
+     * @return Totals for the completed search.
+     * @throws IOException If the project folder cannot be listed.
+     */
+    public Summary search(Pattern pattern, String literal, Map<Path, ? extends CharSequence> openBuffers,
+                          Consumer<Match> sink, AtomicBoolean cancelled) throws IOException {
+        List<Path> files = listFiles(root);
+        boolean usedIndex = false;
+        if (trigramIndex != null && literal != null) {
+            Set<Path> candidates = trigramIndex.candidates(literal);
+            if (candidates != null) {
+                usedIndex = true;
+                files = files.stream()
+                    .filter(p -> candidates.contains(p) || openBuffers.containsKey(p) || trigramIndex.isStale(p))
+                    .collect(Collectors.toList());
+            }
+        }
+
+        AtomicInteger filesMatched = new AtomicInteger();
+        AtomicInteger matches = new AtomicInteger();
+        // Bounds how many files are held in memory at once
+        Semaphore inFlight = new Semaphore(MAX_FILES_IN_FLIGHT);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                if (cancelled.get()) {
+                    break;
+                }
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelled.set(true);
+                    break;
+                }
+                executor.submit(() -> {
+                    try {
+                        if (cancelled.get()) {
+                            return;
+                        }
+                        CharSequence text = openBuffers.get(file);
+                        if (text == null) {
+                            text = readText(file);
+                        }
+                        if (text != null) {
+                            int found = searchText(file, text, pattern, sink, cancelled);
+                            if (found > 0) {
+                                filesMatched.incrementAndGet();
+                                matches.addAndGet(found);
+                            }
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Summary(files.size(), filesMatched.get(), matches.get(), usedIndex);
+    }
+
+    /**
+     * Finds all matches in one text, reporting line and column for each.
+     *
+     * @return The number of matches.
+     */
+    static int searchText(Path file, CharSequence text, Pattern pattern, Consumer<Match> sink, AtomicBoolean cancelled) {
+        Matcher matcher = pattern.matcher(text);
+        int count = 0;
+        int line = 1;
+        int lineStart = 0;
+        int scanned = 0;
+        while (matcher.find() && !cancelled.get()) {
+            if (matcher.end() == matcher.start() && matcher.start() >= text.length()) {
+                break;
+            }
+            int start = matcher.start();
+            // Advance the line counter incrementally instead of rescanning from the top
+            for (; scanned < start; scanned++) {
+                if (text.charAt(scanned) == '\n') {
+                    line++;
+                    lineStart = scanned + 1;
+                }
+            }
+            int lineEnd = start;
+            while (lineEnd < text.length() && text.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            sink.accept(new Match(file, line, start - lineStart + 1, start, matcher.end() - start,
+                    text.subSequence(lineStart, lineEnd).toString()));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads a file as the editor shows it, in its detected charset and with
+     * its line endings normalized, so match offsets line up with an opened
+     * tab. Returns null for binary or unreadable files.
+     */
+    static String readText(Path file) {
+        try {
+            if (isBinary(file)) {
+                return null;
+            }
+            return TextCodec.readString(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether the start of a file holds a NUL byte, which text only has
+     * when it is UTF-16 with a byte order mark.
+     */
+    private static boolean isBinary(Path file) throws IOException {
+        byte[] probe = new byte[8192];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(probe, 0, probe.length);
+        }
+        if (read >= 2 && (probe[0] == (byte) 0xFE && probe[1] == (byte) 0xFF
+                || probe[0] == (byte) 0xFF && probe[1] == (byte) 0xFE)) {
+            return false;
+        }
+        for (int i = 0; i < read; i++) {
+            if (probe[i] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Groups matches by file, preserving the order files were first seen.
+     *
+     * @param matches The matches to group.
+     * @return The distinct files.
+     */
+    public static List<Path> filesOf(List<Match> matches) {
+        List<Path> files = new ArrayList<>();
+        Set<Path> seen = new HashSet<>();
+        for (Match match : matches) {
+            if (seen.add(match.file)) {
+                files.add(match.file);
+            }
+        }
+        return files;
+    }
+}
@@ -1,9 +1,18 @@
 package com.zam.utils;
 
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for handling properties files.
@@ -11,6 +20,12 @@ import java.util.Properties;
  * Responsibilities:
  * - Loading and saving properties from/to a file.
  * - Providing methods to get and set string, boolean, and integer properties.
+ * - Batching changes in memory and writing them once, SAVE_DELAY_MS after
+ *   the first unsaved change, on a background thread. The file is written to
+ *   a temporary file and renamed over the old one, so it is never half written.
+ * - Applying several changes at once through a Batch, so a save never holds
+ *   only some of them.
+ * - Writing unsaved changes on exit through a shutdown hook, or earlier with flush.
  *
  * Usage:
  * ```java
@@ -35,6 +50,15 @@ import java.util.Properties;
  *
  * // Set an integer property
  * propertiesHandler.setIntegerProperty("intKey", 42);
+ *
+ * // Set several properties at once
+ * propertiesHandler.batch()
+ *     .setProperty("key", "value")
+ *     .setBooleanProperty("boolKey", true)
+ *     .commit();
+ *
+ * // Write unsaved changes now, for example before exiting
+ * propertiesHandler.flush();
  * ```
  *
  * @author Muhammed Zohaib
@@ -42,8 +66,73 @@ import java.util.Properties;
  * @since 2024-01-06
  */
 public class PropertiesHandler {
+
+    /** How long changes are collected before they are written. */
+    static final long SAVE_DELAY_MS = 500;
+
     private Properties properties;
     private String propertiesFile;
+    /** Whether properties has changes not yet written; guarded by this. */
+    private boolean dirty = false;
+    /** Whether a save is scheduled; guarded by this. */
+    private boolean scheduled = false;
+    private ScheduledExecutorService saver;
+    /** Serializes writes of the file. */
+    private final Object writeLock = new Object();
+
+    /**
+     * A set of changes applied together by commit.
+     */
+    public final class Batch {
+        private final Map<String, String> changes = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Stages a string property.
+         *
+         * @param key   The key of the property.
+         * @param value The value to set.
+         * @return This batch.
+         */
+        public Batch setProperty(String key, String value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        /**
+         * Stages a boolean property.
+         *
+         * @param key   The key of the property.
+         * @param value The value to set.
+         * @return This batch.
+         */
+        public Batch setBooleanProperty(String key, boolean value) {
+            return setProperty(key, Boolean.toString(value));
+        }
+
+        /**
+         * Stages an integer property.
+         *
+         * @param key   The key of the property.
+         * @param value The value to set.
+         * @return This batch.
+         */
+        public Batch setIntegerProperty(String key, int value) {
+            return setProperty(key, Integer.toString(value));
+        }
+
+        /**
+         * Applies every staged change at once and schedules one save.
+         */
+        public void commit() {
+            if (!changes.isEmpty()) {
+                apply(changes);
+                changes.clear();
+            }
+        }
+    }
 
     /**
      * Constructor for PropertiesHandler.
@@ -54,6 +143,7 @@ public class PropertiesHandler {
         this.propertiesFile = propertiesFile;
         properties = new Properties();
         loadProperties();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "properties-flush"));
     }
 
     /**
@@ -84,8 +174,7 @@ public class PropertiesHandler {
      * @param value The value to set.
      */
     public void setProperty(String key, String value) {
-        properties.setProperty(key, value);
-        saveProperties();
+        apply(Map.of(key, value));
     }
 
     /**
@@ -106,8 +195,7 @@ public class PropertiesHandler {
      * @param value The value to set.
      */
     public void setBooleanProperty(String key, boolean value) {
-        properties.setProperty(key, Boolean.toString(value));
-        saveProperties();
+        setProperty(key, Boolean.toString(value));
     }
 
     /**
@@ -121,6 +209,22 @@ public class PropertiesHandler {
         return Integer.parseInt(value);
     }
 
+    /**
+     * Get an integer property, falling back to a default when it is missing or invalid.
+     *
+     * @param key          The key of the property.
+     * @param defaultValue The value to use when the property is not a valid integer.
+     * @return The value of the property as an integer.
+     */
+    public int getIntegerProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     /**
      * Set an integer property.
      *
@@ -128,18 +232,74 @@ public class PropertiesHandler {
      * @param value The value to set.
      */
     public void setIntegerProperty(String key, int value) {
-        properties.setProperty(key, Integer.toString(value));
-        saveProperties();
+        setProperty(key, Integer.toString(value));
     }
 
     /**
-     * Save properties to the file.
+     * Starts a set of changes that are applied together.
+     *
+     * @return An empty batch; call commit to apply it.
      */
-    private void saveProperties() {
-        try (FileOutputStream fileOutputStream = new FileOutputStream(this.propertiesFile)) {
-            properties.store(fileOutputStream, null);
-        } catch (IOException e) {
-            System.out.println("Error saving properties file: " + e.getMessage());
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Writes unsaved changes now, on the calling thread.
+     */
+    public void flush() {
+        Properties snapshot = new Properties();
+        synchronized (writeLock) {
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                snapshot.putAll(properties);
+                dirty = false;
+            }
+            Path file = Paths.get(propertiesFile);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    snapshot.store(out, null);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                System.out.println("Error saving properties file: " + e.getMessage());
+                synchronized (this) {
+                    dirty = true; // retried with the next change or on exit
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies changes in memory and schedules a save unless one is pending.
+     *
+     * @param changes The values by key.
+     */
+    private synchronized void apply(Map<String, String> changes) {
+        for (Map.Entry<String, String> change : changes.entrySet()) {
+            if (!change.getValue().equals(properties.getProperty(change.getKey()))) {
+                properties.setProperty(change.getKey(), change.getValue());
+                dirty = true;
+            }
+        }
+        if (dirty && !scheduled) {
+            if (saver == null) {
+                saver = Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "properties-saver");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            scheduled = true;
+            saver.schedule(() -> {
+                synchronized (this) {
+                    scheduled = false;
+                }
+                flush();
+            }, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
         }
     }
 }
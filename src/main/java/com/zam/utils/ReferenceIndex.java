@@ -0,0 +1,410 @@
+package com.zam.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent index of identifier declarations and usages for a project folder.
+ *
+ * Responsibilities:
+ * - Scanning every `.java` file under the project root with JavaSourceScanner.
+ * - Answering find-usages and go-to-definition queries from memory.
+ * - Persisting the index to `.bitcode/references.idx` so later sessions only
+ *   rescan files whose size or modification time changed.
+ * - Updating a single file's entry when it is saved or changed on disk,
+ *   and dropping it when it is deleted.
+ *
+ * Each file keeps a sorted array of the identifiers it contains, so a usage
+ * query is one binary search per file and never touches the disk.
+ *
+ * Usage:
+ * ```java
+ * ReferenceIndex index = new ReferenceIndex(projectRoot);
+ * index.build();                       // off the EDT
+ * List<ReferenceIndex.Location> uses = index.findUsages("counter");
+ * index.update(savedFile, savedText);  // after a save
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class ReferenceIndex {
+
+    public static final String INDEX_DIRECTORY = ".bitcode";
+    private static final String INDEX_FILE = "references.idx";
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path root;
+    private final Map<Path, FileEntry> files = new ConcurrentHashMap<>();
+
+    /**
+     * A position of an identifier inside a source file.
+     */
+    public static final class Location {
+        public final Path file;
+        public final int line;
+        public final int column;
+        public final char kind;
+
+        public Location(Path file, int line, int column, char kind) {
+            this.file = file;
+            this.line = line;
+            this.column = column;
+            this.kind = kind;
+        }
+
+        @Override
+        public String toString() {
+            return file.getFileName() + ":" + line + ":" + column;
+        }
+    }
+
+    /**
+     * Index data for one source file.
+     */
+    private static final class FileEntry {
+        long modified;
+        long size;
+        /** Sorted distinct identifiers. */
+        String[] names;
+        /** For names[i], packed (line << 16 | column) positions. */
+        int[][] positions;
+        /** Sorted declared names, parallel to declPositions and declKinds. */
+        String[] declNames;
+        int[] declPositions;
+        char[] declKinds;
+    }
+
+    /**
+     * Constructor for ReferenceIndex.
+     *
+     * @param root The project folder to index.
+     */
+    public ReferenceIndex(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the project folder this index covers.
+     *
+     * @return The project root.
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Loads the persisted index, rescans stale or new files in parallel, drops
+     * deleted files, and writes the refreshed index back to disk. Call this off
+     * the EDT.
+     *
+     * @throws IOException If the project folder cannot be walked.
+     */
+    public void build() throws IOException {
+        load();
+        Set<Path> sources = new HashSet<>();
+        Path indexDirectory = root.resolve(INDEX_DIRECTORY);
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return dir.equals(indexDirectory) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && file.toString().endsWith(".java")) {
+                    sources.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE; // an unreadable folder is left out
+            }
+        });
+        files.keySet().retainAll(sources);
+        sources.parallelStream().forEach(file -> {
+            try {
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                long size = Files.size(file);
+                FileEntry old = files.get(file);
+                if (old == null || old.modified != modified || old.size != size) {
+                    FileEntry entry = scan(TextCodec.readString(file));
+                    entry.modified = modified;
+                    entry.size = size;
+                    files.put(file, entry);
+                }
+            } catch (IOException | RuntimeException e) {
+                files.remove(file); // unreadable; skip it
+            }
+        });
+        save();
+    }
+
+    /**
+     * Re-indexes one file from its current text, typically right after a save,
+     * and persists the index.
+     *
+     * @param file The saved file.
+     * @param text The text that was written.
+     */
+    public void update(Path file, CharSequence text) {
+        Path normalized = file.toAbsolutePath().normalize();
+        if (!normalized.startsWith(root) || !normalized.toString().endsWith(".java")) {
+            return;
+        }
+        FileEntry entry = scan(text);
+        try {
+            entry.modified = Files.getLastModifiedTime(normalized).toMillis();
+            entry.size = Files.size(normalized);
+        } catch (IOException e) {
+            entry.modified = -1; // forces a rescan on the next build
+        }
+        files.put(normalized, entry);
+        try {
+            save();
+        } catch (IOException e) {
+            System.out.println("Error saving reference index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops a deleted file from the index and persists the index.
+     *
+     * @param file The deleted file.
+     */
+    public void remove(Path file) {
+        if (files.remove(file.toAbsolutePath().normalize()) != null) {
+            try {
+                save();
+            } catch (IOException e) {
+                System.out.println("Error saving reference index: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Finds every occurrence of an identifier across the project.
+     *
+     * @param name The identifier.
+     * @return The occurrences, grouped by file and ordered by position.
+     */
+    public List<Location> findUsages(String name) {
+        List<Location> result = new ArrayList<>();
+        for (Map.Entry<Path, FileEntry> e : sortedEntries()) {
+            FileEntry entry = e.getValue();
+            int index = Arrays.binarySearch(entry.names, name);
+            if (index >= 0) {
+                for (int packed : entry.positions[index]) {
+                    result.add(new Location(e.getKey(), packed >>> 16, packed & 0xFFFF, (char) 0));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds declarations of an identifier across the project.
+     *
+     * @param name The identifier.
+     * @return The declarations, types first, then methods, then variables.
+     */
+    public List<Location> findDefinitions(String name) {
+        List<Location> result = new ArrayList<>();
+        for (Map.Entry<Path, FileEntry> e : sortedEntries()) {
+            FileEntry entry = e.getValue();
+            int index = Arrays.binarySearch(entry.declNames, name);
+            if (index < 0) {
+                continue;
+            }
+            // Names can repeat; widen to the full run of equal entries
+            int from = index;
+            while (from > 0 && entry.declNames[from - 1].equals(name)) {
+                from--;
+            }
+            for (int i = from; i < entry.declNames.length && entry.declNames[i].equals(name); i++) {
+                int packed = entry.declPositions[i];
+                result.add(new Location(e.getKey(), packed >>> 16, packed & 0xFFFF, entry.declKinds[i]));
+            }
+        }
+        result.sort((a, b) -> Integer.compare(kindRank(a.kind), kindRank(b.kind)));
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed files.
+     *
+     * @return The file count.
+     */
+    public int size() {
+        return files.size();
+    }
+
+    private static int kindRank(char kind) {
+        switch (kind) {
+            case JavaSourceScanner.KIND_TYPE:
+                return 0;
+            case JavaSourceScanner.KIND_METHOD:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    private List<Map.Entry<Path, FileEntry>> sortedEntries() {
+        List<Map.Entry<Path, FileEntry>> entries = new ArrayList<>(files.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        return entries;
+    }
+
+    /**
+     * Scans source text into a compact FileEntry.
+     */
+    private static FileEntry scan(CharSequence text) {
+        final Map<String, List<Integer>> usages = new HashMap<>();
+        final List<Object[]> declarations = new ArrayList<>();
+        JavaSourceScanner.scan(text, new JavaSourceScanner.Listener() {
+            @Override
+            public void identifier(String name, int line, int column) {
+                usages.computeIfAbsent(name, k -> new ArrayList<>(2)).add(pack(line, column));
+            }
+
+            @Override
+            public void declaration(String name, char kind, int line, int column) {
+                declarations.add(new Object[] { name, pack(line, column), kind });
+            }
+        });
+
+        FileEntry entry = new FileEntry();
+        entry.names = usages.keySet().toArray(new String[0]);
+        Arrays.sort(entry.names);
+        entry.positions = new int[entry.names.length][];
+        for (int i = 0; i < entry.names.length; i++) {
+            List<Integer> list = usages.get(entry.names[i]);
+            int[] packed = new int[list.size()];
+            for (int j = 0; j < packed.length; j++) {
+                packed[j] = list.get(j);
+            }
+            entry.positions[i] = packed;
+        }
+        declarations.sort((a, b) -> ((String) a[0]).compareTo((String) b[0]));
+        entry.declNames = new String[declarations.size()];
+        entry.declPositions = new int[declarations.size()];
+        entry.declKinds = new char[declarations.size()];
+        for (int i = 0; i < declarations.size(); i++) {
+            Object[] d = declarations.get(i);
+            entry.declNames[i] = (String) d[0];
+            entry.declPositions[i] = (Integer) d[1];
+            entry.declKinds[i] = (Character) d[2];
+        }
+        return entry;
+    }
+
+    private static int pack(int line, int column) {
+        // Lines beyond 65535 or very long lines are clamped rather than overflowing
+        return (Math.min(line, 0xFFFF) << 16) | Math.min(column, 0xFFFF);
+    }
+
+    private Path indexFile() {
+        return root.resolve(INDEX_DIRECTORY).resolve(INDEX_FILE);
+    }
+
+    /**
+     * Loads the persisted index if present and of the current format.
+     */
+    private void load() {
+        Path file = indexFile();
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int f = 0; f < count; f++) {
+                Path path = root.resolve(in.readUTF());
+                FileEntry entry = new FileEntry();
+                entry.modified = in.readLong();
+                entry.size = in.readLong();
+                int names = in.readInt();
+                entry.names = new String[names];
+                entry.positions = new int[names][];
+                for (int i = 0; i < names; i++) {
+                    entry.names[i] = in.readUTF();
+                    int[] packed = new int[in.readInt()];
+                    for (int j = 0; j < packed.length; j++) {
+                        packed[j] = in.readInt();
+                    }
+                    entry.positions[i] = packed;
+                }
+                int decls = in.readInt();
+                entry.declNames = new String[decls];
+                entry.declPositions = new int[decls];
+                entry.declKinds = new char[decls];
+                for (int i = 0; i < decls; i++) {
+                    entry.declNames[i] = in.readUTF();
+                    entry.declPositions[i] = in.readInt();
+                    entry.declKinds[i] = in.readChar();
+                }
+                files.put(path, entry);
+            }
+        } catch (IOException e) {
+            files.clear(); // corrupt index; rebuild from scratch
+        }
+    }
+
+    /**
+     * Writes the index to a temporary file and renames it into place.
+     */
+    private synchronized void save() throws IOException {
+        Path file = indexFile();
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(INDEX_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            List<Map.Entry<Path, FileEntry>> entries = new ArrayList<>(files.entrySet());
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Path, FileEntry> e : entries) {
+                FileEntry entry = e.getValue();
+                out.writeUTF(root.relativize(e.getKey()).toString());
+                out.writeLong(entry.modified);
+                out.writeLong(entry.size);
+                out.writeInt(entry.names.length);
+                for (int i = 0; i < entry.names.length; i++) {
+                    out.writeUTF(entry.names[i]);
+                    out.writeInt(entry.positions[i].length);
+                    for (int packed : entry.positions[i]) {
+                        out.writeInt(packed);
+                    }
+                }
+                out.writeInt(entry.declNames.length);
+                for (int i = 0; i < entry.declNames.length; i++) {
+                    out.writeUTF(entry.declNames[i]);
+                    out.writeInt(entry.declPositions[i]);
+                    out.writeChar(entry.declKinds[i]);
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
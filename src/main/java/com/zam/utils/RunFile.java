@@ -6,6 +6,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.SwingWorker;
 
@@ -16,7 +18,8 @@ import com.zam.ui.App;
  * Utility class for running compiled Java class files.
  *
  * Responsibilities:
- * - Running Java class files.
+ * - Running Java class files, with the fast start flags if the FAST_START
+ *   setting is on (see LaunchFlags).
  * - Handling input and output streams.
  *
  * Usage:
@@ -59,14 +62,14 @@ public class RunFile {
         String javaFilePath = javaClassFile.getParent();
         String className = javaClassFile.getName().replace(".java", "");
 
-        String[] javaCommand = {
-            javaExecutablePath,
-            "-cp",
-            javaFilePath,
-            className
-        };
+        List<String> javaCommand = new ArrayList<>();
+        javaCommand.add(javaExecutablePath);
+        javaCommand.addAll(LaunchFlags.java(mainApp.settings.get(Settings.FAST_START)));
+        javaCommand.add("-cp");
+        javaCommand.add(javaFilePath);
+        javaCommand.add(className);
 
-        System.out.println("CMD : " + javaExecutablePath + " " + javaFilePath + " " + className);
+        System.out.println("CMD : " + String.join(" ", javaCommand));
 
         ProcessBuilder pb = new ProcessBuilder(javaCommand);
         pb.redirectErrorStream(true);
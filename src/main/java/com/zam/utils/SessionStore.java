@@ -0,0 +1,141 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Stores the list of open tabs between runs.
+ *
+ * Responsibilities:
+ * - Writing the path, caret offset and scroll offset of every open file, and
+ *   which tab was selected, to a properties file.
+ * - Reading them back, skipping entries that are incomplete or malformed.
+ *
+ * The file is replaced atomically, so a crash while saving leaves the
+ * previous session intact.
+ *
+ * Usage:
+ * ```java
+ * SessionStore store = new SessionStore(Paths.get(SessionStore.SESSION_FILE));
+ * store.save(tabs, selectedIndex);                // on exit
+ * SessionStore.Session session = store.load();    // on startup
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class SessionStore {
+
+    public static final String SESSION_FILE = "./Session.properties";
+
+    private final Path file;
+
+    /**
+     * One open tab.
+     */
+    public static final class Tab {
+        public final String path;
+        public final int caret;
+        public final int scroll;
+
+        public Tab(String path, int caret, int scroll) {
+            this.path = path;
+            this.caret = caret;
+            this.scroll = scroll;
+        }
+    }
+
+    /**
+     * The tabs of a session and the index of the selected one, or -1.
+     */
+    public static final class Session {
+        public final List<Tab> tabs;
+        public final int selected;
+
+        Session(List<Tab> tabs, int selected) {
+            this.tabs = tabs;
+            this.selected = selected;
+        }
+    }
+
+    /**
+     * Constructor for SessionStore.
+     *
+     * @param file The session file.
+     */
+    public SessionStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Saves a session, replacing the previous one.
+     *
+     * @param tabs     The open tabs, in tab order.
+     * @param selected The index of the selected tab in tabs, or -1.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(List<Tab> tabs, int selected) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("tab.count", Integer.toString(tabs.size()));
+        properties.setProperty("selected", Integer.toString(selected));
+        for (int i = 0; i < tabs.size(); i++) {
+            Tab tab = tabs.get(i);
+            properties.setProperty("tab." + i + ".path", tab.path);
+            properties.setProperty("tab." + i + ".caret", Integer.toString(tab.caret));
+            properties.setProperty("tab." + i + ".scroll", Integer.toString(tab.scroll));
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Open tabs of the last run");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the saved session.
+     *
+     * @return The session; empty if there is none or it cannot be read.
+     */
+    public Session load() {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return new Session(Collections.emptyList(), -1); // first run
+        }
+        List<Tab> tabs = new ArrayList<>();
+        int selected = -1;
+        int savedSelected = parse(properties.getProperty("selected"), -1);
+        int count = parse(properties.getProperty("tab.count"), 0);
+        for (int i = 0; i < count; i++) {
+            String path = properties.getProperty("tab." + i + ".path");
+            if (path == null) {
+                continue;
+            }
+            if (i == savedSelected) {
+                selected = tabs.size(); // indexes shift when entries are skipped
+            }
+            tabs.add(new Tab(path,
+                    Math.max(0, parse(properties.getProperty("tab." + i + ".caret"), 0)),
+                    Math.max(0, parse(properties.getProperty("tab." + i + ".scroll"), 0))));
+        }
+        return new Session(tabs, selected);
+    }
+
+    private static int parse(String value, int defaultValue) {
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.zam.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Typed access to the application settings stored by a PropertiesHandler,
+ * with notifications when they change.
+ *
+ * Responsibilities:
+ * - Declaring each setting once as a Key with its property name, type, and
+ *   default value.
+ * - Parsing every value once, at startup or when it is set, so readers get
+ *   ready values without string parsing.
+ * - Serving reads from any thread without locking: values live in an array
+ *   that is replaced, never modified, when settings change.
+ * - Notifying subscribed components once per change, however many of the
+ *   settings they follow changed together.
+ * - Keeping the JDK picked for each project folder, which has no key of its
+ *   own; changes to it are announced as PROJECT_JDKS.
+ *
+ * Listeners run on the thread that commits the change; UI settings are
+ * committed on the EDT.
+ *
+ * Usage:
+ * ```java
+ * Settings settings = new Settings(mainApp.properties);
+ * boolean wrap = settings.get(Settings.LINE_WRAP);
+ * settings.subscribe(changed -> applySettings(), Settings.LINE_WRAP, Settings.FONT_SIZE);
+ * settings.batch()
+ *     .set(Settings.LINE_WRAP, true)
+ *     .set(Settings.FONT_SIZE, 18)
+ *     .commit();                       // one notification, one save
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class Settings {
+
+    private static final List<Key<?>> KEYS = new ArrayList<>();
+
+    public static final Key<String> LOOK_AND_FEEL = stringKey("lookAndFeel", "com.formdev.flatlaf.FlatLightLaf");
+    public static final Key<String> EDITOR_THEME = stringKey("editorTheme", "default");
+    public static final Key<String> FONT_FAMILY = stringKey("FontFamily", "Consolas");
+    public static final Key<Integer> FONT_SIZE = integerKey("fontSize", 16);
+    public static final Key<Boolean> BRACKET_MATCHING = booleanKey("BracketMatching", true);
+    public static final Key<Boolean> HIGHLIGHT_CURRENT_LINE = booleanKey("HighlightCurrentLine", true);
+    public static final Key<Boolean> CODE_FOLDING = booleanKey("CodeFolding", true);
+    public static final Key<Boolean> LINE_NUMBERS = booleanKey("LineNumbers", true);
+    public static final Key<Boolean> LINE_WRAP = booleanKey("LineWrap", false);
+    public static final Key<Integer> LARGE_FILE_THRESHOLD_MB = integerKey("LargeFileThresholdMB", 5);
+    public static final Key<String> SAVE_FSYNC = stringKey("SaveFsync", "ALWAYS");
+    /** The folder open in the project explorer; empty if none. */
+    public static final Key<String> PROJECT_FOLDER = stringKey("ProjectFolder", "");
+    /** Whether javac and user programs start with the fast start flags (see LaunchFlags). */
+    public static final Key<Boolean> FAST_START = booleanKey("FastStart", false);
+    /** The home of the JDK picked for files outside a project; empty for the one found first. */
+    public static final Key<String> JDK_HOME = stringKey("JdkHome", "");
+    /** Announced when the JDK picked for a project changes; see getProjectJdk. */
+    public static final Key<String> PROJECT_JDKS = stringKey("ProjectJdks", "");
+
+    /** Prefix of the properties holding the JDK picked for each project folder. */
+    private static final String PROJECT_JDK_PREFIX = "ProjectJdk.";
+
+    /**
+     * A setting: its property name, type, and default value.
+     */
+    public static final class Key<T> {
+        public final String name;
+        public final T defaultValue;
+        private final Function<String, T> parser;
+        private final int slot;
+
+        private Key(String name, T defaultValue, Function<String, T> parser) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.parser = parser;
+            this.slot = KEYS.size();
+            KEYS.add(this);
+        }
+
+        private T parse(String text) {
+            if (text == null) {
+                return defaultValue;
+            }
+            T value = parser.apply(text.trim());
+            return value == null ? defaultValue : value;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Receives setting changes.
+     */
+    public interface Listener {
+        /**
+         * Called once per commit that changed any of the followed settings.
+         *
+         * @param changed The followed settings that changed.
+         */
+        void settingsChanged(Set<Key<?>> changed);
+    }
+
+    /**
+     * Changes applied together by commit.
+     */
+    public final class Batch {
+        private final Map<Key<?>, Object> changes = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Stages a new value.
+         *
+         * @param key   The setting.
+         * @param value The value; not null.
+         * @return This batch.
+         */
+        public <T> Batch set(Key<T> key, T value) {
+            changes.put(key, value);
+            return this;
+        }
+
+        /**
+         * Applies the staged values, saves them, and notifies listeners.
+         */
+        public void commit() {
+            apply(changes);
+            changes.clear();
+        }
+    }
+
+    private static final class Subscription {
+        final Listener listener;
+        final Set<Key<?>> keys;
+
+        Subscription(Listener listener, Set<Key<?>> keys) {
+            this.listener = listener;
+            this.keys = keys;
+        }
+    }
+
+    private final PropertiesHandler store;
+    /** Parsed values by key slot; replaced as a whole on every change. */
+    private volatile Object[] values;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor for Settings. Reads and parses every setting.
+     *
+     * @param store The properties file the settings are kept in.
+     */
+    public Settings(PropertiesHandler store) {
+        this.store = store;
+        Object[] parsed = new Object[KEYS.size()];
+        for (Key<?> key : KEYS) {
+            parsed[key.slot] = key.parse(store.getProperty(key.name));
+        }
+        this.values = parsed;
+    }
+
+    /**
+     * Returns the current value of a setting. Safe from any thread.
+     *
+     * @param key The setting.
+     * @return The value, or the default if the stored text is missing or invalid.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key) {
+        return (T) values[key.slot];
+    }
+
+    /**
+     * Changes one setting.
+     *
+     * @param key   The setting.
+     * @param value The new value; not null.
+     */
+    public <T> void set(Key<T> key, T value) {
+        batch().set(key, value).commit();
+    }
+
+    /**
+     * Returns the JDK picked for a project folder.
+     *
+     * @param project The project folder.
+     * @return The JDK home, empty if the default JDK was picked, or null if
+     *         none was picked for the project.
+     */
+    public String getProjectJdk(String project) {
+        return store.getProperty(PROJECT_JDK_PREFIX + project);
+    }
+
+    /**
+     * Picks the JDK for a project folder, saves the choice, and notifies the
+     * listeners of PROJECT_JDKS.
+     *
+     * @param project The project folder.
+     * @param home    The JDK home, or empty for the default JDK.
+     */
+    public void setProjectJdk(String project, String home) {
+        synchronized (this) {
+            if (home.equals(getProjectJdk(project))) {
+                return;
+            }
+            store.batch().setProperty(PROJECT_JDK_PREFIX + project, home).commit();
+        }
+        announce(Collections.singleton(PROJECT_JDKS));
+    }
+
+    /**
+     * Starts a set of changes that are applied, saved, and announced together.
+     *
+     * @return An empty batch; call commit to apply it.
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Follows changes to some settings.
+     *
+     * @param listener Called after a commit that changed any of the keys.
+     * @param keys     The settings to follow.
+     */
+    public void subscribe(Listener listener, Key<?>... keys) {
+        subscriptions.add(new Subscription(listener, new HashSet<>(Arrays.asList(keys))));
+    }
+
+    /**
+     * Stops following changes.
+     *
+     * @param listener A subscribed listener.
+     */
+    public void unsubscribe(Listener listener) {
+        subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    private void apply(Map<Key<?>, Object> changes) {
+        Set<Key<?>> changed = new HashSet<>();
+        synchronized (this) {
+            Object[] updated = values.clone();
+            PropertiesHandler.Batch saved = store.batch();
+            for (Map.Entry<Key<?>, Object> change : changes.entrySet()) {
+                Key<?> key = change.getKey();
+                if (!change.getValue().equals(updated[key.slot])) {
+                    updated[key.slot] = change.getValue();
+                    saved.setProperty(key.name, change.getValue().toString());
+                    changed.add(key);
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+            values = updated;
+            saved.commit();
+        }
+        announce(changed);
+    }
+
+    private void announce(Set<Key<?>> changed) {
+        for (Subscription subscription : subscriptions) {
+            Set<Key<?>> followed = new HashSet<>(subscription.keys);
+            followed.retainAll(changed);
+            if (!followed.isEmpty()) {
+                subscription.listener.settingsChanged(Collections.unmodifiableSet(followed));
+            }
+        }
+    }
+
+    private static Key<String> stringKey(String name, String defaultValue) {
+        return new Key<>(name, defaultValue, text -> text);
+    }
+
+    private static Key<Integer> integerKey(String name, int defaultValue) {
+        return new Key<>(name, defaultValue, text -> {
+            try {
+                return Integer.valueOf(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        });
+    }
+
+    private static Key<Boolean> booleanKey(String name, boolean defaultValue) {
+        return new Key<>(name, defaultValue, text -> text.equalsIgnoreCase("true") ? Boolean.TRUE
+                : text.equalsIgnoreCase("false") ? Boolean.FALSE : null);
+    }
+}
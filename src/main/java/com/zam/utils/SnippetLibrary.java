@@ -0,0 +1,251 @@
+package com.zam.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.fife.ui.autocomplete.Completion;
+import org.fife.ui.autocomplete.CompletionProvider;
+import org.fife.ui.autocomplete.TemplateCompletion;
+
+/**
+ * Library of code templates loaded from snippet files.
+ *
+ * Responsibilities:
+ * - Loading the built-in snippets bundled under /Snippets and any user
+ *   `.snippets` files from a snippets folder.
+ * - Compiling every snippet once into a TemplateCompletion, which parses its
+ *   placeholders up front, and indexing them in a SnippetTrie.
+ * - Reloading the library in the background when the snippets folder changes.
+ *
+ * Snippet file format:
+ * ```
+ * snippet sout standard print
+ * System.out.println(${cursor});
+ * endsnippet
+ * ```
+ *
+ * Usage:
+ * ```java
+ * SnippetLibrary library = new SnippetLibrary(provider, JavaCompletionProvider.USER_SNIPPETS_DIRECTORY);
+ * library.load();
+ * library.startWatching();
+ * List<Completion> matches = library.findByPrefix("so");
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class SnippetLibrary {
+
+    public static final String SNIPPET_EXTENSION = ".snippets";
+    private static final String BUILT_IN_SNIPPETS = "/Snippets/java.snippets";
+    private static final long RELOAD_DEBOUNCE_MS = 250;
+
+    private final CompletionProvider provider;
+    private final Path userDirectory;
+    private volatile SnippetTrie<Completion> trie = new SnippetTrie<>();
+    private Thread watcherThread;
+
+    /**
+     * A single parsed snippet definition.
+     */
+    static final class Snippet {
+        final String trigger;
+        final String description;
+        final String template;
+
+        Snippet(String trigger, String description, String template) {
+            this.trigger = trigger;
+            this.description = description;
+            this.template = template;
+        }
+    }
+
+    /**
+     * Constructor for SnippetLibrary.
+     *
+     * @param provider      The provider the compiled completions belong to.
+     * @param userDirectory The folder holding user `.snippets` files.
+     */
+    public SnippetLibrary(CompletionProvider provider, Path userDirectory) {
+        this.provider = provider;
+        this.userDirectory = userDirectory;
+    }
+
+    /**
+     * Loads the built-in and user snippets and atomically replaces the index.
+     * Lookups running concurrently keep using the previous index until the swap.
+     */
+    public void load() {
+        SnippetTrie<Completion> next = new SnippetTrie<>();
+        try (InputStream in = getClass().getResourceAsStream(BUILT_IN_SNIPPETS)) {
+            if (in != null) {
+                addAll(next, parse(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            System.out.println("Error loading built-in snippets: " + e.getMessage());
+        }
+        if (Files.isDirectory(userDirectory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(userDirectory, "*" + SNIPPET_EXTENSION)) {
+                for (Path file : files) {
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        addAll(next, parse(reader));
+                    } catch (IOException e) {
+                        System.out.println("Error loading snippets from " + file + ": " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Error reading snippets folder: " + e.getMessage());
+            }
+        }
+        trie = next;
+    }
+
+    /**
+     * Finds all snippets whose trigger starts with the given prefix.
+     *
+     * @param prefix The text typed so far.
+     * @return The matching completions.
+     */
+    public List<Completion> findByPrefix(String prefix) {
+        return trie.findByPrefix(prefix);
+    }
+
+    /**
+     * Finds the snippet registered for an exact trigger.
+     *
+     * @param trigger The trigger text.
+     * @return The completion, or null if there is none.
+     */
+    public Completion get(String trigger) {
+        return trie.get(trigger);
+    }
+
+    /**
+     * Returns the number of loaded snippets.
+     *
+     * @return The snippet count.
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * Starts a daemon thread that reloads the library whenever a file in the
+     * user snippets folder is created, changed, or deleted. Bursts of events,
+     * such as a folder being synced, are coalesced into a single reload.
+     */
+    public synchronized void startWatching() {
+        if (watcherThread != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(userDirectory);
+        } catch (IOException e) {
+            System.out.println("Error creating snippets folder: " + e.getMessage());
+            return;
+        }
+        watcherThread = new Thread(this::watchLoop, "snippet-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void watchLoop() {
+        try (WatchService watcher = userDirectory.getFileSystem().newWatchService()) {
+            userDirectory.register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watcher.take();
+                // Drain follow-up events until the folder has been quiet for a moment
+                while (key != null) {
+                    key.pollEvents();
+                    if (!key.reset()) {
+                        return;
+                    }
+                    key = watcher.poll(RELOAD_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                }
+                load();
+            }
+        } catch (IOException e) {
+            System.out.println("Error watching snippets folder: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void addAll(SnippetTrie<Completion> target, List<Snippet> snippets) {
+        for (Snippet snippet : snippets) {
+            target.put(snippet.trigger,
+                    new TemplateCompletion(provider, snippet.trigger, snippet.description, snippet.template));
+        }
+    }
+
+    /**
+     * Parses snippet definitions from a reader. Malformed entries are skipped.
+     *
+     * @param source The snippet file contents.
+     * @return The parsed snippets in file order.
+     * @throws IOException If reading fails.
+     */
+    static List<Snippet> parse(Reader source) throws IOException {
+        List<Snippet> snippets = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        String trigger = null;
+        String description = null;
+        StringBuilder body = null;
+        while ((line = reader.readLine()) != null) {
+            if (body == null) {
+                if (line.startsWith("snippet ")) {
+                    String[] header = line.substring(8).trim().split("\\s+", 2);
+                    if (header[0].isEmpty()) {
+                        continue;
+                    }
+                    trigger = header[0];
+                    description = header.length > 1 ? header[1] : trigger;
+                    body = new StringBuilder();
+                }
+            } else if (line.equals("endsnippet")) {
+                if (body.length() > 0) {
+                    body.setLength(body.length() - 1); // drop the trailing newline
+                }
+                snippets.add(new Snippet(trigger, description, body.toString()));
+                body = null;
+            } else {
+                body.append(line).append('\n');
+            }
+        }
+        return snippets;
+    }
+
+    /**
+     * Parses snippet definitions from a string.
+     *
+     * @param source The snippet file contents.
+     * @return The parsed snippets in file order.
+     */
+    static List<Snippet> parse(String source) {
+        try {
+            return parse(new StringReader(source));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringReader never fails
+        }
+    }
+}
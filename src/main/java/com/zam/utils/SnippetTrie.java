@@ -0,0 +1,114 @@
+package com.zam.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable-after-build prefix tree mapping snippet triggers to values.
+ *
+ * Responsibilities:
+ * - Storing values under case-insensitive trigger keys.
+ * - Looking up an exact trigger in O(length of trigger).
+ * - Collecting every value whose trigger starts with a typed prefix.
+ *
+ * Usage:
+ * - Populate with `put` on a single thread, then publish the trie; lookups
+ *   never modify it and can run from any thread.
+ *
+ * Example:
+ * ```java
+ * SnippetTrie<String> trie = new SnippetTrie<>();
+ * trie.put("sout", "System.out.println();");
+ * List<String> matches = trie.findByPrefix("so");
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class SnippetTrie<T> {
+
+    /**
+     * A node of the trie. Values are stored on the node that ends a trigger.
+     */
+    private static final class Node<T> {
+        private final Map<Character, Node<T>> children = new HashMap<>(4);
+        private T value;
+    }
+
+    private final Node<T> root = new Node<>();
+    private int size = 0;
+
+    /**
+     * Stores a value under the given trigger, replacing any previous value.
+     *
+     * @param trigger The trigger text.
+     * @param value   The value to store.
+     */
+    public void put(String trigger, T value) {
+        Node<T> node = root;
+        for (int i = 0; i < trigger.length(); i++) {
+            char c = Character.toLowerCase(trigger.charAt(i));
+            node = node.children.computeIfAbsent(c, k -> new Node<>());
+        }
+        if (node.value == null) {
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * Looks up the value stored for an exact trigger.
+     *
+     * @param trigger The trigger text.
+     * @return The stored value, or null if there is none.
+     */
+    public T get(String trigger) {
+        Node<T> node = find(trigger);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Collects every value whose trigger starts with the given prefix.
+     *
+     * @param prefix The typed prefix.
+     * @return The matching values, empty if none match.
+     */
+    public List<T> findByPrefix(String prefix) {
+        Node<T> node = find(prefix);
+        if (node == null) {
+            return new ArrayList<>(0);
+        }
+        List<T> result = new ArrayList<>();
+        collect(node, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of triggers stored in the trie.
+     *
+     * @return The trigger count.
+     */
+    public int size() {
+        return size;
+    }
+
+    private Node<T> find(String key) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(Character.toLowerCase(key.charAt(i)));
+        }
+        return node;
+    }
+
+    private void collect(Node<T> node, List<T> result) {
+        if (node.value != null) {
+            result.add(node.value);
+        }
+        for (Node<T> child : node.children.values()) {
+            collect(child, result);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.zam.utils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Records how long each phase of startup takes.
+ *
+ * Responsibilities:
+ * - Timing named phases, on any thread, relative to the launcher's main
+ *   method.
+ * - Emitting a "com.zam.StartupPhase" JFR event per phase, so a recording
+ *   started with -XX:StartFlightRecording shows the phases next to GC,
+ *   class loading, and the rest of the JVM's own events.
+ * - Printing a breakdown when the app is started with --startup-report.
+ *
+ * Timing is always on; a phase costs two System.nanoTime calls. JFR events
+ * are only created when JFR is already running, as with
+ * -XX:StartFlightRecording.
+ *
+ * Usage:
+ * ```java
+ * StartupProfiler.run("Look and feel", () -> switchLookAndFeel(name));
+ * public PropertiesHandler properties = StartupProfiler.time("Load properties",
+ *         () -> new PropertiesHandler("./App.properties"));
+ * StartupProfiler.Phase phase = StartupProfiler.phase("Editor");   // when a lambda can't assign the fields
+ * tabbedEditorPane = new EditorTabPane(this);
+ * phase.close();
+ * StartupProfiler.finish();   // once the window is up; prints the report if asked for
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class StartupProfiler {
+
+    public static final String REPORT_FLAG = "--startup-report";
+
+    /**
+     * The JFR event for one phase.
+     */
+    @Name("com.zam.StartupPhase")
+    @Label("Startup Phase")
+    @Category({"BitCode", "Startup"})
+    @Description("A phase of BitCode's startup")
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+    }
+
+    /**
+     * A phase that has started; closing it records its duration.
+     */
+    public static final class Phase implements AutoCloseable {
+        private final String name;
+        private final long start = System.nanoTime();
+        private final PhaseEvent event;
+
+        private Phase(String name) {
+            this.name = name;
+            // The first event would start JFR itself, which takes hundreds of milliseconds
+            event = FlightRecorder.isInitialized() ? new PhaseEvent() : null;
+            if (event != null) {
+                event.phase = name;
+                event.begin();
+            }
+        }
+
+        @Override
+        public void close() {
+            long end = System.nanoTime();
+            if (event != null) {
+                event.commit();
+            }
+            record(new Record(name, Thread.currentThread().getName(), start, end));
+        }
+    }
+
+    private static final class Record {
+        final String phase;
+        final String thread;
+        final long start;
+        final long end;
+
+        Record(String phase, String thread, long start, long end) {
+            this.phase = phase;
+            this.thread = thread;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /** When this class was loaded, which is the start of the launcher's main method. */
+    private static final long ORIGIN = System.nanoTime();
+    private static final Instant ORIGIN_INSTANT = Instant.now();
+    private static final List<Record> RECORDS = new ArrayList<>();
+    private static volatile boolean reportRequested = false;
+    private static boolean finished = false;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * Starts timing a phase, which ends when it is closed. Prefer time or run,
+     * which close it for you.
+     *
+     * @param name The phase's name in the report.
+     * @return The running phase.
+     */
+    public static Phase phase(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Times a piece of work that produces a value, such as a field initializer.
+     *
+     * @param name The phase's name in the report.
+     * @param work The work.
+     * @return What the work returned.
+     */
+    public static <T> T time(String name, Supplier<T> work) {
+        Phase phase = phase(name);
+        try {
+            return work.get();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Times a piece of work that produces no value.
+     *
+     * @param name The phase's name in the report.
+     * @param work The work.
+     */
+    public static void run(String name, Runnable work) {
+        Phase phase = phase(name);
+        try {
+            work.run();
+        } finally {
+            phase.close();
+        }
+    }
+
+    /**
+     * Checks the command line for --startup-report and removes it.
+     *
+     * @param args The command-line arguments.
+     * @return The arguments without the flag.
+     */
+    public static String[] parseArguments(String[] args) {
+        List<String> rest = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals(REPORT_FLAG)) {
+                reportRequested = true;
+            } else {
+                rest.add(arg);
+            }
+        }
+        return rest.toArray(new String[0]);
+    }
+
+    /**
+     * Marks startup as done and prints the report if it was asked for.
+     * Later calls do nothing.
+     */
+    public static void finish() {
+        synchronized (RECORDS) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            // The headline number: from main until the first editor can be typed in
+            RECORDS.add(new Record("Ready to edit", Thread.currentThread().getName(), ORIGIN, System.nanoTime()));
+        }
+        if (reportRequested) {
+            System.out.println(report());
+        }
+    }
+
+    /**
+     * Formats the recorded phases as a table, in the order they started.
+     *
+     * @return The report.
+     */
+    public static String report() {
+        List<Record> records;
+        synchronized (RECORDS) {
+            records = new ArrayList<>(RECORDS);
+        }
+        records.sort((a, b) -> Long.compare(a.start, b.start));
+        StringBuilder report = new StringBuilder("Startup report (ms from main)\n");
+        Optional<Instant> jvmStart = ProcessHandle.current().info().startInstant();
+        if (jvmStart.isPresent()) {
+            long beforeMain = ORIGIN_INSTANT.toEpochMilli() - jvmStart.get().toEpochMilli();
+            report.append(String.format("  %-28s %8s %8d  %s%n", "JVM start to main", "", beforeMain, ""));
+        }
+        for (Record record : records) {
+            report.append(String.format("  %-28s %8.1f %8.1f  %s%n", record.phase, millis(record.start - ORIGIN),
+                    millis(record.end - record.start), record.thread));
+        }
+        return report.toString();
+    }
+
+    private static void record(Record record) {
+        synchronized (RECORDS) {
+            if (!finished) {
+                RECORDS.add(record);
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
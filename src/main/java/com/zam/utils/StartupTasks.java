@@ -0,0 +1,174 @@
+package com.zam.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Startup work that does not need the EDT, started on background threads
+ * before the window is built.
+ *
+ * Responsibilities:
+ * - Loading the properties file and parsing the settings.
+ * - Parsing the saved syntax theme and loading the look-and-feel class.
+ * - Decoding the tab icons.
+ * - Building the shared completion provider, which reads the snippet files.
+ * - Finding the JDK.
+ * - Checking that the CDS archive matches this build (see CdsArchive).
+ * - Handing the results to the EDT, which waits only for what it needs and
+ *   only if it is not ready yet. Without start() every result is computed
+ *   on first use, on the calling thread.
+ *
+ * Each task is timed by StartupProfiler; time the EDT spends waiting shows
+ * up as "Wait for ..." phases.
+ *
+ * Usage:
+ * ```java
+ * StartupTasks.start(Launcher::findJdkBinPath);        // first thing in main
+ * ...
+ * PropertiesHandler properties = StartupTasks.properties();   // on the EDT
+ * ImageIcon icon = StartupTasks.icon("/icons/JBlue.png");
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class StartupTasks {
+
+    public static final String PROPERTIES_FILE = "./App.properties";
+    private static final String[] ICONS = {"/icons/JBlue.png", "/icons/JRed.png", "/icons/icon.png"};
+
+    private static final ThreadPoolExecutor POOL = createPool();
+    private static final Map<String, CompletableFuture<ImageIcon>> icons = new ConcurrentHashMap<>();
+    private static CompletableFuture<PropertiesHandler> properties;
+    private static CompletableFuture<Settings> settings;
+    private static CompletableFuture<String> jdkBinPath;
+
+    private StartupTasks() {
+    }
+
+    /**
+     * Starts the startup tasks. Call once, before creating the window.
+     *
+     * @param findJdk Finds the JDK's bin directory; returns null if there is none.
+     */
+    public static synchronized void start(Supplier<String> findJdk) {
+        jdkBinPath = submit("Find JDK", findJdk);
+        properties = submit("Load properties", () -> new PropertiesHandler(PROPERTIES_FILE));
+        settings = properties.thenApplyAsync(store -> StartupProfiler.time("Parse settings", () -> new Settings(store)), POOL);
+        settings.thenAcceptAsync(loaded -> {
+            StartupProfiler.time("Parse editor theme", () -> ThemeCache.get(loaded.get(Settings.EDITOR_THEME)));
+            StartupProfiler.run("Load look and feel class", () -> {
+                try {
+                    Class.forName(loaded.get(Settings.LOOK_AND_FEEL));
+                } catch (ClassNotFoundException e) {
+                    System.out.println("Look and feel not found: " + e.getMessage());
+                }
+            });
+        }, POOL);
+        for (String icon : ICONS) {
+            icons.put(icon, submit("Load icons", () -> loadIcon(icon)));
+        }
+        submit("Build completions", JavaCompletionProvider::preload);
+        submit("Check CDS archive", CdsArchive::check);
+    }
+
+    /**
+     * Returns the application's properties file.
+     *
+     * @return The properties, loaded once.
+     */
+    public static PropertiesHandler properties() {
+        CompletableFuture<PropertiesHandler> task;
+        synchronized (StartupTasks.class) {
+            if (properties == null) {
+                properties = CompletableFuture.completedFuture(
+                        StartupProfiler.time("Load properties", () -> new PropertiesHandler(PROPERTIES_FILE)));
+            }
+            task = properties;
+        }
+        return await("properties", task);
+    }
+
+    /**
+     * Returns the settings kept in properties().
+     *
+     * @return The settings, parsed once.
+     */
+    public static Settings settings() {
+        CompletableFuture<Settings> task;
+        synchronized (StartupTasks.class) {
+            if (settings == null) {
+                PropertiesHandler store = properties();
+                settings = CompletableFuture.completedFuture(
+                        StartupProfiler.time("Parse settings", () -> new Settings(store)));
+            }
+            task = settings;
+        }
+        return await("settings", task);
+    }
+
+    /**
+     * Returns the JDK's bin directory.
+     *
+     * @param findJdk Finds it, if start() was not called.
+     * @return The directory, or null if there is no JDK.
+     */
+    public static String jdkBinPath(Supplier<String> findJdk) {
+        CompletableFuture<String> task;
+        synchronized (StartupTasks.class) {
+            if (jdkBinPath == null) {
+                jdkBinPath = CompletableFuture.completedFuture(StartupProfiler.time("Find JDK", findJdk));
+            }
+            task = jdkBinPath;
+        }
+        return await("JDK", task);
+    }
+
+    /**
+     * Returns an icon from the application's resources.
+     *
+     * @param resource The icon's resource path, such as "/icons/JBlue.png".
+     * @return The decoded icon, shared by all callers.
+     */
+    public static ImageIcon icon(String resource) {
+        return await("icons", icons.computeIfAbsent(resource,
+                name -> CompletableFuture.completedFuture(StartupProfiler.time("Load icons", () -> loadIcon(name)))));
+    }
+
+    private static ImageIcon loadIcon(String resource) {
+        return new ImageIcon(StartupTasks.class.getResource(resource));
+    }
+
+    private static <T> CompletableFuture<T> submit(String name, Supplier<T> work) {
+        return CompletableFuture.supplyAsync(() -> StartupProfiler.time(name, work), POOL);
+    }
+
+    private static <T> T await(String name, CompletableFuture<T> task) {
+        if (task.isDone()) {
+            return task.join();
+        }
+        return StartupProfiler.time("Wait for " + name, task::join);
+    }
+
+    private static ThreadPoolExecutor createPool() {
+        AtomicInteger count = new AtomicInteger();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), work -> {
+                    Thread thread = new Thread(work, "startup-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true); // the threads end once startup is over
+        return pool;
+    }
+}
@@ -0,0 +1,434 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes text files with charset detection and line ending
+ * handling, streaming in fixed-size blocks.
+ *
+ * Responsibilities:
+ * - Detecting the charset from a byte order mark, or else by heuristics:
+ *   UTF-16 when every other byte is zero, UTF-8 when the bytes are valid
+ *   UTF-8, and the operating system's legacy charset otherwise.
+ * - Decoding block by block into a Sink, normalizing line endings on the
+ *   way, so a file is never held as one byte array and one String.
+ * - Encoding block by block with the file's charset, BOM and line endings,
+ *   failing on characters the charset cannot hold instead of replacing
+ *   them with '?'.
+ *
+ * Usage:
+ * ```java
+ * TextFormat format = TextCodec.read(path, new TextCodec.Sink() { ... });
+ * TextCodec.write(text, format, channel);
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class TextCodec {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int SAMPLE_SIZE = 64 * 1024;
+    private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+    private static final byte[] UTF16BE_BOM = { (byte) 0xFE, (byte) 0xFF };
+    private static final byte[] UTF16LE_BOM = { (byte) 0xFF, (byte) 0xFE };
+
+    /**
+     * Receives decoded text in order.
+     */
+    public interface Sink {
+        /**
+         * Appends the next block of text.
+         *
+         * @param chunk The text; only valid during the call.
+         */
+        void append(CharSequence chunk);
+
+        /**
+         * Discards everything appended so far; decoding starts over.
+         */
+        void reset();
+    }
+
+    /**
+     * Thrown internally when a second line ending style shows up while
+     * normalizing; the file is then read again verbatim.
+     */
+    private static final class MixedLineEndings extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MixedLineEndings() {
+            super(null, null, false, false);
+        }
+    }
+
+    private TextCodec() {
+    }
+
+    /**
+     * Reads a file into a sink.
+     *
+     * @param file The file.
+     * @param sink Receives the text, with `\n` line breaks unless the file
+     *             has mixed line endings.
+     * @return The format the file was stored in.
+     * @throws IOException If the file cannot be read.
+     */
+    public static TextFormat read(Path file, Sink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer sample = readSample(channel);
+            int bomLength = bomLength(sample);
+            Charset charset = bomLength > 0 ? bomCharset(sample) : guessCharset(sample);
+            boolean strict = bomLength == 0 && charset.equals(StandardCharsets.UTF_8);
+            boolean normalize = true;
+            while (true) {
+                try {
+                    String separator = decode(channel, bomLength, charset, strict, normalize, sink);
+                    return new TextFormat(charset, bomLength > 0, separator);
+                } catch (CharacterCodingException e) {
+                    charset = fallbackCharset(); // not UTF-8 after all
+                    strict = false;
+                } catch (MixedLineEndings e) {
+                    normalize = false;
+                }
+                sink.reset();
+            }
+        }
+    }
+
+    /**
+     * Reads a file into a String.
+     *
+     * @param file The file.
+     * @return The text as it would appear in the editor.
+     * @throws IOException If the file cannot be read.
+     */
+    public static String readString(Path file) throws IOException {
+        StringBuilder text = new StringBuilder();
+        read(file, new Sink() {
+            public void append(CharSequence chunk) {
+                text.append(chunk);
+            }
+
+            public void reset() {
+                text.setLength(0);
+            }
+        });
+        return text.toString();
+    }
+
+    /**
+     * Detects a file's format by decoding all of it without keeping the
+     * text, so a byte that is not UTF-8 late in the file, or a second line
+     * ending style, is not missed.
+     *
+     * @param file The file.
+     * @return The detected format.
+     * @throws IOException If the file cannot be read.
+     */
+    public static TextFormat detect(Path file) throws IOException {
+        return read(file, new Sink() {
+            public void append(CharSequence chunk) {
+            }
+
+            public void reset() {
+            }
+        });
+    }
+
+    /**
+     * Guesses a file's format from its first bytes without reading it all.
+     * A guessed UTF-8 may still meet invalid bytes later in the file; decode
+     * with CodingErrorAction.REPORT and fall back to fallbackCharset() then.
+     * Line endings found in that part decide the line ending style.
+     *
+     * @param file The file.
+     * @return The guessed format.
+     * @throws IOException If the file cannot be read.
+     */
+    static TextFormat detectFromStart(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer sample = readSample(channel);
+            int bomLength = bomLength(sample);
+            Charset charset = bomLength > 0 ? bomCharset(sample) : guessCharset(sample);
+            sample.position(bomLength);
+            CharBuffer chars = CharBuffer.allocate(sample.remaining() + 1);
+            charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(sample, chars, false);
+            chars.flip();
+            if (chars.length() > 0 && chars.get(chars.length() - 1) == '\r') {
+                chars.limit(chars.limit() - 1); // may be the first half of a CRLF
+            }
+            LineEndings endings = new LineEndings(false);
+            endings.process(chars, new StringBuilder());
+            return new TextFormat(charset, bomLength > 0, endings.separator());
+        }
+    }
+
+    /**
+     * Writes text in the given format.
+     *
+     * @param text    The text, with `\n` line breaks unless the format is mixed.
+     * @param format  The charset, BOM and line endings to write.
+     * @param channel The destination.
+     * @throws CharacterCodingException If the charset cannot encode the
+     *         text; what was written so far is incomplete.
+     * @throws IOException If writing fails.
+     */
+    public static void write(CharSequence text, TextFormat format, WritableByteChannel channel) throws IOException {
+        if (format.bom) {
+            channel.write(ByteBuffer.wrap(bomBytes(format.charset)));
+        }
+        Writer writer = Channels.newWriter(channel, format.charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT), BLOCK_SIZE);
+        String separator = format.lineSeparator;
+        boolean convert = separator != null && !separator.equals(TextFormat.LF);
+        char[] block = new char[8192];
+        for (int start = 0; start < text.length(); start += block.length) {
+            int count = Math.min(block.length, text.length() - start);
+            if (text instanceof PieceTable) {
+                ((PieceTable) text).getChars(start, start + count, block, 0);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    block[i] = text.charAt(start + i);
+                }
+            }
+            if (!convert) {
+                writer.write(block, 0, count);
+                continue;
+            }
+            int from = 0;
+            for (int i = 0; i < count; i++) {
+                if (block[i] == '\n') {
+                    writer.write(block, from, i - from);
+                    writer.write(separator);
+                    from = i + 1;
+                }
+            }
+            writer.write(block, from, count - from);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Decodes from after the BOM to the end of the file.
+     *
+     * @return The line separator, or null for mixed line endings.
+     */
+    private static String decode(FileChannel channel, long start, Charset charset, boolean strict,
+                                 boolean normalize, Sink sink) throws IOException {
+        CodingErrorAction onError = strict ? CodingErrorAction.REPORT : CodingErrorAction.REPLACE;
+        CharsetDecoder decoder = charset.newDecoder().onMalformedInput(onError).onUnmappableCharacter(onError);
+        ByteBuffer in = ByteBuffer.allocate(BLOCK_SIZE);
+        CharBuffer out = CharBuffer.allocate(BLOCK_SIZE);
+        StringBuilder chunk = new StringBuilder(BLOCK_SIZE);
+        LineEndings endings = new LineEndings(normalize);
+        long position = start;
+        boolean eof = false;
+        while (!eof) {
+            int read = channel.read(in, position);
+            if (read < 0) {
+                eof = true;
+            } else {
+                position += read;
+            }
+            in.flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(in, out, eof);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                drain(out, endings, chunk, sink);
+            } while (result.isOverflow());
+            in.compact();
+        }
+        while (decoder.flush(out).isOverflow()) {
+            drain(out, endings, chunk, sink);
+        }
+        drain(out, endings, chunk, sink);
+        endings.finish(chunk);
+        if (chunk.length() > 0) {
+            sink.append(chunk);
+        }
+        return endings.separator();
+    }
+
+    private static void drain(CharBuffer out, LineEndings endings, StringBuilder chunk, Sink sink) {
+        out.flip();
+        chunk.setLength(0);
+        endings.process(out, chunk);
+        if (chunk.length() > 0) {
+            sink.append(chunk);
+        }
+        out.clear();
+    }
+
+    /**
+     * Tracks line ending styles across blocks, optionally replacing each
+     * ending with `\n`. A `\r` at the end of a block waits for the next one.
+     */
+    private static final class LineEndings {
+        private final boolean normalize;
+        private boolean pendingCR;
+        private String first;
+        private boolean mixed;
+
+        LineEndings(boolean normalize) {
+            this.normalize = normalize;
+        }
+
+        void process(CharBuffer chars, StringBuilder out) {
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (pendingCR) {
+                    pendingCR = false;
+                    if (c == '\n') {
+                        ending(TextFormat.CRLF, out);
+                        continue;
+                    }
+                    ending(TextFormat.CR, out);
+                }
+                if (c == '\r') {
+                    pendingCR = true;
+                } else if (c == '\n') {
+                    ending(TextFormat.LF, out);
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+
+        void finish(StringBuilder out) {
+            if (pendingCR) {
+                pendingCR = false;
+                ending(TextFormat.CR, out);
+            }
+        }
+
+        private void ending(String style, StringBuilder out) {
+            if (first == null) {
+                first = style;
+            } else if (!first.equals(style)) {
+                mixed = true;
+                if (normalize) {
+                    throw new MixedLineEndings();
+                }
+            }
+            out.append(normalize ? TextFormat.LF : style);
+        }
+
+        String separator() {
+            return mixed ? null : first == null ? TextFormat.LF : first;
+        }
+    }
+
+    private static ByteBuffer readSample(FileChannel channel) throws IOException {
+        ByteBuffer sample = ByteBuffer.allocate((int) Math.min(SAMPLE_SIZE, channel.size()));
+        while (sample.hasRemaining() && channel.read(sample, sample.position()) > 0) {
+            // keep reading until the sample is full or the file ends
+        }
+        sample.flip();
+        return sample;
+    }
+
+    private static int bomLength(ByteBuffer sample) {
+        if (startsWith(sample, UTF8_BOM)) {
+            return UTF8_BOM.length;
+        }
+        if (startsWith(sample, UTF16BE_BOM) || startsWith(sample, UTF16LE_BOM)) {
+            return 2;
+        }
+        return 0;
+    }
+
+    private static Charset bomCharset(ByteBuffer sample) {
+        if (startsWith(sample, UTF8_BOM)) {
+            return StandardCharsets.UTF_8;
+        }
+        return startsWith(sample, UTF16BE_BOM) ? StandardCharsets.UTF_16BE : StandardCharsets.UTF_16LE;
+    }
+
+    private static byte[] bomBytes(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_16BE)) {
+            return UTF16BE_BOM;
+        }
+        if (charset.equals(StandardCharsets.UTF_16LE)) {
+            return UTF16LE_BOM;
+        }
+        return charset.equals(StandardCharsets.UTF_8) ? UTF8_BOM : new byte[0];
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, byte[] prefix) {
+        if (buffer.limit() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Guesses the charset of a file without a BOM from its first bytes.
+     */
+    static Charset guessCharset(ByteBuffer sample) {
+        int pairs = sample.limit() / 2;
+        int evenZeros = 0;
+        int oddZeros = 0;
+        for (int i = 0; i + 1 < sample.limit(); i += 2) {
+            evenZeros += sample.get(i) == 0 ? 1 : 0;
+            oddZeros += sample.get(i + 1) == 0 ? 1 : 0;
+        }
+        if (pairs > 0 && oddZeros > pairs * 0.4 && evenZeros < pairs * 0.05) {
+            return StandardCharsets.UTF_16LE; // ASCII-range text: "a\0b\0"
+        }
+        if (pairs > 0 && evenZeros > pairs * 0.4 && oddZeros < pairs * 0.05) {
+            return StandardCharsets.UTF_16BE;
+        }
+        CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer chars = CharBuffer.allocate(sample.limit());
+        // Not the end of input: a character cut off by the end of the sample is fine
+        CoderResult result = utf8.decode(sample.duplicate(), chars, false);
+        return result.isError() ? fallbackCharset() : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Returns the charset for files that are not Unicode: the operating
+     * system's legacy charset, such as windows-1252, or ISO-8859-1 when
+     * that is UTF-8 or plain ASCII, which cannot decode every byte.
+     */
+    static Charset fallbackCharset() {
+        try {
+            Charset nativeCharset = Charset.forName(System.getProperty("native.encoding", "ISO-8859-1"));
+            if (!nativeCharset.equals(StandardCharsets.UTF_8) && !nativeCharset.equals(StandardCharsets.US_ASCII)) {
+                return nativeCharset;
+            }
+        } catch (IllegalArgumentException e) {
+            // Unknown or unsupported name
+        }
+        return StandardCharsets.ISO_8859_1;
+    }
+}
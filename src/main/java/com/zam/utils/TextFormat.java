@@ -0,0 +1,80 @@
+package com.zam.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * How a text file is stored on disk: its charset, whether it starts with a
+ * byte order mark, and its line endings. Remembered per tab so a file is
+ * saved the way it was read.
+ *
+ * Documents always use `\n` line breaks. A file with one line ending style
+ * is normalized on load and converted back on save. A file with mixed line
+ * endings is kept verbatim instead, with `\r` in the document, so every
+ * line keeps its own ending; its lineSeparator is null.
+ *
+ * Usage:
+ * ```java
+ * TextFormat format = TextCodec.read(path, sink);
+ * String label = format.toString();   // "UTF-8 CRLF"
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class TextFormat {
+
+    public static final String LF = "\n";
+    public static final String CRLF = "\r\n";
+    public static final String CR = "\r";
+
+    /** The format of new files: UTF-8 without BOM, LF line endings. */
+    public static final TextFormat DEFAULT = new TextFormat(StandardCharsets.UTF_8, false, LF);
+
+    public final Charset charset;
+    public final boolean bom;
+    /** The line ending written for `\n`, or null to write the text verbatim. */
+    public final String lineSeparator;
+
+    /**
+     * Constructor for TextFormat.
+     *
+     * @param charset       The charset.
+     * @param bom           Whether the file starts with a byte order mark.
+     * @param lineSeparator LF, CRLF, CR, or null for mixed line endings.
+     */
+    public TextFormat(Charset charset, boolean bom, String lineSeparator) {
+        this.charset = charset;
+        this.bom = bom;
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Tells whether the file mixes line ending styles and is kept verbatim.
+     *
+     * @return true for mixed line endings.
+     */
+    public boolean isMixed() {
+        return lineSeparator == null;
+    }
+
+    /**
+     * Returns the length of the byte order mark in bytes.
+     *
+     * @return 0 without a BOM, 3 for UTF-8, 2 for UTF-16.
+     */
+    public int bomLength() {
+        return !bom ? 0 : charset.equals(StandardCharsets.UTF_8) ? 3 : 2;
+    }
+
+    /**
+     * Returns a short label such as "UTF-8 BOM CRLF".
+     */
+    @Override
+    public String toString() {
+        String endings = lineSeparator == null ? "Mixed" : lineSeparator.equals(CRLF) ? "CRLF"
+                : lineSeparator.equals(CR) ? "CR" : "LF";
+        return charset.name() + (bom ? " BOM " : " ") + endings;
+    }
+}
@@ -0,0 +1,112 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.fife.ui.rsyntaxtextarea.SyntaxScheme;
+import org.fife.ui.rsyntaxtextarea.Theme;
+
+/**
+ * Parsed syntax themes from /SyntaxThemes, shared by every editor.
+ *
+ * Responsibilities:
+ * - Parsing each theme's XML once per run, the first time it is asked for,
+ *   instead of once per tab and per preview.
+ * - Applying a parsed theme to a text area. The text area gets its own copy
+ *   of the theme's syntax scheme, because setting a font rewrites the fonts
+ *   in the scheme it holds; a shared scheme would let one editor's font
+ *   leak into the others and into the cache.
+ *
+ * Usage:
+ * - Call `ThemeCache.apply(name, textArea)` on the EDT, then set the font.
+ * - `get` may be called from any thread; `preload` parses themes on a
+ *   background thread before they are needed.
+ *
+ * Example:
+ * ```java
+ * if (ThemeCache.apply("dark", codeTextArea)) {
+ *     codeTextArea.setFont(font);   // the theme sets its own font
+ * }
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class ThemeCache {
+
+    public static final String THEME_DIRECTORY = "/SyntaxThemes/";
+
+    private static final Map<String, Theme> THEMES = new ConcurrentHashMap<>();
+
+    private ThemeCache() {
+    }
+
+    /**
+     * Returns a parsed theme, parsing it on first use.
+     *
+     * @param name The theme's file name without ".xml", such as "monokai".
+     * @return The shared theme; do not modify it. Null if it cannot be read.
+     */
+    public static Theme get(String name) {
+        Theme theme = THEMES.get(name);
+        if (theme == null) {
+            theme = load(name);
+            if (theme != null) {
+                Theme raced = THEMES.putIfAbsent(name, theme);
+                theme = raced != null ? raced : theme;
+            }
+        }
+        return theme;
+    }
+
+    /**
+     * Parses themes on a background thread so that applying them later does
+     * not parse on the EDT.
+     *
+     * @param names The themes' file names without ".xml".
+     */
+    public static void preload(String... names) {
+        Thread loader = new Thread(() -> {
+            for (String name : names) {
+                get(name);
+            }
+        }, "theme-preload");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Applies a theme to a text area. The theme also sets the text area's
+     * font, so callers set their own font afterwards.
+     *
+     * @param name     The theme's file name without ".xml".
+     * @param textArea The text area to style.
+     * @return true if the theme was applied, false if it cannot be read.
+     */
+    public static boolean apply(String name, RSyntaxTextArea textArea) {
+        Theme theme = get(name);
+        if (theme == null) {
+            return false;
+        }
+        theme.apply(textArea);
+        textArea.setSyntaxScheme((SyntaxScheme) theme.scheme.clone());
+        return true;
+    }
+
+    private static Theme load(String name) {
+        try (InputStream in = ThemeCache.class.getResourceAsStream(THEME_DIRECTORY + name + ".xml")) {
+            if (in == null) {
+                System.out.println("Syntax theme not found: " + name);
+                return null;
+            }
+            return Theme.load(in);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.zam.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Line-based three-way merge, used when a file changes on disk while its tab
+ * has unsaved edits.
+ *
+ * Responsibilities:
+ * - Diffing the common base against both changed versions (Myers' O(ND)
+ *   algorithm in linear space, after trimming the common prefix and suffix).
+ * - Taking each changed region from whichever side changed it.
+ * - Marking regions that both sides changed differently with conflict
+ *   markers, leaving them for the user to resolve.
+ *
+ * Usage:
+ * ```java
+ * ThreeWayMerge.Result result = ThreeWayMerge.merge(lastSaved, editorText, diskText);
+ * codeTextArea.setText(result.text);
+ * if (result.conflicts > 0) { ... }
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public final class ThreeWayMerge {
+
+    public static final String MINE_MARKER = "<<<<<<< editor";
+    public static final String SEPARATOR_MARKER = "=======";
+    public static final String THEIRS_MARKER = ">>>>>>> disk";
+
+    /**
+     * The merged text and the number of conflicting regions in it.
+     */
+    public static final class Result {
+        public final String text;
+        public final int conflicts;
+
+        Result(String text, int conflicts) {
+            this.text = text;
+            this.conflicts = conflicts;
+        }
+    }
+
+    private ThreeWayMerge() {
+    }
+
+    /**
+     * Merges two versions that were both derived from a common base.
+     *
+     * @param base   The common ancestor, for example the last saved text.
+     * @param mine   The version with the local edits.
+     * @param theirs The version with the other edits, for example the file on disk.
+     * @return The merged text; conflicting regions hold both versions between markers.
+     */
+    public static Result merge(CharSequence base, CharSequence mine, CharSequence theirs) {
+        List<String> baseLines = lines(base);
+        List<String> mineLines = lines(mine);
+        List<String> theirLines = lines(theirs);
+        int[] toMine = match(baseLines, mineLines);
+        int[] toTheirs = match(baseLines, theirLines);
+
+        StringBuilder out = new StringBuilder(Math.max(mine.length(), theirs.length()));
+        int conflicts = 0;
+        int b = 0;
+        int m = 0;
+        int t = 0;
+        // Walk the base lines that are unchanged on both sides; they anchor the regions in between
+        for (int anchor = 0; anchor <= baseLines.size(); anchor++) {
+            boolean stable = anchor == baseLines.size() || (toMine[anchor] >= 0 && toTheirs[anchor] >= 0);
+            if (!stable) {
+                continue;
+            }
+            int mineEnd = anchor == baseLines.size() ? mineLines.size() : toMine[anchor];
+            int theirEnd = anchor == baseLines.size() ? theirLines.size() : toTheirs[anchor];
+            List<String> baseChunk = baseLines.subList(b, anchor);
+            List<String> mineChunk = mineLines.subList(m, mineEnd);
+            List<String> theirChunk = theirLines.subList(t, theirEnd);
+            if (mineChunk.equals(baseChunk) || mineChunk.equals(theirChunk)) {
+                appendAll(out, theirChunk);
+            } else if (theirChunk.equals(baseChunk)) {
+                appendAll(out, mineChunk);
+            } else {
+                conflicts++;
+                appendMarker(out, MINE_MARKER);
+                appendAll(out, mineChunk);
+                appendMarker(out, SEPARATOR_MARKER);
+                appendAll(out, theirChunk);
+                appendMarker(out, THEIRS_MARKER);
+            }
+            if (anchor < baseLines.size()) {
+                out.append(baseLines.get(anchor));
+            }
+            b = anchor + 1;
+            m = mineEnd + 1;
+            t = theirEnd + 1;
+        }
+        return new Result(out.toString(), conflicts);
+    }
+
+    /**
+     * Splits text into lines that keep their line terminators, so joining
+     * them gives back the exact text.
+     */
+    static List<String> lines(CharSequence text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines.add(text.subSequence(start, i + 1).toString());
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            lines.add(text.subSequence(start, text.length()).toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Computes a longest common subsequence of two line lists.
+     *
+     * @return For every line of a, the index of the matching line in b, or -1.
+     */
+    static int[] match(List<String> a, List<String> b) {
+        int[] matches = new int[a.size()];
+        Arrays.fill(matches, -1);
+        int prefix = 0;
+        while (prefix < a.size() && prefix < b.size() && a.get(prefix).equals(b.get(prefix))) {
+            matches[prefix] = prefix;
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.size() - prefix && suffix < b.size() - prefix
+                && a.get(a.size() - 1 - suffix).equals(b.get(b.size() - 1 - suffix))) {
+            matches[a.size() - 1 - suffix] = b.size() - 1 - suffix;
+            suffix++;
+        }
+        myers(a.subList(prefix, a.size() - suffix), b.subList(prefix, b.size() - suffix), matches, prefix);
+        return matches;
+    }
+
+    /**
+     * Myers' linear-space diff: finds the middle snake of an optimal edit
+     * path, records its matches, and recurses on the parts before and after
+     * it. Memory is O(N + M) however many lines differ; time is O((N + M) D).
+     */
+    private static void myers(List<String> a, List<String> b, int[] matches, int shift) {
+        int offset = (a.size() + b.size() + 1) / 2 + 1;
+        int[] forward = new int[2 * offset + 1];
+        int[] backward = new int[2 * offset + 1];
+        diff(a, 0, a.size(), b, 0, b.size(), matches, shift, forward, backward, offset);
+    }
+
+    private static void diff(List<String> a, int aStart, int aEnd, List<String> b, int bStart, int bEnd,
+                             int[] matches, int shift, int[] forward, int[] backward, int offset) {
+        while (aStart < aEnd && bStart < bEnd && a.get(aStart).equals(b.get(bStart))) {
+            matches[aStart++ + shift] = bStart++ + shift;
+        }
+        while (aStart < aEnd && bStart < bEnd && a.get(aEnd - 1).equals(b.get(bEnd - 1))) {
+            matches[--aEnd + shift] = --bEnd + shift;
+        }
+        if (aStart == aEnd || bStart == bEnd) {
+            return;
+        }
+        int[] snake = middleSnake(a, aStart, aEnd, b, bStart, bEnd, forward, backward, offset);
+        diff(a, aStart, snake[0], b, bStart, snake[1], matches, shift, forward, backward, offset);
+        for (int x = snake[0], y = snake[1]; x < snake[2]; x++, y++) {
+            matches[x + shift] = y + shift;
+        }
+        diff(a, snake[2], aEnd, b, snake[3], bEnd, matches, shift, forward, backward, offset);
+    }
+
+    /**
+     * Runs the greedy search from both ends until the paths overlap.
+     * forward[offset + k] is the furthest x on diagonal k = x - y from the
+     * start; backward[offset + k] the furthest distance from the end on
+     * diagonal k of the reversed sequences.
+     *
+     * @return The snake's start x and y and end x and y, as absolute indices.
+     */
+    private static int[] middleSnake(List<String> a, int aStart, int aEnd, List<String> b, int bStart, int bEnd,
+                                     int[] forward, int[] backward, int offset) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        int delta = n - m;
+        boolean odd = (delta & 1) != 0;
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+        for (int d = 0; d <= (n + m + 1) / 2; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1]))
+                        ? forward[offset + k + 1] : forward[offset + k - 1] + 1;
+                int y = x - k;
+                int startX = x;
+                int startY = y;
+                while (x < n && y < m && a.get(aStart + x).equals(b.get(bStart + y))) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+                if (odd && delta - k >= -(d - 1) && delta - k <= d - 1 && x + backward[offset + delta - k] >= n) {
+                    return new int[] { aStart + startX, bStart + startY, aStart + x, bStart + y };
+                }
+            }
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1]))
+                        ? backward[offset + k + 1] : backward[offset + k - 1] + 1;
+                int y = x - k;
+                int startX = x;
+                int startY = y;
+                while (x < n && y < m && a.get(aEnd - 1 - x).equals(b.get(bEnd - 1 - y))) {
+                    x++;
+                    y++;
+                }
+                backward[offset + k] = x;
+                if (!odd && delta - k >= -d && delta - k <= d && x + forward[offset + delta - k] >= n) {
+                    return new int[] { aEnd - x, bEnd - y, aEnd - startX, bEnd - startY };
+                }
+            }
+        }
+        throw new IllegalStateException("No middle snake"); // unreachable: the paths meet by d = (n + m) / 2
+    }
+
+    private static void appendAll(StringBuilder out, List<String> lines) {
+        for (String line : lines) {
+            out.append(line);
+        }
+    }
+
+    private static void appendMarker(StringBuilder out, String marker) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) != '\n') {
+            out.append('\n');
+        }
+        out.append(marker).append('\n');
+    }
+}
@@ -0,0 +1,181 @@
+package com.zam.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory trigram index used to narrow literal project searches.
+ *
+ * Responsibilities:
+ * - Recording, for every lower-cased three-character sequence, which files contain it.
+ * - Returning the files that contain every trigram of a literal query; only
+ *   those can match, so the rest are never read.
+ * - Flagging files changed after the build so searches still read them.
+ *
+ * Usage:
+ * ```java
+ * TrigramIndex index = new TrigramIndex(root);
+ * index.build();                                   // off the EDT
+ * Set<Path> candidates = index.candidates("println"); // null means "search everything"
+ * ```
+ *
+ * @author Muhammed Zohaib
+ * @version 1.0.4
+ * @since 2026-10-18
+ */
+public class TrigramIndex {
+
+    private final Path root;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Immutable result of one build, swapped in atomically.
+     */
+    private static final class Snapshot {
+        final Path[] files;
+        final Map<Path, Integer> ids;
+        final Map<Long, BitSet> postings;
+        final long builtAt;
+
+        Snapshot(Path[] files, Map<Path, Integer> ids, Map<Long, BitSet> postings, long builtAt) {
+            this.files = files;
+            this.ids = ids;
+            this.postings = postings;
+            this.builtAt = builtAt;
+        }
+    }
+
+    /**
+     * Constructor for TrigramIndex.
+     *
+     * @param root The project folder to index.
+     */
+    public TrigramIndex(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the project folder this index covers.
+     *
+     * @return The project root.
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Tells whether a build has completed.
+     *
+     * @return true once the index can answer queries.
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Indexes every searchable file under the root. Files are read in parallel.
+     *
+     * @throws IOException If the folder cannot be walked.
+     */
+    public void build() throws IOException {
+        long builtAt = System.currentTimeMillis();
+        List<Path> list = ProjectSearcher.listFiles(root);
+        Path[] files = list.toArray(new Path[0]);
+
+        // Trigram sets per file are computed in parallel, then merged on this thread
+        long[][] perFile = new long[files.length][];
+        IntStream.range(0, files.length).parallel().forEach(i -> {
+            String text = ProjectSearcher.readText(files[i]);
+            perFile[i] = text == null ? new long[0] : trigramsOf(text);
+        });
+
+        Map<Path, Integer> ids = new HashMap<>(files.length * 2);
+        Map<Long, BitSet> postings = new HashMap<>();
+        for (int i = 0; i < files.length; i++) {
+            ids.put(files[i], i);
+            for (long trigram : perFile[i]) {
+                postings.computeIfAbsent(trigram, k -> new BitSet(files.length)).set(i);
+            }
+        }
+        snapshot = new Snapshot(files, ids, postings, builtAt);
+    }
+
+    /**
+     * Returns the files that may contain the literal.
+     *
+     * @param literal The literal query text.
+     * @return The candidate files, or null if the index cannot narrow this query
+     *         (not built yet, or fewer than three characters).
+     */
+    public Set<Path> candidates(String literal) {
+        Snapshot current = snapshot;
+        if (current == null || literal.length() < 3) {
+            return null;
+        }
+        BitSet result = null;
+        for (long trigram : trigramsOf(literal)) {
+            BitSet posting = current.postings.get(trigram);
+            if (posting == null) {
+                return new HashSet<>();
+            }
+            if (result == null) {
+                result = (BitSet) posting.clone();
+            } else {
+                result.and(posting);
+            }
+        }
+        Set<Path> files = new HashSet<>();
+        if (result != null) {
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                files.add(current.files[i]);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Tells whether a file is new or was modified after the index was built,
+     * in which case its postings cannot be trusted.
+     *
+     * @param file The file to check.
+     * @return true if the file must be searched regardless of the index.
+     */
+    public boolean isStale(Path file) {
+        Snapshot current = snapshot;
+        if (current == null || !current.ids.containsKey(file)) {
+            return true;
+        }
+        try {
+            return Files.getLastModifiedTime(file).toMillis() >= current.builtAt;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the distinct lower-cased trigrams of a text packed into longs.
+     */
+    private static long[] trigramsOf(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<Long> set = new HashSet<>();
+        for (int i = 0; i + 2 < lower.length(); i++) {
+            long key = ((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2);
+            set.add(key);
+        }
+        long[] result = new long[set.size()];
+        int i = 0;
+        for (Long key : set) {
+            result[i++] = key;
+        }
+        return result;
+    }
+}
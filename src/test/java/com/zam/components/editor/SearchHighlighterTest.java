@@ -0,0 +1,125 @@
+package com.zam.components.editor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.junit.Test;
+
+import com.zam.utils.PieceTable;
+
+/**
+ * Unit tests for SearchHighlighter.
+ */
+public class SearchHighlighterTest
+{
+    private static final int LINES = 10_000;
+
+    private RSyntaxTextArea textArea;
+    private SearchHighlighter highlighter;
+    private final AtomicReference<SearchHighlighter.Status> status = new AtomicReference<>();
+
+    @Test
+    public void countsEditsMadeWhileTheBackgroundScanRuns() throws Exception
+    {
+        SwingUtilities.invokeAndWait(() -> {
+            createHighlighter("needle in a haystack of forty-odd characters\n");
+            highlighter.search(Pattern.compile("needle"), status::set);
+            assertTrue("the document is scanned in the background", !status.get().complete);
+            textArea.insert("needle\n", 0);
+        });
+        assertEquals(LINES + 1, awaitCompleteSearch());
+    }
+
+    @Test
+    public void updatesCountsIncrementallyDuringAndAfterTheScan() throws Exception
+    {
+        Pattern pattern = Pattern.compile("ab");
+        // Three matches per line, far more than are painted
+        SwingUtilities.invokeAndWait(() -> {
+            createHighlighter("ab cd ab ef ab gh ij kl mn op qr st uv wx yz\n");
+            highlighter.search(pattern, status::set);
+            textArea.insert("ab\nab", 100);                   // splits a line
+            textArea.replaceRange("", 1000, 1500);             // joins lines, removes matches
+            textArea.replaceRange("", 400_000, 400_090);       // in a chunk not scanned yet
+            textArea.insert("xab", 440_000);
+        });
+        assertEquals(count(pattern), awaitCompleteSearch());
+        assertTrue(count(pattern) > SearchHighlighter.MAX_HIGHLIGHTS);
+
+        SwingUtilities.invokeAndWait(() -> {
+            textArea.replaceRange("", 0, 3);                   // removes a painted match
+            textArea.insert("ab", 300_000);                    // among unpainted matches
+            textArea.replaceRange("zz", 200_000, 260_000);
+            assertTrue("edits are applied without rescanning everything", status.get().complete);
+        });
+        assertEquals(count(pattern), awaitCompleteSearch());
+    }
+
+    /**
+     * Creates a text area of LINES copies of a line, about 500 KB or two
+     * background chunks, and a highlighter whose snapshots, like
+     * CodeTextArea's, come from a model that a document listener keeps up to
+     * date. Swing notifies that listener after the highlighter's own.
+     */
+    private void createHighlighter(String line)
+    {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            text.append(line);
+        }
+        textArea = new RSyntaxTextArea(text.toString());
+        final PieceTable[] model = { PieceTable.of(textArea.getText()) };
+        final long[] version = { 0 };
+        textArea.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                version[0]++;
+                model[0] = PieceTable.of(textArea.getText());
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                insertUpdate(e);
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        highlighter = new SearchHighlighter(textArea, () -> new DocumentSnapshot(model[0], version[0]));
+    }
+
+    /** Counts the matches in the whole text, as a search from scratch would. */
+    private int count(Pattern pattern) throws Exception
+    {
+        final int[] count = new int[1];
+        SwingUtilities.invokeAndWait(() -> {
+            Matcher matcher = pattern.matcher(textArea.getText());
+            while (matcher.find()) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /** Waits for the running search to finish and returns its final count. */
+    private int awaitCompleteSearch() throws Exception
+    {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!status.get().complete && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            SwingUtilities.invokeAndWait(() -> { }); // let queued chunks be processed
+        }
+        assertTrue("the search finished", status.get().complete);
+        final int[] count = new int[1];
+        SwingUtilities.invokeAndWait(() -> count[0] = highlighter.getMatchCount());
+        assertEquals(count[0], status.get().matches);
+        return count[0];
+    }
+}
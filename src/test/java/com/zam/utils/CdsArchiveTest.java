@@ -0,0 +1,50 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for CdsArchive.
+ */
+public class CdsArchiveTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void keepsTheArchiveOfThisBuildAndDropsOneFromAnother() throws Exception
+    {
+        Path jar = folder.newFile("BitCode.jar").toPath();
+        Files.write(jar, "build 1".getBytes(StandardCharsets.UTF_8));
+        Path archive = folder.getRoot().toPath().resolve("cds/BitCode.jsa");
+
+        assertEquals(CdsArchive.Result.CREATING, CdsArchive.check(archive, jar));
+        assertTrue(Files.isDirectory(archive.getParent()));
+        Files.write(archive, new byte[] {1}); // written by the JVM at exit, read-only
+        assertTrue(archive.toFile().setWritable(false));
+        assertEquals(CdsArchive.Result.CURRENT, CdsArchive.check(archive, jar));
+
+        Files.write(jar, "build 2".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 1000));
+        assertEquals(CdsArchive.Result.DELETED_STALE, CdsArchive.check(archive, jar));
+        assertFalse(Files.exists(archive));
+        assertEquals(CdsArchive.Result.CREATING, CdsArchive.check(archive, jar));
+    }
+
+    @Test
+    public void skipsRunsFromAClassesFolder() throws Exception
+    {
+        Path archive = folder.getRoot().toPath().resolve("BitCode.jsa");
+        assertEquals(CdsArchive.Result.SKIPPED, CdsArchive.check(archive, folder.newFolder("classes").toPath()));
+    }
+}
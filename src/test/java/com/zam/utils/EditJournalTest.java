@@ -0,0 +1,59 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for EditJournal replay and edit merging.
+ */
+public class EditJournalTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replaysEditsAndIgnoresATornRecord() throws IOException
+    {
+        Path file = folder.getRoot().toPath().resolve("tab.journal");
+        EditJournal journal = new EditJournal(file);
+        journal.writeBase("untitled 0", "untitled", "class A {}");
+        journal.append(null, null, Arrays.asList(
+            EditJournal.Edit.insert(0, "public "),
+            EditJournal.Edit.delete(15, 1)));
+        journal.append("A.java", "/tmp/A.java", Arrays.asList(EditJournal.Edit.insert(16, "\n")));
+        // A crash in the middle of the next record
+        Files.write(file, new byte[] { 'I', 0, 0 }, StandardOpenOption.APPEND);
+
+        EditJournal.Recovered recovered = EditJournal.read(file);
+        assertEquals("public class A }\n", recovered.text);
+        assertEquals("A.java", recovered.title);
+        assertEquals("/tmp/A.java", recovered.path);
+    }
+
+    @Test
+    public void mergesTypingAndBackspacing()
+    {
+        EditJournal.Edit typed = EditJournal.Edit.insert(4, "ab").mergeWith(EditJournal.Edit.insert(6, "c"));
+        assertEquals("abc", typed.text);
+
+        EditJournal.Edit corrected = typed.mergeWith(EditJournal.Edit.delete(6, 1));
+        assertEquals(4, corrected.offset);
+        assertEquals("ab", corrected.text);
+
+        EditJournal.Edit backspaces = EditJournal.Edit.delete(9, 1).mergeWith(EditJournal.Edit.delete(8, 1));
+        assertEquals(8, backspaces.offset);
+        assertEquals(2, backspaces.length);
+
+        assertNull(EditJournal.Edit.insert(0, "x").mergeWith(EditJournal.Edit.insert(5, "y")));
+    }
+}
@@ -0,0 +1,104 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for FileIndex.
+ */
+public class FileIndexTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void ranksFileNameAndWordStartMatchesFirst() throws Exception
+    {
+        Path root = folder.getRoot().toPath();
+        create(root, "src/main/java/com/zam/components/editor/EditorTabPane.java");
+        create(root, "src/main/java/com/zam/components/editor/CodeTextArea.java");
+        create(root, "src/main/java/com/zam/ui/App.java");
+        create(root, "docs/editing/tabs.md");
+        create(root, "target/classes/EditorTabPane.class");
+
+        FileIndex index = new FileIndex(root);
+        index.build();
+
+        assertEquals(4, index.fileCount()); // build output is not indexed
+        List<FileIndex.Entry> found = index.search("edtab", 10);
+        assertEquals("src/main/java/com/zam/components/editor/EditorTabPane.java", found.get(0).relativePath);
+        assertEquals("App.java", index.search("app", 10).get(0).name);
+        assertTrue(index.search("zzz", 10).isEmpty());
+
+        List<String> children = new ArrayList<>();
+        for (FileIndex.Entry entry : index.list("")) {
+            children.add(entry.name);
+        }
+        assertEquals(Arrays.asList("docs", "src", "target"), children);
+    }
+
+    @Test
+    public void appliesWatcherChangesToEntriesAndListings() throws Exception
+    {
+        Path root = folder.getRoot().toPath();
+        Path app = create(root, "src/App.java");
+        FileIndex index = new FileIndex(root);
+        index.build();
+
+        Path added = create(root, "src/util/Strings.java");
+        Files.delete(app);
+        index.refresh(new HashSet<>(Arrays.asList(added.getParent(), app)));
+
+        assertEquals(1, index.fileCount());
+        assertEquals("src/util/Strings.java", index.search("strings", 10).get(0).relativePath);
+        assertTrue(index.search("app", 10).isEmpty());
+        assertEquals(1, index.list("src").size());
+        assertFalse(index.list("src").get(0).name.equals("App.java"));
+
+        Path output = create(root, "target/classes/util/Strings.class");
+        index.refresh(new HashSet<>(Arrays.asList(output.getParent().getParent(), output.getParent())));
+        assertEquals("build output is not indexed when it appears either", 1, index.fileCount());
+    }
+
+    @Test
+    public void bonusesLiftRecentFilesAndFolderRemovalsDropTheirFiles() throws Exception
+    {
+        Path root = folder.getRoot().toPath();
+        create(root, "Main.java");
+        create(root, "b/Main.java");
+        create(root, "b/deep/MainTest.java");
+        FileIndex index = new FileIndex(root);
+        index.build();
+
+        assertEquals("Main.java", index.search("main", 10).get(0).relativePath);
+        assertEquals("b/Main.java", index.search("main", 10, Collections.singletonMap("b/Main.java", 30)).get(0).relativePath);
+
+        Files.delete(root.resolve("b/deep/MainTest.java"));
+        Files.delete(root.resolve("b/deep"));
+        index.refresh(Collections.singleton(root.resolve("b/deep")));
+        assertEquals(2, index.search("main", 10).size());
+        assertEquals(2, index.fileCount());
+    }
+
+    private static Path create(Path root, String relative) throws Exception
+    {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.write(file, "class A {}".getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
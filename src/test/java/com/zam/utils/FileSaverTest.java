@@ -0,0 +1,69 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for FileSaver atomic writes and coalescing.
+ */
+public class FileSaverTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replacesTargetWithoutLeavingTempFile() throws Exception
+    {
+        Path target = folder.newFile("Main.java").toPath();
+        Files.write(target, "old".getBytes(StandardCharsets.UTF_8));
+
+        FileSaver.writeAtomically(target, PieceTable.of("class Main {}").insert(0, "public "),
+                TextFormat.DEFAULT, FileSaver.Fsync.ALWAYS);
+
+        assertEquals("public class Main {}", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertFalse(Files.exists(target.resolveSibling(".Main.java.saving")));
+    }
+
+    @Test
+    public void keepsTheTargetsPermissions() throws Exception
+    {
+        Path target = folder.newFile("run.sh").toPath();
+        assumeTrue(target.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rwxr-x---"));
+
+        FileSaver.writeAtomically(target, "echo hi", TextFormat.DEFAULT, FileSaver.Fsync.NEVER);
+
+        assertEquals("rwxr-x---", PosixFilePermissions.toString(Files.getPosixFilePermissions(target)));
+        assertEquals("echo hi", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void rapidSavesEndWithTheNewestText() throws Exception
+    {
+        Path target = folder.getRoot().toPath().resolve("Notes.txt");
+        FileSaver saver = new FileSaver(FileSaver.Fsync.NEVER);
+        List<CompletableFuture<Void>> saves = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            saves.add(saver.save(target, "version " + i, TextFormat.DEFAULT));
+        }
+        for (CompletableFuture<Void> save : saves) {
+            save.get();
+        }
+        assertTrue(saver.awaitIdle(1000));
+        assertEquals("version 49", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for FileWatcher.
+ */
+public class FileWatcherTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reportsABurstOfChangesInATreeAsOneBatch() throws Exception
+    {
+        Path root = folder.getRoot().toPath().toRealPath();
+        Path sources = Files.createDirectories(root.resolve("src/com/example"));
+        Files.createDirectories(root.resolve("target/classes"));
+        LinkedBlockingQueue<Set<Path>> batches = new LinkedBlockingQueue<>();
+        FileWatcher watcher = new FileWatcher(batches::add);
+        try {
+            watcher.update(Collections.emptySet(), root);
+            assertEquals(4, watcher.watchedFolderCount()); // root, src, src/com, src/com/example
+
+            for (int i = 0; i < 20; i++) {
+                Files.write(sources.resolve("A" + i + ".java"), "class A {}".getBytes(StandardCharsets.UTF_8));
+            }
+
+            Set<Path> batch = batches.poll(10, TimeUnit.SECONDS);
+            assertNotNull(batch);
+            assertTrue(batch.contains(sources.resolve("A0.java")));
+            assertTrue(batch.contains(sources.resolve("A19.java")));
+        } finally {
+            watcher.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for JavaSourceScanner.
+ */
+public class JavaSourceScannerTest
+{
+    private static List<String> scan(String source)
+    {
+        List<String> events = new ArrayList<>();
+        JavaSourceScanner.scan(source, new JavaSourceScanner.Listener() {
+            @Override
+            public void identifier(String name, int line, int column) {
+                events.add(name + "@" + line + ":" + column);
+            }
+
+            @Override
+            public void declaration(String name, char kind, int line, int column) {
+                events.add(kind + " " + name);
+            }
+        });
+        return events;
+    }
+
+    @Test
+    public void reportsDeclarationsAndSkipsCommentsAndStrings()
+    {
+        List<String> events = scan(
+            "class Foo {\n" +
+            "    // ignored comment\n" +
+            "    int count = 0;\n" +
+            "    void run(String arg) { print(\"not an identifier\"); }\n" +
+            "}\n");
+
+        assertEquals(List.of(
+            "Foo@1:7", "T Foo",
+            "count@3:9", "V count",
+            "run@4:10", "M run",
+            "String@4:14", "arg@4:21", "V arg",
+            "print@4:28"), events);
+    }
+
+    @Test
+    public void comparisonIsNotADeclaration()
+    {
+        assertEquals(List.of("a@1:5", "b@1:9"), scan("if (a > b) {}"));
+    }
+}
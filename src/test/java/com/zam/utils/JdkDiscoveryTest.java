@@ -0,0 +1,96 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for JdkDiscovery.
+ */
+public class JdkDiscoveryTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findsValidJdksInSourceOrderAndListsEachOnce() throws Exception
+    {
+        File bundled = folder.newFolder("JDK");
+        fakeJdk(new File(bundled, "jdk-17.0.9"), "17.0.9", true);
+        fakeJdk(new File(bundled, "jdk-21.0.1"), "21.0.1", true);
+        fakeJdk(new File(bundled, "jre-21"), "21.0.1", false);      // no javac
+        new File(bundled, "empty").mkdirs();                        // no release file
+        File javaHome = fakeJdk(folder.newFolder("home", "jdk-11"), "11.0.21", true);
+
+        JdkDiscovery discovery = new JdkDiscovery(folder.getRoot().toPath().resolve("cache.properties"), Arrays.asList(
+                new JdkDiscovery.Source("bundled", bundled.toPath(), true),
+                new JdkDiscovery.Source("JAVA_HOME", javaHome.toPath(), false),
+                new JdkDiscovery.Source("PATH", new File(bundled, "jdk-21.0.1/bin").toPath(), false)));
+
+        assertEquals(Arrays.asList("21.0.1 bundled", "17.0.9 bundled", "11.0.21 JAVA_HOME"), describe(discovery.find()));
+        assertEquals("21.0.1", discovery.getDefault().version);
+    }
+
+    @Test
+    public void reusesTheCacheUntilASearchedFolderOrReleaseFileChanges() throws Exception
+    {
+        File bundled = folder.newFolder("JDK");
+        File jdk = fakeJdk(new File(bundled, "jdk-21.0.1"), "21.0.1", true);
+        FileTime past = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(bundled.toPath(), past);
+        Path cache = folder.getRoot().toPath().resolve("cache.properties");
+        List<JdkDiscovery.Source> sources = Arrays.asList(new JdkDiscovery.Source("bundled", bundled.toPath(), true));
+
+        JdkDiscovery first = new JdkDiscovery(cache, sources);
+        assertEquals(Arrays.asList("21.0.1 bundled"), describe(first.find()));
+        assertTrue(first.scanned);
+
+        JdkDiscovery warm = new JdkDiscovery(cache, sources);
+        assertEquals(Arrays.asList("21.0.1 bundled"), describe(warm.find()));
+        assertFalse("a warm start reads the cache", warm.scanned);
+
+        fakeJdk(new File(bundled, "jdk-22"), "22", true);           // installing changes the folder
+        assertEquals(Arrays.asList("22 bundled", "21.0.1 bundled"), describe(warm.find()));
+        assertTrue(warm.scanned);
+
+        Files.write(new File(jdk, "release").toPath(), "JAVA_VERSION=\"21.0.2\"\n".getBytes(StandardCharsets.ISO_8859_1));
+        Files.setLastModifiedTime(new File(jdk, "release").toPath(), FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        assertEquals(Arrays.asList("22 bundled", "21.0.2 bundled"), describe(warm.find()));
+        assertTrue("an upgrade in place changes the release file", warm.scanned);
+    }
+
+    private static File fakeJdk(File home, String version, boolean withJavac) throws Exception
+    {
+        File bin = new File(home, "bin");
+        bin.mkdirs();
+        if (withJavac) {
+            new File(bin, "javac").createNewFile();
+            new File(bin, "javac.exe").createNewFile();
+        }
+        Files.write(new File(home, "release").toPath(),
+                ("IMPLEMENTOR=\"Test\"\nJAVA_VERSION=\"" + version + "\"\n").getBytes(StandardCharsets.ISO_8859_1));
+        return home;
+    }
+
+    private static List<String> describe(List<JdkDiscovery.Jdk> jdks)
+    {
+        List<String> descriptions = new ArrayList<>();
+        for (JdkDiscovery.Jdk jdk : jdks) {
+            descriptions.add(jdk.version + " " + jdk.source);
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,84 @@
+package com.zam.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Times compiling and running a hello-world program the way CompileFile
+ * and RunFile do, with and without the CDS archive and fast start flags
+ * from LaunchFlags.
+ *
+ * Not a unit test; run it manually after `mvn test-compile`, optionally
+ * passing the bin directory of the JDK to measure (JDK 19 or later for the
+ * archive; the default is the JDK running the benchmark):
+ * ```
+ * java -cp target/classes:target/test-classes com.zam.utils.LaunchFlagsBenchmark /path/to/jdk/bin
+ * ```
+ *
+ * Each launch is warmed up once, which also writes the javac archive, and
+ * then timed over several runs; the best run is reported.
+ */
+public class LaunchFlagsBenchmark
+{
+    private static final int RUNS = 5;
+    private static final String PROGRAM =
+            "public class Hello {\n"
+            + "    public static void main(String[] args) {\n"
+            + "        System.out.println(\"Hello, \" + java.util.List.of(\"BitCode\"));\n"
+            + "    }\n"
+            + "}\n";
+
+    public static void main(String[] args) throws Exception
+    {
+        String bin = args.length > 0 ? args[0] : Paths.get(System.getProperty("java.home"), "bin").toString();
+        Path work = Files.createTempDirectory("launch-benchmark");
+        File source = work.resolve("Hello.java").toFile();
+        Files.write(source.toPath(), PROGRAM.getBytes(StandardCharsets.UTF_8));
+        Path archives = work.resolve("cds");
+        String javac = Paths.get(bin, "javac").toString();
+        String java = Paths.get(bin, "java").toString();
+
+        System.out.println("JDK " + LaunchFlags.jdkVersion(bin) + " at " + bin);
+        System.out.printf("%-10s %-22s %10s%n", "launch", "flags", "best (ms)");
+        report("javac", "defaults", time(work, javac, Collections.<String>emptyList(), source.getPath()));
+        report("javac", "CDS archive", time(work, javac, LaunchFlags.javac(bin, false, archives), source.getPath()));
+        report("javac", "CDS archive, fast start", time(work, javac, LaunchFlags.javac(bin, true, archives), source.getPath()));
+        report("java", "defaults", time(work, java, LaunchFlags.java(false), "-cp", work.toString(), "Hello"));
+        report("java", "fast start", time(work, java, LaunchFlags.java(true), "-cp", work.toString(), "Hello"));
+    }
+
+    private static void report(String launch, String flags, double millis)
+    {
+        System.out.printf("%-10s %-22s %10.1f%n", launch, flags, millis);
+    }
+
+    private static double time(Path work, String executable, List<String> options, String... arguments)
+            throws IOException, InterruptedException
+    {
+        List<String> command = new ArrayList<>();
+        command.add(executable);
+        command.addAll(options);
+        Collections.addAll(command, arguments);
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).directory(work.toFile())
+                    .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Failed: " + String.join(" ", command));
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            if (run > 0) { // the first run warms up the disk cache and writes the archive
+                best = Math.min(best, millis);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,59 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for LaunchFlags.
+ */
+public class LaunchFlagsTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void givesJavacAnArchivePerJdkVersionAndPrefixesItsOptions() throws Exception
+    {
+        String bin = fakeJdk("jdk21", "21.0.1");
+        File archives = new File(folder.getRoot(), "cds");
+
+        List<String> options = LaunchFlags.javac(bin, true, archives.toPath());
+
+        String archive = new File(archives, "javac-21.0.1.jsa").getAbsolutePath();
+        assertEquals(Arrays.asList("-J-XX:SharedArchiveFile=" + archive, "-J-XX:+AutoCreateSharedArchive",
+                "-J-XX:TieredStopAtLevel=1", "-J-XX:+UseSerialGC"), options);
+        assertTrue("the JVM cannot write an archive into a missing folder", archives.isDirectory());
+        assertEquals(Arrays.asList("-XX:TieredStopAtLevel=1", "-XX:+UseSerialGC"), LaunchFlags.java(true));
+        assertTrue(LaunchFlags.java(false).isEmpty());
+    }
+
+    @Test
+    public void leavesOutTheArchiveForJdksThatCannotCreateOne() throws Exception
+    {
+        File archives = new File(folder.getRoot(), "cds");
+
+        assertEquals(Arrays.asList("-J-XX:TieredStopAtLevel=1", "-J-XX:+UseSerialGC"),
+                LaunchFlags.javac(fakeJdk("jdk17", "17.0.9"), true, archives.toPath()));
+        assertTrue(LaunchFlags.javac(folder.newFolder("unknown", "bin").getPath(), false, archives.toPath()).isEmpty());
+        assertEquals(8, LaunchFlags.featureVersion("1.8.0_392"));
+        assertEquals(0, LaunchFlags.featureVersion(""));
+    }
+
+    private String fakeJdk(String name, String version) throws Exception
+    {
+        File bin = folder.newFolder(name, "bin");
+        Files.write(new File(bin.getParentFile(), "release").toPath(),
+                ("IMPLEMENTOR=\"Test\"\nJAVA_VERSION=\"" + version + "\"\n").getBytes(StandardCharsets.ISO_8859_1));
+        return bin.getPath();
+    }
+}
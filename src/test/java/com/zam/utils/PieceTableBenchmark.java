@@ -0,0 +1,155 @@
+package com.zam.utils;
+
+import java.util.Random;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.GapContent;
+
+/**
+ * Compares PieceTable with the gap buffer behind Swing and RSyntaxTextArea
+ * documents (GapContent) on 1 MB to 100 MB texts.
+ *
+ * Not a unit test; run it manually after `mvn test-compile`:
+ * ```
+ * java -Xmx4g -cp target/classes:target/test-classes com.zam.utils.PieceTableBenchmark
+ * ```
+ *
+ * Each scenario is warmed up once and then timed over several runs; the best
+ * run is reported.
+ */
+public class PieceTableBenchmark
+{
+    private static final int RUNS = 5;
+    private static final int SCATTERED_EDITS = 2000;
+    private static final int PASTES = 20;
+
+    public static void main(String[] args) throws BadLocationException
+    {
+        System.out.printf("%-8s %-22s %12s %12s%n", "size", "scenario", "gap (ms)", "piece (ms)");
+        for (int megabytes : new int[] { 1, 10, 100 }) {
+            String text = sampleText(megabytes * 1024 * 1024);
+            report(megabytes, "scattered typing", scatteredGap(text), scatteredPiece(text));
+            report(megabytes, "1 MB pastes", pasteGap(text), pastePiece(text));
+            report(megabytes, "snapshot", snapshotGap(text), snapshotPiece(text));
+        }
+    }
+
+    private static void report(int megabytes, String scenario, double gap, double piece)
+    {
+        System.out.printf("%-8s %-22s %12.2f %12.2f%n", megabytes + " MB", scenario, gap, piece);
+    }
+
+    private static String sampleText(int length)
+    {
+        StringBuilder builder = new StringBuilder(length);
+        String line = "    System.out.println(\"the quick brown fox \" + i);\n";
+        while (builder.length() < length) {
+            builder.append(line);
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    /** Inserts single characters at random offsets, like edits across a file. */
+    private static double scatteredGap(String text) throws BadLocationException
+    {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            GapContent content = new GapContent(text.length() + 1);
+            content.insertString(0, text);
+            Random random = new Random(run);
+            long start = System.nanoTime();
+            for (int i = 0; i < SCATTERED_EDITS; i++) {
+                content.insertString(random.nextInt(content.length() - 1), "x");
+            }
+            best = record(run, best, start);
+        }
+        return best;
+    }
+
+    private static double scatteredPiece(String text)
+    {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            PieceTable table = PieceTable.of(text);
+            Random random = new Random(run);
+            long start = System.nanoTime();
+            for (int i = 0; i < SCATTERED_EDITS; i++) {
+                table = table.insert(random.nextInt(table.length()), "x");
+            }
+            best = record(run, best, start);
+        }
+        return best;
+    }
+
+    /** Pastes 1 MB blocks in the middle of the text. */
+    private static double pasteGap(String text) throws BadLocationException
+    {
+        String block = sampleText(1024 * 1024);
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            GapContent content = new GapContent(text.length() + 1);
+            content.insertString(0, text);
+            long start = System.nanoTime();
+            for (int i = 0; i < PASTES; i++) {
+                content.insertString((content.length() - 1) / 2, block);
+            }
+            best = record(run, best, start);
+        }
+        return best;
+    }
+
+    private static double pastePiece(String text)
+    {
+        String block = sampleText(1024 * 1024);
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            PieceTable table = PieceTable.of(text);
+            long start = System.nanoTime();
+            for (int i = 0; i < PASTES; i++) {
+                table = table.insert(table.length() / 2, block);
+            }
+            best = record(run, best, start);
+        }
+        return best;
+    }
+
+    /** Takes an immutable view of the text for a background task. */
+    private static double snapshotGap(String text) throws BadLocationException
+    {
+        GapContent content = new GapContent(text.length() + 1);
+        content.insertString(0, text);
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            long start = System.nanoTime();
+            String copy = content.getString(0, content.length() - 1);
+            best = record(run, best, start);
+            if (copy.length() != text.length()) {
+                throw new IllegalStateException();
+            }
+        }
+        return best;
+    }
+
+    private static double snapshotPiece(String text)
+    {
+        PieceTable table = PieceTable.of(text).insert(text.length() / 2, "edit");
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            long start = System.nanoTime();
+            PieceTable snapshot = table; // versions are immutable; keeping one is the snapshot
+            table = table.insert(0, "x");
+            best = record(run, best, start);
+            if (snapshot.length() + 1 != table.length()) {
+                throw new IllegalStateException();
+            }
+        }
+        return best;
+    }
+
+    private static double record(int run, double best, long start)
+    {
+        double millis = (System.nanoTime() - start) / 1e6;
+        return run == 0 ? best : Math.min(best, millis); // run 0 is warm-up
+    }
+}
@@ -0,0 +1,82 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for PieceTable edits and version sharing.
+ */
+public class PieceTableTest
+{
+    @Test
+    public void randomEditsMatchStringBuilder()
+    {
+        Random random = new Random(42);
+        StringBuilder expected = new StringBuilder("public class Demo {\n}\n");
+        PieceTable table = PieceTable.of(expected.toString());
+
+        for (int i = 0; i < 5000; i++) {
+            if (expected.length() > 0 && random.nextInt(3) == 0) {
+                int offset = random.nextInt(expected.length());
+                int length = random.nextInt(Math.min(4, expected.length() - offset) + 1);
+                expected.delete(offset, offset + length);
+                table = table.delete(offset, length);
+            } else {
+                int offset = random.nextInt(expected.length() + 1);
+                String text = Integer.toString(random.nextInt(100000), 36);
+                expected.insert(offset, text);
+                table = table.insert(offset, text);
+            }
+        }
+
+        assertEquals(expected.toString(), table.toString());
+        assertEquals(expected.length(), table.length());
+        int at = expected.length() / 2;
+        assertEquals(expected.charAt(at), table.charAt(at));
+        assertEquals(expected.substring(at / 2, at), table.subSequence(at / 2, at).toString());
+    }
+
+    @Test
+    public void oldVersionsAreUnchanged()
+    {
+        PieceTable v1 = PieceTable.of("hello world");
+        PieceTable v2 = v1.insert(5, ",").delete(0, 1).insert(0, "H");
+        PieceTable v3 = v2.delete(5, 7);
+
+        assertEquals("hello world", v1.toString());
+        assertEquals("Hello, world", v2.toString());
+        assertEquals("Hello", v3.toString());
+    }
+
+    @Test
+    public void typingExtendsTheLastPiece()
+    {
+        PieceTable table = PieceTable.of("ab");
+        for (char c : "typed text".toCharArray()) {
+            table = table.insert(table.length() - 1, String.valueOf(c));
+        }
+        assertEquals("atyped textb", table.toString());
+        assertEquals(3, table.pieceCount());
+    }
+
+    @Test
+    public void compactDropsDeletedInsertions()
+    {
+        PieceTable table = PieceTable.of("keep");
+        String chunk = new String(new char[1000]).replace('\0', 'x');
+        for (int i = 0; i < 100; i++) {
+            table = table.insert(4, chunk).delete(4, chunk.length());
+        }
+        assertEquals(100_000, table.addedLength());
+
+        PieceTable compacted = table.compact();
+        assertEquals("keep", compacted.toString());
+        assertEquals(0, compacted.addedLength());
+        assertSame(compacted, compacted.compact());
+        assertEquals(100_000, table.addedLength()); // the old version keeps its buffer
+    }
+}
@@ -0,0 +1,104 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for ProjectSearcher and TrigramIndex.
+ */
+public class ProjectSearcherTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findsMatchesWithLineAndColumn() throws Exception
+    {
+        Path root = folder.getRoot().toPath();
+        Files.writeString(root.resolve("A.java"), "class A {\n    int counter;\n}\n");
+        Files.writeString(root.resolve("B.java"), "class B {}\n");
+
+        List<ProjectSearcher.Match> matches = new CopyOnWriteArrayList<>();
+        ProjectSearcher.Summary summary = new ProjectSearcher(root, null).search(
+            ProjectSearcher.compile("COUNTER", false, false), "COUNTER",
+            Collections.emptyMap(), matches::add, new AtomicBoolean());
+
+        assertEquals(1, summary.matches);
+        assertEquals(2, summary.filesSearched);
+        assertEquals(2, matches.get(0).line);
+        assertEquals(9, matches.get(0).column);
+    }
+
+    @Test
+    public void trigramIndexNarrowsCandidates() throws Exception
+    {
+        Path root = folder.getRoot().toPath().toRealPath();
+        Files.writeString(root.resolve("A.java"), "System.out.println(1);");
+        Files.writeString(root.resolve("B.java"), "int x = 2;");
+
+        TrigramIndex index = new TrigramIndex(root);
+        index.build();
+
+        Set<Path> candidates = index.candidates("PRINTLN");
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.contains(root.resolve("A.java")));
+        assertTrue(index.candidates("missing").isEmpty());
+        assertEquals(null, index.candidates("ab"));
+    }
+
+    @Test
+    public void reportsOffsetsInTheEditorsTextAndSkipsBuildFolders() throws Exception
+    {
+        Path root = folder.getRoot().toPath();
+        Files.writeString(root.resolve("A.java"), "class A {\r\n    int counter;\r\n}\r\n");
+        Files.createDirectories(root.resolve("target/classes"));
+        Files.writeString(root.resolve("target/classes/Copy.java"), "int counter;\n");
+
+        List<ProjectSearcher.Match> matches = new CopyOnWriteArrayList<>();
+        ProjectSearcher.Summary summary = new ProjectSearcher(root, null).search(
+            ProjectSearcher.compile("counter", false, true), "counter",
+            Collections.emptyMap(), matches::add, new AtomicBoolean());
+
+        assertEquals(1, summary.filesSearched);
+        assertEquals(1, matches.size());
+        assertEquals("class A {\n    int ".length(), matches.get(0).offset); // CRLF reads as LF in the editor
+    }
+
+    @Test
+    public void checksReplacementsAsMatcherReadsThem()
+    {
+        Pattern pattern = Pattern.compile("(?<word>a)(b)");
+        String[] replacements = { "x", "$1$2", "$12", "$3", "${word}", "${other}", "$", "\\", "\\$", "$x", "${word" };
+        for (String replacement : replacements) {
+            boolean matcherAccepts = true;
+            try {
+                Matcher matcher = pattern.matcher("ab");
+                matcher.find();
+                matcher.appendReplacement(new StringBuilder(), replacement);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                matcherAccepts = false;
+            }
+            boolean checkAccepts = true;
+            try {
+                ProjectSearcher.checkReplacement(pattern, replacement);
+            } catch (IllegalArgumentException e) {
+                checkAccepts = false;
+            }
+            assertEquals(replacement, matcherAccepts, checkAccepts);
+        }
+    }
+}
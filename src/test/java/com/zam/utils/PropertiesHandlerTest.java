@@ -0,0 +1,56 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for PropertiesHandler.
+ */
+public class PropertiesHandlerTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void batchesChangesAndWritesThemAfterTheDelay() throws Exception
+    {
+        File file = folder.newFile("App.properties");
+        Files.write(file.toPath(), "fontSize=16\n".getBytes(StandardCharsets.ISO_8859_1));
+        PropertiesHandler properties = new PropertiesHandler(file.getPath());
+
+        properties.batch()
+            .setProperty("editorTheme", "dark")
+            .setBooleanProperty("LineWrap", true)
+            .setIntegerProperty("fontSize", 18)
+            .commit();
+        assertEquals(18, properties.getIntegerProperty("fontSize"));
+        assertFalse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1).contains("dark"));
+
+        Thread.sleep(PropertiesHandler.SAVE_DELAY_MS * 4);
+        PropertiesHandler reloaded = new PropertiesHandler(file.getPath());
+        assertEquals("dark", reloaded.getProperty("editorTheme"));
+        assertTrue(reloaded.getBooleanProperty("LineWrap"));
+        assertEquals(18, reloaded.getIntegerProperty("fontSize"));
+    }
+
+    @Test
+    public void flushWritesPendingChangesAtOnce() throws Exception
+    {
+        File file = new File(folder.getRoot(), "App.properties");
+        PropertiesHandler properties = new PropertiesHandler(file.getPath());
+        properties.setProperty("ProjectFolder", "/projects/demo");
+        properties.flush();
+
+        assertEquals("/projects/demo", new PropertiesHandler(file.getPath()).getProperty("ProjectFolder"));
+        assertFalse(new File(folder.getRoot(), "App.properties.tmp").exists());
+    }
+}
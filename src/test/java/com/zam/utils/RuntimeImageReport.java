@@ -0,0 +1,131 @@
+package com.zam.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compares the trimmed runtime built by `mvn -Pjlink package` with the
+ * full JDK it was linked from: size on disk, and how long each takes to
+ * load the IDE's classes, compile a hello-world program, and run it.
+ *
+ * The jlink profile runs it after linking, so the numbers are printed in
+ * the build output. To run it by hand after `mvn test-compile`:
+ * ```
+ * java -cp target/classes:target/test-classes:<dependencies> com.zam.utils.RuntimeImageReport target/JDK/jdk-runtime /path/to/jdk
+ * ```
+ *
+ * Loading the IDE's classes is measured headless, in a child JVM that
+ * loads (without initializing) every class in target/classes. Each launch
+ * is warmed up once and then timed over several runs; the best run is
+ * reported.
+ */
+public class RuntimeImageReport
+{
+    private static final int RUNS = 5;
+    private static final String PROBE_FLAG = "--load-classes";
+    private static final String PROGRAM =
+            "public class Hello {\n"
+            + "    public static void main(String[] args) {\n"
+            + "        System.out.println(\"Hello, BitCode\");\n"
+            + "    }\n"
+            + "}\n";
+
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length == 2 && args[0].equals(PROBE_FLAG)) {
+            loadClasses(Paths.get(args[1]));
+            return;
+        }
+        Path image = Paths.get(args[0]).toAbsolutePath();
+        Path jdk = Paths.get(args.length > 1 ? args[1] : System.getProperty("java.home")).toAbsolutePath();
+        Path classes = Paths.get(args.length > 2 ? args[2] : "target/classes").toAbsolutePath();
+        Path work = Files.createTempDirectory("runtime-report");
+        Files.write(work.resolve("Hello.java"), PROGRAM.getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("Runtime image report");
+        System.out.println("  image: " + image);
+        System.out.println("  JDK:   " + jdk);
+        System.out.printf("  %-26s %12s %12s%n", "", "image", "JDK");
+        System.out.printf("  %-26s %12.1f %12.1f%n", "size on disk (MB)", megabytes(image), megabytes(jdk));
+        System.out.printf("  %-26s %12.1f %12.1f%n", "lib/modules (MB)",
+                Files.size(image.resolve("lib/modules")) / 1048576.0, Files.size(jdk.resolve("lib/modules")) / 1048576.0);
+        String classPath = absoluteClassPath();
+        report("load IDE classes (ms)",
+                time(work, image, "java", "-Djava.awt.headless=true", "-cp", classPath,
+                        RuntimeImageReport.class.getName(), PROBE_FLAG, classes.toString()),
+                time(work, jdk, "java", "-Djava.awt.headless=true", "-cp", classPath,
+                        RuntimeImageReport.class.getName(), PROBE_FLAG, classes.toString()));
+        report("javac Hello.java (ms)", time(work, image, "javac", "Hello.java"), time(work, jdk, "javac", "Hello.java"));
+        report("java Hello (ms)", time(work, image, "java", "-cp", ".", "Hello"), time(work, jdk, "java", "-cp", ".", "Hello"));
+    }
+
+    private static void report(String measurement, double image, double jdk)
+    {
+        System.out.printf("  %-26s %12.1f %12.1f%n", measurement, image, jdk);
+    }
+
+    /** Loads every class below a classes folder, as a start of the IDE would load them. */
+    private static void loadClasses(Path classes) throws IOException, ClassNotFoundException
+    {
+        List<String> names = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(classes)) {
+            files.filter(file -> file.toString().endsWith(".class")).forEach(file -> {
+                String name = classes.relativize(file).toString();
+                names.add(name.substring(0, name.length() - ".class".length()).replace(File.separatorChar, '.'));
+            });
+        }
+        ClassLoader loader = RuntimeImageReport.class.getClassLoader();
+        for (String name : names) {
+            Class.forName(name, false, loader);
+        }
+    }
+
+    private static double time(Path work, Path runtime, String tool, String... arguments)
+            throws IOException, InterruptedException
+    {
+        List<String> command = new ArrayList<>();
+        command.add(runtime.resolve("bin").resolve(tool).toString());
+        Collections.addAll(command, arguments);
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run <= RUNS; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).directory(work.toFile())
+                    .redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Failed: " + String.join(" ", command));
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+            if (run > 0) { // the first run warms up the disk cache
+                best = Math.min(best, millis);
+            }
+        }
+        return best;
+    }
+
+    /** This JVM's class path, which the probe shares, made absolute because the probe runs in another folder. */
+    private static String absoluteClassPath()
+    {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(Paths.get(entry).toAbsolutePath().toString());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static double megabytes(Path directory) throws IOException
+    {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum() / 1048576.0;
+        }
+    }
+}
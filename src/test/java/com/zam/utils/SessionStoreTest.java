@@ -0,0 +1,58 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for SessionStore.
+ */
+public class SessionStoreTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripsTabsAndSelection() throws Exception
+    {
+        SessionStore store = new SessionStore(folder.getRoot().toPath().resolve("Session.properties"));
+        store.save(Arrays.asList(
+                new SessionStore.Tab("C:\\src\\Main.java", 120, 480),
+                new SessionStore.Tab("/home/user/Util.java", 7, 0)), 1);
+
+        SessionStore.Session session = store.load();
+
+        assertEquals(2, session.tabs.size());
+        assertEquals("C:\\src\\Main.java", session.tabs.get(0).path);
+        assertEquals(120, session.tabs.get(0).caret);
+        assertEquals(480, session.tabs.get(0).scroll);
+        assertEquals("/home/user/Util.java", session.tabs.get(1).path);
+        assertEquals(1, session.selected);
+    }
+
+    @Test
+    public void skipsBrokenEntriesAndKeepsSelection() throws Exception
+    {
+        Path file = folder.getRoot().toPath().resolve("Session.properties");
+        Files.write(file, ("tab.count=3\nselected=2\n"
+                + "tab.1.path=A.java\ntab.1.caret=x\n"
+                + "tab.2.path=B.java\ntab.2.caret=5\ntab.2.scroll=-3\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        SessionStore.Session session = new SessionStore(file).load();
+
+        assertEquals(2, session.tabs.size());
+        assertEquals(0, session.tabs.get(0).caret);
+        assertEquals("B.java", session.tabs.get(1).path);
+        assertEquals(0, session.tabs.get(1).scroll);
+        assertEquals(1, session.selected);
+        assertTrue(new SessionStore(folder.getRoot().toPath().resolve("missing")).load().tabs.isEmpty());
+    }
+}
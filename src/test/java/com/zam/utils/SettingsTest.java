@@ -0,0 +1,88 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for Settings.
+ */
+public class SettingsTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parsesStoredValuesOnceAndFallsBackToDefaults() throws Exception
+    {
+        File file = folder.newFile("App.properties");
+        Files.write(file.toPath(), "fontSize=18\nLineWrap=true\nLargeFileThresholdMB=lots\n".getBytes(StandardCharsets.ISO_8859_1));
+        Settings settings = new Settings(new PropertiesHandler(file.getPath()));
+
+        assertEquals(Integer.valueOf(18), settings.get(Settings.FONT_SIZE));
+        assertTrue(settings.get(Settings.LINE_WRAP));
+        assertEquals(Settings.LARGE_FILE_THRESHOLD_MB.defaultValue, settings.get(Settings.LARGE_FILE_THRESHOLD_MB));
+        assertEquals("default", settings.get(Settings.EDITOR_THEME));
+    }
+
+    @Test
+    public void notifiesEachListenerOncePerCommitWithTheFollowedChanges() throws Exception
+    {
+        PropertiesHandler properties = new PropertiesHandler(new File(folder.getRoot(), "App.properties").getPath());
+        Settings settings = new Settings(properties);
+        List<Set<Settings.Key<?>>> editorChanges = new ArrayList<>();
+        List<Set<Settings.Key<?>>> folderChanges = new ArrayList<>();
+        Settings.Listener editor = editorChanges::add;
+        settings.subscribe(editor, Settings.FONT_SIZE, Settings.LINE_WRAP, Settings.EDITOR_THEME);
+        settings.subscribe(folderChanges::add, Settings.PROJECT_FOLDER);
+
+        settings.batch()
+            .set(Settings.FONT_SIZE, 20)
+            .set(Settings.LINE_WRAP, true)
+            .set(Settings.EDITOR_THEME, "default") // unchanged
+            .commit();
+
+        assertEquals(1, editorChanges.size());
+        assertEquals(new HashSet<>(Arrays.asList(Settings.FONT_SIZE, Settings.LINE_WRAP)), editorChanges.get(0));
+        assertTrue(folderChanges.isEmpty());
+        assertEquals(20, properties.getIntegerProperty("fontSize"));
+
+        settings.unsubscribe(editor);
+        settings.set(Settings.FONT_SIZE, 22);
+        assertEquals(1, editorChanges.size());
+        assertEquals(Integer.valueOf(22), settings.get(Settings.FONT_SIZE));
+        properties.flush(); // before the temporary folder is deleted, not in the shutdown hook
+    }
+
+    @Test
+    public void keepsAJdkPerProjectAndAnnouncesChanges() throws Exception
+    {
+        PropertiesHandler properties = new PropertiesHandler(new File(folder.getRoot(), "App.properties").getPath());
+        Settings settings = new Settings(properties);
+        List<Set<Settings.Key<?>>> changes = new ArrayList<>();
+        settings.subscribe(changes::add, Settings.PROJECT_JDKS);
+
+        assertNull(settings.getProjectJdk("/work/app"));
+        settings.setProjectJdk("/work/app", "/opt/jdk-21");
+        settings.setProjectJdk("/work/app", "/opt/jdk-21"); // unchanged
+        settings.setProjectJdk("/work/lib", "");             // the default JDK
+
+        assertEquals(2, changes.size());
+        assertEquals("/opt/jdk-21", settings.getProjectJdk("/work/app"));
+        assertEquals("", settings.getProjectJdk("/work/lib"));
+        properties.flush();
+    }
+}
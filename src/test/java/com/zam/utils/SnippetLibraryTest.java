@@ -0,0 +1,61 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for SnippetLibrary parsing and SnippetTrie lookups.
+ */
+public class SnippetLibraryTest
+{
+    @Test
+    public void parsesMultiLineSnippets()
+    {
+        List<SnippetLibrary.Snippet> snippets = SnippetLibrary.parse(
+            "# comment\n" +
+            "snippet sout standard print\n" +
+            "System.out.println(${cursor});\n" +
+            "endsnippet\n" +
+            "\n" +
+            "snippet if if statement\n" +
+            "if (${condition}) {\n" +
+            "\t${cursor}\n" +
+            "}\n" +
+            "endsnippet\n");
+
+        assertEquals(2, snippets.size());
+        assertEquals("sout", snippets.get(0).trigger);
+        assertEquals("standard print", snippets.get(0).description);
+        assertEquals("System.out.println(${cursor});", snippets.get(0).template);
+        assertEquals("if (${condition}) {\n\t${cursor}\n}", snippets.get(1).template);
+    }
+
+    @Test
+    public void skipsUnterminatedSnippet()
+    {
+        List<SnippetLibrary.Snippet> snippets = SnippetLibrary.parse("snippet broken\nno end marker\n");
+        assertTrue(snippets.isEmpty());
+    }
+
+    @Test
+    public void trieFindsExactAndPrefixMatches()
+    {
+        SnippetTrie<String> trie = new SnippetTrie<>();
+        trie.put("for", "a");
+        trie.put("for_each", "b");
+        trie.put("if", "c");
+        trie.put("FOR", "d");
+
+        assertEquals(3, trie.size());
+        assertEquals("d", trie.get("for"));
+        assertEquals(2, trie.findByPrefix("Fo").size());
+        assertEquals(3, trie.findByPrefix("").size());
+        assertTrue(trie.findByPrefix("x").isEmpty());
+        assertNull(trie.get("fo"));
+    }
+}
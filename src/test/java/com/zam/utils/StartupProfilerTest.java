@@ -0,0 +1,50 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for StartupProfiler.
+ */
+public class StartupProfilerTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void removesTheReportFlagFromTheCommandLine()
+    {
+        assertArrayEquals(new String[] {"Main.java"},
+                StartupProfiler.parseArguments(new String[] {StartupProfiler.REPORT_FLAG, "Main.java"}));
+    }
+
+    @Test
+    public void recordsPhasesInTheReportAndAsJfrEvents() throws Exception
+    {
+        Path dump = folder.getRoot().toPath().resolve("startup.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.zam.StartupPhase");
+            recording.start();
+            assertEquals("ready", StartupProfiler.time("Test phase", () -> "ready"));
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertTrue(StartupProfiler.report().contains("Test phase"));
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(1, events.size());
+        assertEquals("Test phase", events.get(0).getString("phase"));
+    }
+}
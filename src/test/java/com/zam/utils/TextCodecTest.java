@@ -0,0 +1,128 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for TextCodec charset detection and line ending handling.
+ */
+public class TextCodecTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void normalizesUniformLineEndingsAndRestoresThemOnWrite() throws Exception
+    {
+        StringBuilder content = new StringBuilder();
+        // Long enough that a CRLF and a multi-byte character straddle block boundaries
+        while (content.length() < 200_000) {
+            content.append("String s = \"\u00e9\u20ac\";\r\n");
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        Path file = write("Crlf.java", bytes);
+
+        StringBuilder text = new StringBuilder();
+        TextFormat format = read(file, text);
+
+        assertEquals(StandardCharsets.UTF_8, format.charset);
+        assertFalse(format.bom);
+        assertEquals(TextFormat.CRLF, format.lineSeparator);
+        assertEquals(content.toString().replace("\r\n", "\n"), text.toString());
+        assertArrayEquals(bytes, encode(text, format));
+    }
+
+    @Test
+    public void keepsMixedLineEndingsVerbatim() throws Exception
+    {
+        byte[] bytes = "a\r\nb\nc\rd".getBytes(StandardCharsets.UTF_8);
+        Path file = write("Mixed.txt", bytes);
+
+        StringBuilder text = new StringBuilder();
+        TextFormat format = read(file, text);
+
+        assertNull(format.lineSeparator);
+        assertEquals("a\r\nb\nc\rd", text.toString());
+        assertArrayEquals(bytes, encode(text, format));
+    }
+
+    @Test
+    public void detectsByteOrderMarksAndLegacyCharsets() throws Exception
+    {
+        byte[] utf16 = "\uFEFFclass A {}\n".getBytes(StandardCharsets.UTF_16LE);
+        Path file = write("Utf16.java", utf16);
+        StringBuilder text = new StringBuilder();
+        TextFormat format = read(file, text);
+        assertEquals(StandardCharsets.UTF_16LE, format.charset);
+        assertTrue(format.bom);
+        assertEquals("class A {}\n", text.toString());
+        assertArrayEquals(utf16, encode(text, format));
+
+        // "cafe" with an accent in a single-byte charset is not valid UTF-8
+        byte[] cafe = { 'c', 'a', 'f', (byte) 0xE9, '\n' };
+        Path legacy = write("Legacy.txt", cafe);
+        assertEquals(new String(cafe, TextCodec.fallbackCharset()), TextCodec.readString(legacy));
+        assertEquals(TextCodec.fallbackCharset(), TextCodec.detect(legacy).charset);
+    }
+
+    @Test
+    public void detectsALegacyByteAfterTheSampleAndRefusesToEncodeUnmappableText() throws Exception
+    {
+        byte[] bytes = new byte[200_000];
+        Arrays.fill(bytes, (byte) 'a');
+        bytes[150_000] = (byte) 0xE9; // past the 64 KB sample
+        Path file = write("LateLegacy.txt", bytes);
+        assertEquals(TextCodec.fallbackCharset(), TextCodec.detect(file).charset);
+
+        TextFormat latin1 = new TextFormat(StandardCharsets.ISO_8859_1, false, TextFormat.LF);
+        try {
+            encode("pi = \u03c0\n", latin1);
+            fail("ISO-8859-1 has no pi");
+        } catch (CharacterCodingException e) {
+            // the caller asks for another encoding instead of writing '?'
+        }
+    }
+
+    private Path write(String name, byte[] bytes) throws Exception
+    {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, bytes);
+        return file;
+    }
+
+    private static TextFormat read(Path file, StringBuilder text) throws Exception
+    {
+        return TextCodec.read(file, new TextCodec.Sink() {
+            public void append(CharSequence chunk) {
+                text.append(chunk);
+            }
+
+            public void reset() {
+                text.setLength(0);
+            }
+        });
+    }
+
+    private static byte[] encode(CharSequence text, TextFormat format) throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TextCodec.write(text, format, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,48 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Font;
+
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.fife.ui.rsyntaxtextarea.Token;
+import org.junit.Test;
+
+/**
+ * Unit tests for ThemeCache.
+ */
+public class ThemeCacheTest
+{
+    @Test
+    public void parsesEachThemeOnceAndGivesEveryTextAreaItsOwnScheme()
+    {
+        assertSame(ThemeCache.get("default"), ThemeCache.get("default"));
+
+        RSyntaxTextArea first = new RSyntaxTextArea();
+        RSyntaxTextArea second = new RSyntaxTextArea();
+        assertTrue(ThemeCache.apply("default", first));
+        assertTrue(ThemeCache.apply("default", second));
+        assertEquals(ThemeCache.get("default").bgColor, first.getBackground());
+        assertNotSame(first.getSyntaxScheme(), second.getSyntaxScheme());
+
+        // A font change in one editor stays out of the other and the cache
+        Font before = second.getSyntaxScheme().getStyle(Token.RESERVED_WORD).font;
+        assertNotNull(before);
+        first.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 40));
+        assertEquals(before, second.getSyntaxScheme().getStyle(Token.RESERVED_WORD).font);
+        assertEquals(before, ThemeCache.get("default").scheme.getStyle(Token.RESERVED_WORD).font);
+    }
+
+    @Test
+    public void missingThemesAreNotApplied()
+    {
+        assertNull(ThemeCache.get("no-such-theme"));
+        assertFalse(ThemeCache.apply("no-such-theme", new RSyntaxTextArea()));
+    }
+}
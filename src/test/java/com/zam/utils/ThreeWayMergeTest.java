@@ -0,0 +1,83 @@
+package com.zam.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for ThreeWayMerge.
+ */
+public class ThreeWayMergeTest
+{
+    @Test
+    public void combinesChangesToDifferentLines()
+    {
+        String base = "a\nb\nc\nd\ne\n";
+        String mine = "a\nB\nc\nd\ne\nf\n";
+        String theirs = "x\na\nb\nc\ne\n";
+
+        ThreeWayMerge.Result result = ThreeWayMerge.merge(base, mine, theirs);
+
+        assertEquals("x\na\nB\nc\ne\nf\n", result.text);
+        assertEquals(0, result.conflicts);
+    }
+
+    @Test
+    public void marksLinesChangedOnBothSides()
+    {
+        ThreeWayMerge.Result result = ThreeWayMerge.merge("a\nb\nc", "a\nmine\nc", "a\ntheirs\nc");
+
+        assertEquals(1, result.conflicts);
+        assertEquals("a\n" + ThreeWayMerge.MINE_MARKER + "\nmine\n" + ThreeWayMerge.SEPARATOR_MARKER
+                + "\ntheirs\n" + ThreeWayMerge.THEIRS_MARKER + "\nc", result.text);
+    }
+
+    @Test
+    public void matchFindsALongestCommonSubsequence()
+    {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<String> a = randomLines(random);
+            List<String> b = randomLines(random);
+            int[] matches = ThreeWayMerge.match(a, b);
+            int matched = 0;
+            int last = -1;
+            for (int i = 0; i < matches.length; i++) {
+                if (matches[i] >= 0) {
+                    assertTrue(matches[i] > last);
+                    assertEquals(a.get(i), b.get(matches[i]));
+                    last = matches[i];
+                    matched++;
+                }
+            }
+            assertEquals(lcsLength(a, b), matched);
+        }
+    }
+
+    private static List<String> randomLines(Random random)
+    {
+        List<String> lines = new ArrayList<>();
+        int count = random.nextInt(30);
+        for (int i = 0; i < count; i++) {
+            lines.add("line " + random.nextInt(5) + "\n");
+        }
+        return lines;
+    }
+
+    private static int lcsLength(List<String> a, List<String> b)
+    {
+        int[][] table = new int[a.size() + 1][b.size() + 1];
+        for (int i = 1; i <= a.size(); i++) {
+            for (int j = 1; j <= b.size(); j++) {
+                table[i][j] = a.get(i - 1).equals(b.get(j - 1))
+                        ? table[i - 1][j - 1] + 1 : Math.max(table[i - 1][j], table[i][j - 1]);
+            }
+        }
+        return table[a.size()][b.size()];
+    }
+}